@@ -0,0 +1,59 @@
+package com.team12.clients;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import feign.FeignException;
+import feign.Response;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Decodes a newline-delimited JSON response one value at a time, so large snapshots never sit in memory.
+ * Declare the Feign method as returning {@link Response} and hand the result to {@link #forEach}.
+ */
+public final class NdjsonReader {
+
+    private NdjsonReader() {
+    }
+
+    /**
+     * Apply {@code action} to every value of the response body, then close the response.
+     * A gzip body is inflated here if the HTTP client has not already done so.
+     *
+     * @return number of values read
+     * @throws FeignException for a non-2xx status
+     */
+    public static <T> long forEach(Response response, ObjectMapper objectMapper, Class<T> type,
+                                   Consumer<? super T> action) throws IOException {
+        try (response) {
+            if (response.status() / 100 != 2) {
+                throw FeignException.errorStatus("NdjsonReader#forEach", response);
+            }
+            if (response.body() == null) {
+                return 0;
+            }
+            long count = 0;
+            try (MappingIterator<T> values = objectMapper.readerFor(type).readValues(decode(response.body().asInputStream()))) {
+                while (values.hasNextValue()) {
+                    action.accept(values.nextValue());
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+
+    private static InputStream decode(InputStream body) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(body);
+        in.mark(2);
+        int b1 = in.read();
+        int b2 = in.read();
+        in.reset();
+        boolean gzip = b1 == (GZIPInputStream.GZIP_MAGIC & 0xff) && b2 == (GZIPInputStream.GZIP_MAGIC >> 8);
+        return gzip ? new GZIPInputStream(in) : in;
+    }
+}
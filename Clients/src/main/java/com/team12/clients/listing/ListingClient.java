@@ -1,12 +1,19 @@
 package com.team12.clients.listing;
 
 import com.team12.clients.FeignTokenRelayConfig;
+import com.team12.clients.listing.dto.Property;
 import com.team12.clients.listing.dto.PropertyDto;
+import com.team12.clients.listing.dto.PropertyPage;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
+import java.util.Map;
 
 @FeignClient(name = "listing", path = "/listing", configuration = FeignTokenRelayConfig.class)
 public interface ListingClient {
@@ -15,4 +22,30 @@ public interface ListingClient {
 
     @GetMapping("")
     List<PropertyDto> getAllProperties();
+
+    @GetMapping("?view=summary")
+    PropertyPage<Property> getPropertySummaries(@RequestParam("limit") int limit,
+                                                @RequestParam(value = "after", required = false) Long after,
+                                                @RequestParam(value = "available", required = false) Boolean available);
+
+    @GetMapping("/nearby")
+    List<PropertyDto> getNearbyProperties(@RequestParam("lat") double lat,
+                                          @RequestParam("lng") double lng,
+                                          @RequestParam("radius") double radius,
+                                          @RequestParam("limit") int limit,
+                                          @RequestParam(value = "available", required = false) Boolean available);
+
+    /**
+     * Catalog snapshot as gzip-compressed NDJSON of {@link Property}; decode with
+     * {@link com.team12.clients.NdjsonReader}. The X-Snapshot-As-Of response header is the next {@code since}.
+     */
+    @GetMapping(value = "/snapshot", headers = "Accept-Encoding=gzip")
+    Response getSnapshot(@RequestParam(value = "since", required = false) String since,
+                         @RequestParam(value = "available", required = false) Boolean available);
+
+    /**
+     * Publish the locations of the given properties to the search index; admin only
+     */
+    @PostMapping("/admin/sync/locations")
+    Map<String, Object> backfillSearchLocations(@RequestBody List<Long> ids);
 }
@@ -10,7 +10,7 @@ public class Property implements Serializable {
     private String description;
     private BigDecimal price;
     private String address;
-    private String img;
+    private String thumbnail;
     private GeoLocation location;
     private int numBedrooms;
     private int numBathrooms;
@@ -59,12 +59,12 @@ public class Property implements Serializable {
         this.address = address;
     }
 
-    public String getImg() {
-        return img;
+    public String getThumbnail() {
+        return thumbnail;
     }
 
-    public void setImg(String img) {
-        this.img = img;
+    public void setThumbnail(String thumbnail) {
+        this.thumbnail = thumbnail;
     }
 
     public GeoLocation getLocation() {
@@ -0,0 +1,26 @@
+package com.team12.clients.listing.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class PropertyPage<T> implements Serializable {
+    private List<T> items;
+    private Long nextCursor;
+
+    // Getters and Setters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public void setItems(List<T> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -6,8 +6,11 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import java.util.List;
+import java.util.Map;
 
 @FeignClient(name = "user", path = "/auth", configuration = FeignTokenRelayConfig.class)
 public interface UserClient {
@@ -15,6 +18,12 @@ public interface UserClient {
     @GetMapping("/getAgentInfo/{id}")
     ResponseEntity<List<String>> getAgentInfoById(@PathVariable("id") Long id);
 
+    @PostMapping("/agents/info")
+    ResponseEntity<Map<Long, List<String>>> getAgentInfoByIds(@RequestBody List<Long> ids);
+
     @GetMapping("/getDeviceId/{id}")
     ResponseEntity<String> getDeviceIDById(@PathVariable("id") Long id);
+
+    @PostMapping("/devices")
+    ResponseEntity<Map<Long, String>> getDeviceIDsByIds(@RequestBody List<Long> ids);
 }
@@ -1,16 +1,32 @@
 package com.team12.clients.userAction;
 
 import com.team12.clients.FeignTokenRelayConfig;
+import com.team12.clients.userAction.dto.UserIdPage;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
+import java.util.Map;
 
 @FeignClient(name = "user-action", path = "/actions", configuration = FeignTokenRelayConfig.class)
 public interface UserActionClient {
 
     @GetMapping("/{propertyId}/price-alert-users")
     List<Long> getPriceAlertUsers(@PathVariable("propertyId") Long propertyId);
+
+    @GetMapping("/{propertyId}/price-alert-users/page")
+    UserIdPage getPriceAlertUserPage(@PathVariable("propertyId") Long propertyId,
+                                     @RequestParam(value = "after", required = false) Long after,
+                                     @RequestParam("limit") int limit);
+
+    @GetMapping("/favorites/check")
+    Map<String, Boolean> checkFavoriteStatus(@RequestParam("userId") String userId,
+                                             @RequestParam("listingId") Long listingId);
+
+    @GetMapping("/{propertyId}/price-alert/{userId}")
+    Boolean isPriceAlertEnabled(@PathVariable("propertyId") Long propertyId,
+                                @PathVariable("userId") Long userId);
 }
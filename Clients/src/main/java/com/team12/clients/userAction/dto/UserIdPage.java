@@ -0,0 +1,26 @@
+package com.team12.clients.userAction.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class UserIdPage implements Serializable {
+    private List<Long> items;
+    private Long nextCursor;
+
+    // Getters and Setters
+    public List<Long> getItems() {
+        return items;
+    }
+
+    public void setItems(List<Long> items) {
+        this.items = items;
+    }
+
+    public Long getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(Long nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
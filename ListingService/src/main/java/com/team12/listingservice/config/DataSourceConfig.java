@@ -0,0 +1,74 @@
+package com.team12.listingservice.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Primary plus optional read replicas ({@code listing.datasource.replica-urls}).
+ * The application DataSource hands out lazy connections: the physical connection is only taken once the
+ * transaction's read-only flag is known, so {@code @Transactional(readOnly = true)} work reaches a replica
+ * through {@link ReadReplicaRouter} and everything else the primary. Flyway always migrates the primary.
+ */
+@Configuration
+public class DataSourceConfig {
+
+    @Bean
+    @FlywayDataSource
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    public ReadReplicaRouter readReplicaRouter(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                               DataSourceProperties properties,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${listing.datasource.replica-urls:}") List<String> replicaUrls,
+                                               @Value("${listing.datasource.replica-pool-size:10}") int poolSize,
+                                               @Value("${listing.datasource.max-lag:2s}") Duration maxLag,
+                                               @Value("${listing.datasource.sticky-window:5s}") Duration stickyWindow) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "replica-" + (replicas.size() + 1);
+            HikariDataSource replica = properties.initializeDataSourceBuilder()
+                    .type(HikariDataSource.class)
+                    .url(url.trim())
+                    .build();
+            replica.setPoolName("listing-" + name);
+            replica.setMaximumPoolSize(poolSize);
+            replica.setReadOnly(true);
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            replicas.put(name, replica);
+        }
+        return new ReadReplicaRouter(primaryDataSource, replicas, maxLag, stickyWindow, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadReplicaRouter readReplicaRouter) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(readReplicaRouter.writeDataSource());
+        if (readReplicaRouter.hasReplicas()) {
+            dataSource.setReadOnlyDataSource(readReplicaRouter.readDataSource());
+        }
+        return dataSource;
+    }
+}
@@ -1,5 +1,9 @@
 package com.team12.listingservice.config;
 
+import org.springframework.amqp.core.AnonymousQueue;
+import org.springframework.amqp.core.Binding;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Queue;
 import org.springframework.amqp.core.TopicExchange;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
@@ -13,6 +17,9 @@ public class RabbitMQConfig {
     public static final String PROPERTY_SYNC_EXCHANGE = "property.sync.exchange";
     public static final String PROPERTY_SYNC_ROUTING_KEY = "property.sync.key";
 
+    public static final String PROPERTY_EVENTS_EXCHANGE = "property.events.exchange";
+    public static final String PRICE_CHANGED_ROUTING_KEY = "property.price.changed";
+
     public static final String USER_SYNC_EXCHANGE = "user.sync.exchange";
     public static final String USER_SYNC_ROUTING_KEY = "user.sync.key";
 
@@ -21,6 +28,27 @@ public class RabbitMQConfig {
         return new TopicExchange(PROPERTY_SYNC_EXCHANGE);
     }
 
+    /**
+     * Per-replica queue receiving every property sync message, used to evict the local detail cache.
+     * Auto-deleted when this instance disconnects.
+     */
+    @Bean
+    public Queue propertyCacheInvalidationQueue() {
+        return new AnonymousQueue();
+    }
+
+    @Bean
+    public Binding propertyCacheInvalidationBinding() {
+        return BindingBuilder.bind(propertyCacheInvalidationQueue())
+                .to(propertyExchange())
+                .with(PROPERTY_SYNC_ROUTING_KEY);
+    }
+
+    @Bean
+    public TopicExchange propertyEventsExchange() {
+        return new TopicExchange(PROPERTY_EVENTS_EXCHANGE);
+    }
+
     @Bean
     public TopicExchange userExchange() {
         return new TopicExchange(USER_SYNC_EXCHANGE);
@@ -35,6 +63,8 @@ public class RabbitMQConfig {
     public RabbitTemplate rabbitTemplate(ConnectionFactory connectionFactory) {
         RabbitTemplate template = new RabbitTemplate(connectionFactory);
         template.setMessageConverter(messageConverter());
+        // Unroutable messages come back to OutboxRelay instead of being dropped
+        template.setMandatory(true);
         return template;
     }
 }
\ No newline at end of file
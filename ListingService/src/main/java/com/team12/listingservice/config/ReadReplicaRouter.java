@@ -0,0 +1,278 @@
+package com.team12.listingservice.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.Cookie;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.util.WebUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLSyntaxErrorException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decides which database a connection comes from.
+ * Read-only transactions go round-robin to replicas that answered the last health check and are no
+ * more than {@code maxLag} behind; otherwise, and for a user who committed a write within
+ * {@code stickyWindow} ({@link #markWritten()}), they stay on the primary so users always read their
+ * own writes. The write is remembered on this instance and, for the next request landing on any other
+ * instance, in the {@value #STICKY_COOKIE} cookie holding the end of the window.
+ * <p>
+ * Meters: {@code listing.datasource.routing} (target, reason), {@code listing.datasource.replica.lag}
+ * in seconds and {@code listing.datasource.replica.healthy} per replica.
+ */
+@Slf4j
+public class ReadReplicaRouter implements AutoCloseable {
+
+    private static final String ROUTING = "listing.datasource.routing";
+
+    public static final String STICKY_COOKIE = "listing_primary_until";
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final double maxLagSeconds;
+    private final Duration stickyWindow;
+    private final Cache<String, Boolean> recentWriters;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadReplicaRouter(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                             Duration stickyWindow, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        this.stickyWindow = stickyWindow;
+        this.recentWriters = Caffeine.newBuilder()
+                .expireAfterWrite(stickyWindow)
+                .maximumSize(100_000)
+                .build();
+        this.meterRegistry = meterRegistry;
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource);
+            this.replicas.add(replica);
+            Gauge.builder("listing.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", name)
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+            Gauge.builder("listing.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .tag("replica", name)
+                    .register(meterRegistry);
+        });
+    }
+
+    public boolean hasReplicas() {
+        return !replicas.isEmpty();
+    }
+
+    /**
+     * Primary connections. Taking one does not make its user sticky: read-write transactions that only
+     * read (e.g. loads that must see the primary) are routed here too; see {@link #markWritten()}.
+     */
+    public DataSource writeDataSource() {
+        return primary;
+    }
+
+    /**
+     * Connections for read-only transactions
+     */
+    public DataSource readDataSource() {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return route();
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return route();
+            }
+        };
+    }
+
+    private Connection route() throws SQLException {
+        String subject = currentSubject();
+        if (subject != null && recentWriters.getIfPresent(subject) != null || hasStickyCookie()) {
+            return fromPrimary("sticky");
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                meterRegistry.counter(ROUTING, "target", replica.name, "reason", "replica").increment();
+                return connection;
+            } catch (SQLException e) {
+                // taken out until the next health check brings it back
+                replica.healthy = false;
+                log.warn("Replica {} refused a connection, failing over: {}", replica.name, e.getMessage());
+                meterRegistry.counter(ROUTING, "target", replica.name, "reason", "error").increment();
+            }
+        }
+        return fromPrimary("no_healthy_replica");
+    }
+
+    private Connection fromPrimary(String reason) throws SQLException {
+        meterRegistry.counter(ROUTING, "target", "primary", "reason", reason).increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * Record that the current transaction wrote, so its user reads from the primary for {@code stickyWindow}
+     * once it commits. Called by every write path; registering more than once per transaction is a no-op.
+     */
+    public void markWritten() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return;
+        }
+        String subject = currentSubject();
+        if (subject == null || TransactionSynchronizationManager.getSynchronizations().stream()
+                .anyMatch(StickyWriter.class::isInstance)) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new StickyWriter(subject));
+    }
+
+    private final class StickyWriter implements TransactionSynchronization {
+        private final String subject;
+
+        private StickyWriter(String subject) {
+            this.subject = subject;
+        }
+
+        @Override
+        public void afterCommit() {
+            recentWriters.put(subject, Boolean.TRUE);
+            if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                    && attributes.getResponse() != null) {
+                String until = String.valueOf(System.currentTimeMillis() + stickyWindow.toMillis());
+                attributes.getResponse().addHeader(HttpHeaders.SET_COOKIE, ResponseCookie.from(STICKY_COOKIE, until)
+                        .maxAge(stickyWindow)
+                        .path("/")
+                        .httpOnly(true)
+                        .sameSite("Lax")
+                        .build()
+                        .toString());
+            }
+        }
+    }
+
+    /**
+     * Whether the current request carries a sticky window that has not ended. The window is allowed to be
+     * up to twice as long as configured to absorb clock skew between instances; anything further out was
+     * not set here and must not pin a client to the primary.
+     */
+    private boolean hasStickyCookie() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false;
+        }
+        Cookie cookie = WebUtils.getCookie(attributes.getRequest(), STICKY_COOKIE);
+        if (cookie == null) {
+            return false;
+        }
+        try {
+            long remaining = Long.parseLong(cookie.getValue()) - System.currentTimeMillis();
+            return remaining > 0 && remaining <= 2 * stickyWindow.toMillis();
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    private static String currentSubject() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication == null || !authentication.isAuthenticated() ? null : authentication.getName();
+    }
+
+    /**
+     * Probe every replica and record its replication lag; replicas that fail or fall behind get no reads
+     */
+    @Scheduled(fixedDelayString = "${listing.datasource.health-check-interval-ms:2000}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            Double lag;
+            try {
+                lag = replicationLag(replica.dataSource);
+            } catch (SQLException e) {
+                lag = null;
+                log.warn("Health check of replica {} failed: {}", replica.name, e.getMessage());
+            }
+            boolean healthy = lag != null && lag <= maxLagSeconds;
+            if (healthy != replica.healthy) {
+                log.info("Replica {} is now {} (lag {}s)", replica.name, healthy ? "in rotation" : "out of rotation", lag);
+            }
+            replica.lagSeconds = lag == null ? Double.NaN : lag;
+            replica.healthy = healthy;
+        }
+    }
+
+    /**
+     * Seconds behind the primary; null when replication is stopped. A server that is not set up as a
+     * replica (e.g. a managed read endpoint) reports no status and counts as current.
+     */
+    static Double replicationLag(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet status = statement.executeQuery("SHOW REPLICA STATUS")) {
+                return lag(status, "Seconds_Behind_Source");
+            } catch (SQLSyntaxErrorException e) {
+                // MySQL before 8.0.22
+                try (ResultSet status = statement.executeQuery("SHOW SLAVE STATUS")) {
+                    return lag(status, "Seconds_Behind_Master");
+                }
+            }
+        }
+    }
+
+    private static Double lag(ResultSet status, String column) throws SQLException {
+        if (!status.next()) {
+            return 0.0;
+        }
+        long seconds = status.getLong(column);
+        return status.wasNull() ? null : (double) seconds;
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // out of rotation until the first health check passes
+        private volatile boolean healthy;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.team12.listingservice.controller;
 
+import com.team12.listingservice.model.ResyncRequest;
 import com.team12.listingservice.service.PropertyService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -8,6 +9,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -19,6 +21,26 @@ public class AdminController {
 
     private final PropertyService propertyService;
 
+    @PostMapping("/sync")
+    @Operation(summary = "Re-publish the stored state of properties by id list or filter, without writing")
+    public ResponseEntity<Map<String, Object>> resyncProperties(@RequestBody ResyncRequest request) {
+        try {
+            if (request.getIds() != null) {
+                log.info("Admin triggered re-sync of {} properties", request.getIds().size());
+                return ResponseEntity.ok(propertyService.resyncProperties(request.getIds()));
+            }
+            log.info("Admin triggered re-sync by filter: available={}, agentId={}", request.getAvailable(), request.getAgentId());
+            return ResponseEntity.ok(propertyService.resyncProperties(request.getAvailable(), request.getAgentId()));
+            
+        } catch (Exception e) {
+            log.error("Error during property re-sync", e);
+            return ResponseEntity.internalServerError().body(Map.of(
+                "status", "error",
+                "message", "Re-sync failed: " + e.getMessage()
+            ));
+        }
+    }
+
     @PostMapping("/sync/bulk")
     @Operation(summary = "Bulk sync all properties to Elasticsearch")
     public ResponseEntity<Map<String, String>> bulkSyncProperties() {
@@ -40,6 +62,22 @@ public class AdminController {
         }
     }
 
+    @PostMapping("/sync/locations")
+    @Operation(summary = "Backfill locations of the given search documents, which were indexed without one")
+    public ResponseEntity<Map<String, Object>> backfillLocations(@RequestBody List<Long> ids) {
+        try {
+            log.info("Location backfill requested for {} properties", ids.size());
+            return ResponseEntity.ok(propertyService.backfillSearchLocations(ids));
+            
+        } catch (Exception e) {
+            log.error("Error during location backfill", e);
+            return ResponseEntity.internalServerError().body(Map.of(
+                "status", "error",
+                "message", "Location backfill failed: " + e.getMessage()
+            ));
+        }
+    }
+
     @GetMapping("/stats")
     @Operation(summary = "Get property statistics")
     public ResponseEntity<Map<String, Object>> getPropertyStatistics() {
@@ -55,20 +93,39 @@ public class AdminController {
         }
     }
 
+    @GetMapping("/stats/agents/{agentId}")
+    @Operation(summary = "Get property statistics of one agent")
+    public ResponseEntity<Map<String, Long>> getAgentStatistics(@PathVariable String agentId) {
+        return ResponseEntity.ok(propertyService.getAgentStatistics(agentId));
+    }
+
+    @PostMapping("/stats/reconcile")
+    @Operation(summary = "Recount property statistics and correct any drift")
+    public ResponseEntity<Map<String, Object>> reconcileStatistics() {
+        try {
+            log.info("Admin triggered property stats reconciliation");
+            return ResponseEntity.ok(propertyService.reconcileStatistics());
+
+        } catch (Exception e) {
+            log.error("Error during property stats reconciliation", e);
+            return ResponseEntity.internalServerError().body(Map.of(
+                "status", "error",
+                "message", "Reconciliation failed: " + e.getMessage()
+            ));
+        }
+    }
+
     @PostMapping("/sync/property/{id}")
     @Operation(summary = "Manually sync a specific property to Elasticsearch")
     public ResponseEntity<Map<String, String>> syncSpecificProperty(@PathVariable Long id) {
         try {
             log.info("Admin triggered manual sync for property: {}", id);
             
-            var propertyDto = propertyService.getPropertyById(id);
-            if (propertyDto == null || propertyDto.isEmpty()) {
+            // Read-only: re-publish the stored row, searchable once SearchService acks it
+            if (!propertyService.resyncProperty(id)) {
                 return ResponseEntity.notFound().build();
             }
             
-            // Trigger update sync for the property
-            propertyService.updateProperty(id, propertyDto.get().getProperty());
-            
             return ResponseEntity.ok(Map.of(
                 "status", "success",
                 "message", "Property " + id + " synced successfully"
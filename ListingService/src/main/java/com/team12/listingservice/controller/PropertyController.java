@@ -1,35 +1,259 @@
 package com.team12.listingservice.controller;
 
+import com.team12.listingservice.model.BulkImportResult;
+import com.team12.listingservice.model.CatalogVersion;
 import com.team12.listingservice.model.Property;
+import com.team12.listingservice.model.PropertyChangePage;
 import com.team12.listingservice.model.PropertyDto;
+import com.team12.listingservice.model.PropertyPage;
+import com.team12.listingservice.model.PropertyPatch;
+import com.team12.listingservice.model.PropertyView;
+import com.team12.listingservice.service.PropertyBulkImportService;
+import com.team12.listingservice.service.PropertyChangeService;
 import com.team12.listingservice.service.PropertyService;
+import com.team12.listingservice.service.PropertySnapshotService;
+import com.team12.listingservice.service.PropertyViewService;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
+
+import static com.team12.listingservice.exception.PropertyExceptions.PropertyConflictException;
+import static com.team12.listingservice.exception.PropertyExceptions.PropertyNotFoundException;
 
 @RestController
 @RequestMapping("/listing")
 @Tag(name = "Property Controller APIs", description = "CRUD for property")
 public class PropertyController {
 
+    static final String NDJSON = "application/x-ndjson";
+    static final String SNAPSHOT_AS_OF = "X-Snapshot-As-Of";
+
     private final PropertyService propertyService;
+    private final PropertyBulkImportService propertyBulkImportService;
+    private final PropertySnapshotService propertySnapshotService;
+    private final PropertyViewService propertyViewService;
+    private final PropertyChangeService propertyChangeService;
 
-    public PropertyController(PropertyService propertyService) {
+    public PropertyController(PropertyService propertyService,
+                              PropertyBulkImportService propertyBulkImportService,
+                              PropertySnapshotService propertySnapshotService,
+                              PropertyViewService propertyViewService,
+                              PropertyChangeService propertyChangeService) {
         this.propertyService = propertyService;
+        this.propertyBulkImportService = propertyBulkImportService;
+        this.propertySnapshotService = propertySnapshotService;
+        this.propertyViewService = propertyViewService;
+        this.propertyChangeService = propertyChangeService;
     }
 
+    /**
+     * Full list, tagged with the catalog version and a digest of the agent info it carries. Agent info
+     * comes from UserService and has no version here, so the tag is computed from the built list and an
+     * unchanged poll saves the serialization and transfer, not the lookup.
+     */
     @GetMapping
-    public List<PropertyDto> getAllProperties() {
-        return propertyService.getAllPropertiesWithAgentInfo();
+    public ResponseEntity<List<PropertyDto>> getAllProperties(WebRequest request) {
+        CatalogVersion catalog = propertyService.getCatalogVersion();
+        List<PropertyDto> properties = propertyService.getAllPropertiesWithAgentInfo();
+        String eTag = catalogETag(catalog, agentDigest(properties));
+        if (isNotModifiedWithAgentInfo(request, eTag)) {
+            return null;
+        }
+        return withCatalogVersion(ResponseEntity.ok(), catalog, eTag).body(properties);
+    }
+
+    /**
+     * Keyset-paginated listing; selected when a {@code limit} is given so existing callers of
+     * {@code GET /listing} keep receiving the full list.
+     *
+     * @param limit     page size, capped at {@link PropertyService#MAX_PAGE_SIZE}
+     * @param after     nextCursor of the previous page; omit for the first page
+     * @param available only available (true) or unavailable (false) listings
+     * @param agentId   only listings of this agent
+     * @param view      "full" for listings with agent info, "summary" for the slim projection
+     * @return PropertyPage
+     */
+    @GetMapping(params = "limit")
+    public ResponseEntity<PropertyPage<?>> getPropertyPage(@RequestParam int limit,
+                                                           @RequestParam(required = false) Long after,
+                                                           @RequestParam(required = false) Boolean available,
+                                                           @RequestParam(required = false) String agentId,
+                                                           @RequestParam(defaultValue = "full") String view,
+                                                           WebRequest request) {
+        if (!view.equals("full") && !view.equals("summary")) {
+            return ResponseEntity.badRequest().build();
+        }
+        CatalogVersion catalog = propertyService.getCatalogVersion();
+        if (view.equals("full")) {
+            PropertyPage<PropertyDto> page = propertyService.getPropertyPage(after, limit, available, agentId);
+            String eTag = catalogETag(catalog, agentDigest(page.getItems()));
+            if (isNotModifiedWithAgentInfo(request, eTag)) {
+                return null;
+            }
+            return withCatalogVersion(ResponseEntity.ok(), catalog, eTag).body(page);
+        }
+        // summaries carry no agent info, so the catalog version alone answers before anything is loaded
+        String eTag = catalogETag(catalog, null);
+        if (eTag != null && request.checkNotModified(eTag, epochMillis(catalog.getLastModified()))) {
+            return null;
+        }
+        return withCatalogVersion(ResponseEntity.ok(), catalog, eTag)
+                .body(propertyService.getPropertySummaryPage(after, limit, available, agentId));
+    }
+
+    /**
+     * Whole catalog as NDJSON, one property summary per line, streamed straight from the database.
+     * Gzip is applied by the server when the client accepts it. The {@value #SNAPSHOT_AS_OF} header
+     * is the {@code since} to send next time to receive only what changed.
+     *
+     * @param since     only listings changed after this time; omit for a full snapshot
+     * @param available only available (true) or unavailable (false) listings
+     * @return newline-delimited PropertySummary
+     */
+    @GetMapping(value = "/snapshot", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> getSnapshot(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime since,
+            @RequestParam(required = false) Boolean available) {
+        LocalDateTime asOf = propertySnapshotService.nextSince();
+        StreamingResponseBody body = out -> propertySnapshotService.writeSnapshot(since, available, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .header(SNAPSHOT_AS_OF, asOf.toString())
+                .body(body);
+    }
+
+    /**
+     * Change feed: listings written or deleted after a change sequence, oldest first. Start from 0 to
+     * receive the whole catalog, then keep the returned {@code nextSince} and poll with it to catch up
+     * on what changed, including after downtime.
+     *
+     * @param since last change sequence already applied
+     * @param limit page size, capped at {@link PropertyChangeService#MAX_PAGE_SIZE}
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<PropertyChangePage> getChanges(@RequestParam(defaultValue = "0") long since,
+                                                         @RequestParam(defaultValue = "500") int limit) {
+        if (since < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(propertyChangeService.getChanges(since, limit));
+    }
+
+    /**
+     * Radius lookup backed by the MySQL spatial index, for callers that do not go through search.
+     *
+     * @param lat       latitude of the centre
+     * @param lng       longitude of the centre
+     * @param radius    meters, capped at {@link PropertyService#MAX_NEARBY_RADIUS_METERS}
+     * @param limit     maximum results, capped at {@link PropertyService#MAX_PAGE_SIZE}
+     * @param available only available (true) or unavailable (false) listings
+     * @return listings nearest first
+     */
+    @GetMapping("/nearby")
+    public ResponseEntity<List<PropertyDto>> getNearbyProperties(@RequestParam double lat,
+                                                                 @RequestParam double lng,
+                                                                 @RequestParam(defaultValue = "2000") double radius,
+                                                                 @RequestParam(defaultValue = "50") int limit,
+                                                                 @RequestParam(required = false) Boolean available) {
+        if (Math.abs(lat) > 90 || Math.abs(lng) > 180 || !(radius > 0)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(propertyService.getNearbyProperties(lat, lng, radius, limit, available));
     }
 
+    /**
+     * Detail with a strong ETag of the property's updated_at and its agent info, and Last-Modified.
+     * The listing comes from the detail cache, so a conditional request costs no query once warm; the
+     * tag is checked after the agent is resolved, and only If-None-Match can answer 304, because
+     * updated_at says nothing about the agent.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<PropertyDto> getPropertyById(@PathVariable Long id) {
-        return propertyService.getPropertyById(id)
-                .map(ResponseEntity::ok)
-                .orElse(ResponseEntity.notFound().build());
+    public ResponseEntity<PropertyDto> getPropertyById(@PathVariable Long id, WebRequest request) {
+        Optional<PropertyDto> found = propertyService.getPropertyById(id);
+        if (found.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        PropertyDto dto = found.get();
+        LocalDateTime lastModified = dto.getProperty() == null ? null : dto.getProperty().getUpdatedAt();
+        if (lastModified == null) {
+            return ResponseEntity.ok(dto);
+        }
+        String eTag = propertyETag(id, lastModified, agentDigest(List.of(dto)));
+        if (isNotModifiedWithAgentInfo(request, eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(epochMillis(lastModified))
+                .body(dto);
+    }
+
+    /**
+     * Image references of a property in display order, for the detail page; list and search payloads
+     * only carry the thumbnail. Tagged with the property's updated_at, as any image change bumps
+     * the property.
+     */
+    @GetMapping("/{id}/media")
+    public ResponseEntity<List<String>> getPropertyImages(@PathVariable Long id, WebRequest request) {
+        Optional<LocalDateTime> lastModified = propertyService.getPropertyLastModified(id);
+        if (lastModified.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        String eTag = propertyETag(id, lastModified.get(), null);
+        if (request.checkNotModified(eTag, epochMillis(lastModified.get()))) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .lastModified(epochMillis(lastModified.get()))
+                .body(propertyService.getPropertyImages(id));
+    }
+
+    /**
+     * Detail page in one call: the listing with its agent plus the user's favorite and price-alert flags,
+     * fetched concurrently. Flags are null when {@code userId} is absent or UserActionService is slow.
+     *
+     * @param id     property id
+     * @param userId internal id of the signed-in user, if any
+     * @return PropertyView; 404 if the property does not exist, 504 if it cannot be loaded in time
+     */
+    @GetMapping("/{id}/view")
+    public ResponseEntity<PropertyView> getPropertyView(@PathVariable Long id,
+                                                        @RequestParam(required = false) Long userId) {
+        try {
+            return propertyViewService.getPropertyView(id, userId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).build();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 
     @PostMapping
@@ -37,13 +261,61 @@ public class PropertyController {
         return propertyService.createProperty(property);
     }
 
+    /**
+     * Import many properties at once; rows that fail validation are reported and skipped.
+     *
+     * @param body JSON array of properties
+     * @return BulkImportResult
+     */
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public BulkImportResult importProperties(InputStream body) throws IOException {
+        return propertyBulkImportService.importJsonArray(body);
+    }
+
+    /**
+     * NDJSON variant of the bulk import, one property per line.
+     *
+     * @param body newline-delimited properties
+     * @return BulkImportResult
+     */
+    @PostMapping(value = "/bulk", consumes = NDJSON)
+    public BulkImportResult importPropertiesNdjson(InputStream body) throws IOException {
+        return propertyBulkImportService.importNdjson(body);
+    }
+
+    /**
+     * Full update. When the body carries a {@code version} it must match the stored one; a concurrent
+     * edit committed in between is also detected. Either case answers 409.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<Property> updateProperty(@PathVariable Long id, @RequestBody Property property) {
-        Property updated = propertyService.updateProperty(id, property);
-        if (updated == null) {
+        try {
+            return ResponseEntity.ok(propertyService.updateProperty(id, property));
+        } catch (PropertyNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (PropertyConflictException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Partial update of the fields present in the body, conditional on {@code version}.
+     *
+     * @param patch the version last read plus the fields to change
+     * @return the updated property; 400 without a version or with invalid fields, 404 if missing,
+     * 409 if the property has changed since that version
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<Property> patchProperty(@PathVariable Long id, @RequestBody PropertyPatch patch) {
+        try {
+            return ResponseEntity.ok(propertyService.patchProperty(id, patch));
+        } catch (PropertyNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (PropertyConflictException | OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
         }
-        return ResponseEntity.ok(updated);
     }
 
     @DeleteMapping("/{id}")
@@ -51,4 +323,70 @@ public class PropertyController {
         propertyService.deleteProperty(id);
         return ResponseEntity.noContent().build();
     }
+
+    /**
+     * Validate against the ETag only: Last-Modified tracks the listings, not the agent info they carry
+     */
+    private static boolean isNotModifiedWithAgentInfo(WebRequest request, String eTag) {
+        return eTag != null && request.checkNotModified(eTag);
+    }
+
+    private static ResponseEntity.BodyBuilder withCatalogVersion(ResponseEntity.BodyBuilder builder,
+                                                                 CatalogVersion catalog, String eTag) {
+        if (eTag == null) {
+            return builder;
+        }
+        return builder.eTag(eTag).lastModified(epochMillis(catalog.getLastModified()));
+    }
+
+    /**
+     * @param agentDigest {@link #agentDigest} of the response when it carries agent fields, otherwise null
+     */
+    static String propertyETag(Long id, LocalDateTime lastModified, String agentDigest) {
+        return "\"" + id + "-" + Long.toHexString(epochMicros(lastModified)) + agentSuffix(agentDigest) + "\"";
+    }
+
+    /**
+     * @param agentDigest {@link #agentDigest} of the response when it carries agent fields, otherwise null;
+     *                    the result is null for an empty catalog
+     */
+    static String catalogETag(CatalogVersion catalog, String agentDigest) {
+        if (catalog.getLastModified() == null) {
+            return null;
+        }
+        return "\"c" + catalog.getCount() + "-" + Long.toHexString(epochMicros(catalog.getLastModified()))
+                + agentSuffix(agentDigest) + "\"";
+    }
+
+    /**
+     * Digest of the agent names and phone numbers in a response, in order. It depends on the body alone,
+     * so every instance computes the same tag for the same response.
+     */
+    static String agentDigest(List<PropertyDto> properties) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("MD5");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        for (PropertyDto dto : properties) {
+            digest.update(String.valueOf(dto.getUsername()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(String.valueOf(dto.getPhoneNumber()).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 8);
+    }
+
+    private static String agentSuffix(String agentDigest) {
+        return agentDigest == null ? "" : "-a" + agentDigest;
+    }
+
+    private static long epochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static long epochMicros(LocalDateTime time) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, time.atZone(ZoneId.systemDefault()).toInstant());
+    }
 }
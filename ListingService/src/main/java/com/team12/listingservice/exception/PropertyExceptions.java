@@ -23,4 +23,10 @@ public class PropertyExceptions {
             super(message, cause);
         }
     }
+
+    public static class PropertyConflictException extends RuntimeException {
+        public PropertyConflictException(Long id, Long expectedVersion) {
+            super("Property with ID " + id + " is no longer at version " + expectedVersion + ".");
+        }
+    }
 }
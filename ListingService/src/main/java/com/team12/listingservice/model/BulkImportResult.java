@@ -0,0 +1,26 @@
+package com.team12.listingservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk import. Rows are numbered from 0 in input order; {@code errors} is capped,
+ * {@code failed} is not.
+ */
+@Getter
+@AllArgsConstructor
+public class BulkImportResult {
+    private int received;
+    private int imported;
+    private int failed;
+    private List<RowError> errors;
+
+    @Getter
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String message;
+    }
+}
@@ -0,0 +1,20 @@
+package com.team12.listingservice.model;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Aggregate version of the whole listing table: any create, update or delete changes the row count or
+ * the latest modification time.
+ */
+@Getter
+public class CatalogVersion {
+    private final long count;
+    private final LocalDateTime lastModified;
+
+    public CatalogVersion(Long count, LocalDateTime lastModified) {
+        this.count = count == null ? 0 : count;
+        this.lastModified = lastModified;
+    }
+}
@@ -1,14 +1,36 @@
 package com.team12.listingservice.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 @Setter
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+// UPDATE statements set only the changed columns
+@DynamicUpdate
+// Schema is owned by the Flyway migrations in db/migration; the indexes are listed here for reference
+@Table(indexes = {
+        @Index(name = "idx_property_agent_id", columnList = "agentId, id"),
+        @Index(name = "idx_property_available_posted", columnList = "available, postedAt"),
+        @Index(name = "idx_property_agent_available", columnList = "agentId, available"),
+        @Index(name = "idx_property_available_price", columnList = "available, price"),
+        @Index(name = "idx_property_available_bedrooms_price", columnList = "available, numBedrooms, price"),
+        @Index(name = "idx_property_list_cover",
+                columnList = "available, id, price, numBedrooms, numBathrooms, postedAt"),
+        @Index(name = "idx_property_updated_at", columnList = "updatedAt"),
+        @Index(name = "idx_property_change_seq", columnList = "changeSeq")
+})
 public class Property {
 
     @Id
@@ -27,7 +49,25 @@ public class Property {
     @Column(nullable = false, length = 255)
     private String address;
 
-    @Column(length = 2550)
+    /**
+     * Short reference to the primary image; the full ordered list is in {@code property_media}
+     */
+    @Column(length = 512)
+    private String thumbnail;
+
+    /**
+     * Images to store on create or update, in display order. Write-only: responses carry the thumbnail,
+     * the list is served by {@code GET /listing/{id}/media}.
+     */
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
+    private List<String> images;
+
+    /**
+     * Single image as sent by older clients; used when {@link #images} is absent
+     */
+    @Transient
+    @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private String img;
 
     @Embedded
@@ -45,9 +85,42 @@ public class Property {
     @Column(name = "posted_at", nullable = false)
     private LocalDateTime postedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    /**
+     * Position of the latest write in the change feed. Stamped with SQL by
+     * {@link com.team12.listingservice.service.PropertyChangeService} as the writing transaction commits,
+     * so Hibernate never writes it.
+     */
+    @Column(name = "change_seq", nullable = false, insertable = false, updatable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long changeSeq;
+
+    /**
+     * Images sent with this request, or null when the client sent none
+     */
+    @JsonIgnore
+    public List<String> getRequestedImages() {
+        if (images != null) {
+            return images;
+        }
+        return img == null ? null : List.of(img);
+    }
+
     @PrePersist
     protected void onCreate() {
         this.postedAt = LocalDateTime.now();
+        this.updatedAt = this.postedAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = LocalDateTime.now();
     }
 
     @Column(nullable = false, length = 64)
@@ -0,0 +1,28 @@
+package com.team12.listingservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One entry of the change feed: the current state of a property, or its deletion
+ */
+@Getter
+@AllArgsConstructor
+public class PropertyChange {
+
+    public enum Type { UPSERT, DELETE }
+
+    private long seq;
+    private Long id;
+    private Type type;
+    // null for DELETE
+    private Property property;
+
+    public static PropertyChange upsert(Property property) {
+        return new PropertyChange(property.getChangeSeq(), property.getId(), Type.UPSERT, property);
+    }
+
+    public static PropertyChange delete(PropertyTombstone tombstone) {
+        return new PropertyChange(tombstone.getChangeSeq(), tombstone.getPropertyId(), Type.DELETE, null);
+    }
+}
@@ -0,0 +1,19 @@
+package com.team12.listingservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One page of the change feed in sequence order. Pass {@code nextSince} back as {@code since}; unlike
+ * {@link PropertyPage#getNextCursor()} it is also set on the last page, so consumers can store it and
+ * resume from there later.
+ */
+@Getter
+@AllArgsConstructor
+public class PropertyChangePage {
+    private List<PropertyChange> changes;
+    private long nextSince;
+    private boolean hasMore;
+}
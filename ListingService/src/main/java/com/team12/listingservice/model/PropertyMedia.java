@@ -0,0 +1,37 @@
+package com.team12.listingservice.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * One image reference of a property, in display order
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "property_media",
+        uniqueConstraints = @UniqueConstraint(name = "uk_property_media_order", columnNames = {"property_id", "sort_order"}))
+public class PropertyMedia {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "property_id", nullable = false)
+    private Long propertyId;
+
+    @Column(name = "sort_order", nullable = false)
+    private int sortOrder;
+
+    @Column(nullable = false, length = 2550)
+    private String url;
+
+    public PropertyMedia(Long propertyId, int sortOrder, String url) {
+        this.propertyId = propertyId;
+        this.sortOrder = sortOrder;
+        this.url = url;
+    }
+}
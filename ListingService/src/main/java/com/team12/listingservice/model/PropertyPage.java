@@ -0,0 +1,17 @@
+package com.team12.listingservice.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * One keyset page of listings. Pass {@code nextCursor} back as {@code after} to fetch the next page;
+ * it is null on the last page.
+ */
+@Getter
+@AllArgsConstructor
+public class PropertyPage<T> {
+    private List<T> items;
+    private Long nextCursor;
+}
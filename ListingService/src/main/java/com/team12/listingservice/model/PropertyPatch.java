@@ -0,0 +1,151 @@
+package com.team12.listingservice.model;
+
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Body of {@code PATCH /listing/{id}}: the version the client last read plus only the fields to change.
+ * Setters are only called for fields present in the JSON, which is how absent fields are told apart
+ * from fields explicitly set to null. Unknown fields are rejected. Images are not a column of the property
+ * and are kept apart from the other fields.
+ */
+@Getter
+public class PropertyPatch {
+
+    private Long version;
+    /**
+     * Replacement image list, or null when images are not being patched
+     */
+    private List<String> images;
+    @JsonIgnore
+    private final Map<String, Object> fields = new LinkedHashMap<>();
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public void setTitle(String title) {
+        fields.put("title", title);
+    }
+
+    public void setDescription(String description) {
+        fields.put("description", description);
+    }
+
+    public void setPrice(BigDecimal price) {
+        fields.put("price", price);
+    }
+
+    public void setAddress(String address) {
+        fields.put("address", address);
+    }
+
+    public void setImages(List<String> images) {
+        this.images = images == null ? List.of() : images;
+    }
+
+    /**
+     * Single image as sent by older clients; replaces the whole image list
+     */
+    public void setImg(String img) {
+        this.images = img == null ? List.of() : List.of(img);
+    }
+
+    public void setLocation(GeoLocation location) {
+        fields.put("location", location);
+    }
+
+    public void setNumBedrooms(Integer numBedrooms) {
+        fields.put("numBedrooms", numBedrooms);
+    }
+
+    public void setNumBathrooms(Integer numBathrooms) {
+        fields.put("numBathrooms", numBathrooms);
+    }
+
+    public void setAvailable(Boolean available) {
+        fields.put("available", available);
+    }
+
+    public void setAgentId(String agentId) {
+        fields.put("agentId", agentId);
+    }
+
+    /**
+     * Fields that cannot be patched (id, postedAt, updatedAt, ...) or do not exist
+     */
+    @JsonAnySetter
+    public void rejectUnknown(String name, Object value) {
+        throw new IllegalArgumentException("Field " + name + " cannot be patched");
+    }
+
+    /**
+     * The patched fields whose value differs from {@code current}, keyed by attribute name
+     *
+     * @throws IllegalArgumentException if a required field is set to null
+     */
+    public Map<String, Object> changesAgainst(Property current) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> field : fields.entrySet()) {
+            String name = field.getKey();
+            Object value = field.getValue();
+            if (value == null && !name.equals("location")) {
+                throw new IllegalArgumentException(name + " must not be null");
+            }
+            if (!sameValue(currentValue(current, name), value)) {
+                changes.put(name, value);
+            }
+        }
+        return changes;
+    }
+
+    /**
+     * Write {@code changes} (as returned by {@link #changesAgainst}, plus an optional {@code thumbnail}) to {@code target}
+     */
+    public static void apply(Map<String, Object> changes, Property target) {
+        changes.forEach((name, value) -> {
+            switch (name) {
+                case "title" -> target.setTitle((String) value);
+                case "description" -> target.setDescription((String) value);
+                case "price" -> target.setPrice((BigDecimal) value);
+                case "address" -> target.setAddress((String) value);
+                case "thumbnail" -> target.setThumbnail((String) value);
+                case "location" -> target.setLocation((GeoLocation) value);
+                case "numBedrooms" -> target.setNumBedrooms((Integer) value);
+                case "numBathrooms" -> target.setNumBathrooms((Integer) value);
+                case "available" -> target.setAvailable((Boolean) value);
+                case "agentId" -> target.setAgentId((String) value);
+                default -> throw new IllegalArgumentException("Unknown field " + name);
+            }
+        });
+    }
+
+    private static Object currentValue(Property p, String name) {
+        return switch (name) {
+            case "title" -> p.getTitle();
+            case "description" -> p.getDescription();
+            case "price" -> p.getPrice();
+            case "address" -> p.getAddress();
+            case "location" -> p.getLocation();
+            case "numBedrooms" -> p.getNumBedrooms();
+            case "numBathrooms" -> p.getNumBathrooms();
+            case "available" -> p.isAvailable();
+            case "agentId" -> p.getAgentId();
+            default -> throw new IllegalArgumentException("Unknown field " + name);
+        };
+    }
+
+    private static boolean sameValue(Object current, Object patched) {
+        if (current instanceof BigDecimal a && patched instanceof BigDecimal b) {
+            return a.compareTo(b) == 0;
+        }
+        return Objects.equals(current, patched);
+    }
+}
@@ -0,0 +1,47 @@
+package com.team12.listingservice.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Slim view of a property for list pages; same JSON shape as {@link Property} without the description.
+ * Like every list payload it carries the thumbnail only, not the image list.
+ */
+@Getter
+@Setter
+public class PropertySummary {
+    private Long id;
+    private String title;
+    private BigDecimal price;
+    private String address;
+    private String thumbnail;
+    private GeoLocation location;
+    private int numBedrooms;
+    private int numBathrooms;
+    private boolean available;
+    private LocalDateTime postedAt;
+    private String agentId;
+
+    public PropertySummary(Long id, String title, BigDecimal price, String address, String thumbnail,
+                           Double latitude, Double longitude, int numBedrooms, int numBathrooms,
+                           boolean available, LocalDateTime postedAt, String agentId) {
+        this.id = id;
+        this.title = title;
+        this.price = price;
+        this.address = address;
+        this.thumbnail = thumbnail;
+        if (latitude != null || longitude != null) {
+            this.location = new GeoLocation();
+            this.location.setLatitude(latitude);
+            this.location.setLongitude(longitude);
+        }
+        this.numBedrooms = numBedrooms;
+        this.numBathrooms = numBathrooms;
+        this.available = available;
+        this.postedAt = postedAt;
+        this.agentId = agentId;
+    }
+}
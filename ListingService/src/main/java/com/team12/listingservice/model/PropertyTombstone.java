@@ -0,0 +1,35 @@
+package com.team12.listingservice.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Marks a deleted property in the change feed
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "property_tombstone")
+public class PropertyTombstone {
+
+    @Id
+    @Column(name = "property_id")
+    private Long propertyId;
+
+    @Column(name = "change_seq", nullable = false)
+    private long changeSeq;
+
+    @Column(name = "deleted_at", nullable = false)
+    private LocalDateTime deletedAt;
+
+    public PropertyTombstone(Long propertyId, long changeSeq) {
+        this.propertyId = propertyId;
+        this.changeSeq = changeSeq;
+        this.deletedAt = LocalDateTime.now();
+    }
+}
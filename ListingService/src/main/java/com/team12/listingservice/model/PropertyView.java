@@ -0,0 +1,19 @@
+package com.team12.listingservice.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Everything the detail page shows, in one response.
+ * {@code favorited} and {@code priceAlert} are null when no user was given or UserActionService did not
+ * answer in time.
+ */
+@Getter
+@Setter
+public class PropertyView {
+    private Property property;
+    private String username;
+    private String phoneNumber;
+    private Boolean favorited;
+    private Boolean priceAlert;
+}
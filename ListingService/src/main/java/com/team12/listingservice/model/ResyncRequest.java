@@ -0,0 +1,18 @@
+package com.team12.listingservice.model;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /listing/admin/sync}: either explicit ids, or a filter where absent fields match
+ * everything.
+ */
+@Getter
+@Setter
+public class ResyncRequest {
+    private List<Long> ids;
+    private Boolean available;
+    private String agentId;
+}
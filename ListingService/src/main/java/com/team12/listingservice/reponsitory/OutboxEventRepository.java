@@ -0,0 +1,25 @@
+package com.team12.listingservice.reponsitory;
+
+import com.team12.listingservice.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /**
+     * Take the relay lock row until the current transaction ends
+     *
+     * @return empty when another relay holds it
+     */
+    @Query(value = "SELECT id FROM outbox_relay_lock WHERE id = 1 FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<Number> lockRelay();
+
+    /**
+     * Lock the oldest pending events
+     */
+    @Query(value = "SELECT * FROM outbox_event ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockNextBatch(@Param("limit") int limit);
+}
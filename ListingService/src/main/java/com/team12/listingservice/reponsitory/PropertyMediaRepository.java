@@ -0,0 +1,28 @@
+package com.team12.listingservice.reponsitory;
+
+import com.team12.listingservice.model.PropertyMedia;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface PropertyMediaRepository extends JpaRepository<PropertyMedia, Long> {
+
+    /**
+     * Image URLs of a property in display order
+     */
+    @Query("SELECT m.url FROM PropertyMedia m WHERE m.propertyId = :propertyId ORDER BY m.sortOrder")
+    List<String> findUrlsByPropertyId(@Param("propertyId") Long propertyId);
+
+    /**
+     * Executed immediately, so new rows with the same sort order can be inserted in the same transaction
+     */
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM PropertyMedia m WHERE m.propertyId = :propertyId")
+    int deleteByPropertyId(@Param("propertyId") Long propertyId);
+}
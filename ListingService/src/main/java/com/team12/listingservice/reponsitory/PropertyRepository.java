@@ -1,27 +1,194 @@
 package com.team12.listingservice.reponsitory;
 
+import com.team12.listingservice.model.CatalogVersion;
 import com.team12.listingservice.model.Property;
+import com.team12.listingservice.model.PropertySummary;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Queries run in read-only transactions and so are served by a read replica when one is configured
+ * (see {@link com.team12.listingservice.config.DataSourceConfig}); inside a write transaction they use its connection.
+ * <p>
+ * Whatever lands in the second-level or query cache is served to every reader until the next write evicts it,
+ * so it must not come from a lagging replica: cacheable queries and id lookups run read-write on the primary,
+ * and entity queries left on replicas load their rows with {@link #CACHE_STORE_MODE} {@code BYPASS}.
+ */
+@Transactional(readOnly = true)
 public interface PropertyRepository extends JpaRepository<Property, Long> {
+
+    String CACHEABLE = "org.hibernate.cacheable";
+
+    /**
+     * With {@code BYPASS} the rows a query loads are not put into the second-level cache
+     */
+    String CACHE_STORE_MODE = "jakarta.persistence.cache.storeMode";
+
+    /**
+     * MySQL Connector/J only streams rows instead of buffering the whole result set for this fetch size
+     */
+    String STREAMING_FETCH_SIZE = "" + Integer.MIN_VALUE;
+
+    /**
+     * All properties; ids come from the query cache, rows from the second-level cache
+     */
+    @Override
+    @Transactional
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
+    java.util.List<Property> findAll();
+
+    /**
+     * Always read from the primary: this load fills the second-level and detail caches, which must never
+     * keep a row a lagging replica has not caught up on yet. Only write paths make a user sticky
+     * ({@link com.team12.listingservice.config.ReadReplicaRouter#markWritten()}), so this does not.
+     */
+    @Override
+    @Transactional
+    Optional<Property> findById(Long id);
+
+    /**
+     * On the primary for the same reason as {@link #findById}
+     */
+    @Override
+    @Transactional
+    java.util.List<Property> findAllById(Iterable<Long> ids);
+
+    @Override
+    @Transactional
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
+    long count();
     
     /**
      * Count properties that are available
      */
+    @Transactional
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
     long countByAvailableTrue();
     
     /**
      * Count properties that are not available
      */
+    @Transactional
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
     long countByAvailableFalse();
     
     /**
      * Find properties by agent ID
      */
+    @Transactional
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
     java.util.List<Property> findByAgentId(String agentId);
     
     /**
      * Find available properties
      */
+    @Transactional
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
     java.util.List<Property> findByAvailableTrue();
+
+    /**
+     * Last modification time of one property; a primary key lookup for conditional GETs
+     */
+    @Query("SELECT p.updatedAt FROM Property p WHERE p.id = :id")
+    java.util.Optional<LocalDateTime> findUpdatedAtById(@Param("id") Long id);
+
+    /**
+     * Row count and latest modification time; both come from indexes and the result is query-cached
+     */
+    @Transactional
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
+    @Query("SELECT new com.team12.listingservice.model.CatalogVersion(COUNT(p), MAX(p.updatedAt)) FROM Property p")
+    CatalogVersion findCatalogVersion();
+
+    /**
+     * Properties written after {@code since}, in change sequence order
+     */
+    @QueryHints(@QueryHint(name = CACHE_STORE_MODE, value = "BYPASS"))
+    java.util.List<Property> findByChangeSeqGreaterThanOrderByChangeSeq(long since, Limit limit);
+
+    /**
+     * Keyset page of properties with id greater than the cursor, optionally filtered
+     */
+    @QueryHints(@QueryHint(name = CACHE_STORE_MODE, value = "BYPASS"))
+    @Query("SELECT p FROM Property p " +
+            "WHERE p.id > :after " +
+            "AND (:available IS NULL OR p.available = :available) " +
+            "AND (:agentId IS NULL OR p.agentId = :agentId) " +
+            "ORDER BY p.id")
+    java.util.List<Property> findPageAfter(@Param("after") long after,
+                                           @Param("available") Boolean available,
+                                           @Param("agentId") String agentId,
+                                           Limit limit);
+
+    /**
+     * Keyset page of property summaries; skips loading the description column
+     */
+    @Query("SELECT new com.team12.listingservice.model.PropertySummary(" +
+            "p.id, p.title, p.price, p.address, p.thumbnail, p.location.latitude, p.location.longitude, " +
+            "p.numBedrooms, p.numBathrooms, p.available, p.postedAt, p.agentId) " +
+            "FROM Property p " +
+            "WHERE p.id > :after " +
+            "AND (:available IS NULL OR p.available = :available) " +
+            "AND (:agentId IS NULL OR p.agentId = :agentId) " +
+            "ORDER BY p.id")
+    java.util.List<PropertySummary> findSummaryPageAfter(@Param("after") long after,
+                                                         @Param("available") Boolean available,
+                                                         @Param("agentId") String agentId,
+                                                         Limit limit);
+
+    /**
+     * Summaries of the given properties; ids that do not exist are left out
+     */
+    @Query("SELECT new com.team12.listingservice.model.PropertySummary(" +
+            "p.id, p.title, p.price, p.address, p.thumbnail, p.location.latitude, p.location.longitude, " +
+            "p.numBedrooms, p.numBathrooms, p.available, p.postedAt, p.agentId) " +
+            "FROM Property p WHERE p.id IN :ids")
+    java.util.List<PropertySummary> findSummariesByIdIn(@Param("ids") java.util.Collection<Long> ids);
+
+    /**
+     * Properties within {@code radius} meters of a point, nearest first.
+     * {@code box} is a WKT polygon (long-lat order) around the circle; MBRContains on it lets MySQL
+     * use the spatial index on location_point before computing exact sphere distances.
+     */
+    @QueryHints(@QueryHint(name = CACHE_STORE_MODE, value = "BYPASS"))
+    @Query(value = "SELECT * FROM property p " +
+            "WHERE MBRContains(ST_GeomFromText(:box, 4326, 'axis-order=long-lat'), p.location_point) " +
+            "AND p.latitude IS NOT NULL AND p.longitude IS NOT NULL " +
+            "AND (:available IS NULL OR p.available = :available) " +
+            "AND ST_Distance_Sphere(p.location_point, ST_SRID(POINT(:lng, :lat), 4326)) <= :radius " +
+            "ORDER BY ST_Distance_Sphere(p.location_point, ST_SRID(POINT(:lng, :lat), 4326)) " +
+            "LIMIT :limit", nativeQuery = true)
+    java.util.List<Property> findNearby(@Param("lat") double lat,
+                                        @Param("lng") double lng,
+                                        @Param("radius") double radius,
+                                        @Param("box") String box,
+                                        @Param("available") Boolean available,
+                                        @Param("limit") int limit);
+
+    /**
+     * Every property summary changed after {@code since} (all of them when null), in id order.
+     * Rows are streamed from the driver, so the stream must be consumed and closed inside a transaction.
+     */
+    @QueryHints({
+            @QueryHint(name = "org.hibernate.fetchSize", value = STREAMING_FETCH_SIZE),
+            @QueryHint(name = "org.hibernate.readOnly", value = "true")
+    })
+    @Query("SELECT new com.team12.listingservice.model.PropertySummary(" +
+            "p.id, p.title, p.price, p.address, p.thumbnail, p.location.latitude, p.location.longitude, " +
+            "p.numBedrooms, p.numBathrooms, p.available, p.postedAt, p.agentId) " +
+            "FROM Property p " +
+            "WHERE (:since IS NULL OR p.updatedAt > :since) " +
+            "AND (:available IS NULL OR p.available = :available) " +
+            "ORDER BY p.id")
+    Stream<PropertySummary> streamSummaries(@Param("since") LocalDateTime since,
+                                            @Param("available") Boolean available);
 }
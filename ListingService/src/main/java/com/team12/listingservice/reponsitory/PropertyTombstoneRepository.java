@@ -0,0 +1,17 @@
+package com.team12.listingservice.reponsitory;
+
+import com.team12.listingservice.model.PropertyTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Transactional(readOnly = true)
+public interface PropertyTombstoneRepository extends JpaRepository<PropertyTombstone, Long> {
+
+    /**
+     * Deletions after {@code since}, oldest first
+     */
+    List<PropertyTombstone> findByChangeSeqGreaterThanOrderByChangeSeq(long since, Limit limit);
+}
@@ -0,0 +1,106 @@
+package com.team12.listingservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.team12.clients.user.UserClient;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.*;
+
+/**
+ * Resolves agent name and phone number for listings.
+ * Lookups are batched into a single UserService call and kept in a short-lived local cache,
+ * so rendering a page of listings costs at most one cross-service request.
+ */
+@Slf4j
+@Service
+public class AgentInfoService {
+
+    private static final List<String> UNKNOWN_AGENT = List.of();
+
+    private final UserClient userClient;
+    private final Cache<Long, List<String>> cache;
+
+    public AgentInfoService(UserClient userClient,
+                            @Value("${listing.agent-info.cache-ttl:5m}") Duration ttl,
+                            @Value("${listing.agent-info.cache-size:10000}") long maxSize) {
+        this.userClient = userClient;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Get agent info for a single agent
+     * @param agentId Agent ID as stored on the property
+     * @return List of [username, phoneNumber], or null if the agent cannot be resolved
+     */
+    public List<String> getAgentInfo(String agentId) {
+        return getAgentInfo(Collections.singleton(agentId)).get(agentId);
+    }
+
+    /**
+     * Get agent info for many agents in one round trip
+     * @param agentIds Agent IDs as stored on the properties; duplicates and non-numeric ids are fine
+     * @return Map of agent ID to [username, phoneNumber]; unresolved agents are absent
+     */
+    public Map<String, List<String>> getAgentInfo(Collection<String> agentIds) {
+        Map<Long, String> requested = new HashMap<>();
+        for (String agentId : agentIds) {
+            Long id = parseId(agentId);
+            if (id != null) {
+                requested.putIfAbsent(id, agentId);
+            }
+        }
+
+        Map<Long, List<String>> found = new HashMap<>(cache.getAllPresent(requested.keySet()));
+        Set<Long> missing = new HashSet<>(requested.keySet());
+        missing.removeAll(found.keySet());
+        if (!missing.isEmpty()) {
+            found.putAll(fetch(missing));
+        }
+
+        Map<String, List<String>> result = new HashMap<>();
+        found.forEach((id, info) -> {
+            if (!info.isEmpty()) {
+                result.put(requested.get(id), info);
+            }
+        });
+        return result;
+    }
+
+    private Map<Long, List<String>> fetch(Set<Long> ids) {
+        Map<Long, List<String>> fetched = new HashMap<>();
+        try {
+            Map<Long, List<String>> body = userClient.getAgentInfoByIds(new ArrayList<>(ids)).getBody();
+            if (body != null) {
+                fetched.putAll(body);
+            }
+        } catch (Exception e) {
+            // Leave the cache untouched so the next render retries
+            log.warn("Failed to resolve info for {} agents: {}", ids.size(), e.getMessage());
+            return fetched;
+        }
+        for (Long id : ids) {
+            // Remember agents UserService does not know about, so they are not re-requested on every render
+            fetched.putIfAbsent(id, UNKNOWN_AGENT);
+        }
+        cache.putAll(fetched);
+        return fetched;
+    }
+
+    private static Long parseId(String agentId) {
+        if (agentId == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(agentId);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
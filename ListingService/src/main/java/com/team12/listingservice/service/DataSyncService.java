@@ -1,77 +1,134 @@
 package com.team12.listingservice.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.team12.listingservice.config.RabbitMQConfig;
+import com.team12.listingservice.config.ReadReplicaRouter;
+import com.team12.listingservice.model.OutboxEvent;
 import com.team12.listingservice.model.Property;
+import com.team12.listingservice.model.PropertySummary;
+import com.team12.listingservice.reponsitory.OutboxEventRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class DataSyncService {
 
-    private final RabbitTemplate rabbitTemplate;
+    static final String REFRESH_WAIT_FOR = "wait_for";
+
+    private final OutboxEventRepository outboxEventRepository;
     private final ObjectMapper objectMapper;
+    private final ReadReplicaRouter readReplicaRouter;
 
     /**
-     * Send property sync message to SearchService
+     * Queue property sync message to SearchService.
+     * The message is written to the outbox in the caller's transaction and published by {@link OutboxRelay}.
      */
     @Transactional
     public void syncPropertyToElasticsearch(String action, Property property) {
-        try {
-            log.info("Sending property sync message: action={}, propertyId={}", action, property.getId());
-            
-            Map<String, Object> message = createPropertySyncMessage(action, property);
-            
-            rabbitTemplate.convertAndSend(
-                RabbitMQConfig.PROPERTY_SYNC_EXCHANGE,
-                RabbitMQConfig.PROPERTY_SYNC_ROUTING_KEY,
-                message
-            );
-            
-            log.info("Successfully sent property sync message for property: {}", property.getId());
-            
-        } catch (Exception e) {
-            log.error("Failed to send property sync message for property: {}", property.getId(), e);
-            // In production, you might want to store failed messages for retry
-            throw new RuntimeException("Failed to sync property data", e);
-        }
+        log.debug("Queueing property sync message: action={}, propertyId={}", action, property.getId());
+        enqueue(createPropertySyncMessage(action, property));
     }
 
     /**
-     * Send property deletion sync message
+     * Queue property sync message and ask SearchService to make the write visible before acking it.
+     * Only meant for the admin "sync this property now" path; regular writes rely on the index refresh interval.
+     */
+    @Transactional
+    public void syncPropertyNow(Property property) {
+        log.debug("Queueing immediate property sync message: propertyId={}", property.getId());
+        enqueue(createPropertySyncMessage("update", property, REFRESH_WAIT_FOR));
+    }
+
+    /**
+     * Queue property deletion sync message
      */
     @Transactional
     public void syncPropertyDeletion(Long propertyId) {
+        log.debug("Queueing property deletion sync message: propertyId={}", propertyId);
+
+        Map<String, Object> propertyData = new HashMap<>();
+        propertyData.put("id", String.valueOf(propertyId));
+
+        Map<String, Object> message = new HashMap<>();
+        message.put("action", "delete");
+        message.put("data", propertyData);
+        message.put("timestamp", System.currentTimeMillis());
+        enqueue(message);
+    }
+
+    /**
+     * Queue a price-changed domain event for price-alert subscribers.
+     * Published to the property events exchange, not the sync exchange, so it only reaches interested consumers.
+     */
+    @Transactional
+    public void publishPriceChanged(Property property, BigDecimal oldPrice) {
+        log.debug("Queueing price changed event: propertyId={}", property.getId());
+
+        Map<String, Object> event = new HashMap<>();
+        // lets consumers recognise a redelivered event
+        event.put("eventId", UUID.randomUUID().toString());
+        event.put("propertyId", property.getId());
+        event.put("title", property.getTitle());
+        event.put("oldPrice", oldPrice);
+        event.put("newPrice", property.getPrice());
+        event.put("timestamp", System.currentTimeMillis());
+        enqueue(RabbitMQConfig.PROPERTY_EVENTS_EXCHANGE, RabbitMQConfig.PRICE_CHANGED_ROUTING_KEY, event);
+    }
+
+    /**
+     * Publish one "bulk" sync event for a batch of newly inserted properties
+     */
+    public void syncPropertiesBulk(List<Property> properties) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("action", "bulk");
+        message.put("data", properties.stream().map(this::convertPropertyToMap).toList());
+        message.put("timestamp", System.currentTimeMillis());
+        enqueue(message);
+    }
+
+    /**
+     * Publish a "patch" sync event carrying the id and the changed fields of a property, plus the full
+     * document SearchService indexes instead when the partial update cannot be applied (e.g. document missing)
+     */
+    public void syncPropertyPatch(Property property, Set<String> changedFields) {
+        Map<String, Object> full = convertPropertyToMap(property);
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", full.get("id"));
+        for (String field : changedFields) {
+            data.put(field, full.get(field));
+        }
+        Map<String, Object> message = new HashMap<>();
+        message.put("action", "patch");
+        message.put("data", data);
+        message.put("document", full);
+        message.put("timestamp", System.currentTimeMillis());
+        enqueue(message);
+    }
+
+    private void enqueue(Map<String, Object> message) {
+        enqueue(RabbitMQConfig.PROPERTY_SYNC_EXCHANGE, RabbitMQConfig.PROPERTY_SYNC_ROUTING_KEY, message);
+    }
+
+    private void enqueue(String exchange, String routingKey, Map<String, Object> message) {
         try {
-            log.info("Sending property deletion sync message: propertyId={}", propertyId);
-            
-            Map<String, Object> propertyData = new HashMap<>();
-            propertyData.put("id", String.valueOf(propertyId));
-            
-            Map<String, Object> message = Map.of(
-                "action", "delete",
-                "data", propertyData
-            );
-            
-            rabbitTemplate.convertAndSend(
-                RabbitMQConfig.PROPERTY_SYNC_EXCHANGE,
-                RabbitMQConfig.PROPERTY_SYNC_ROUTING_KEY,
-                message
-            );
-            
-            log.info("Successfully sent property deletion sync message for property: {}", propertyId);
-            
-        } catch (Exception e) {
-            log.error("Failed to send property deletion sync message for property: {}", propertyId, e);
-            throw new RuntimeException("Failed to sync property deletion", e);
+            outboxEventRepository.save(new OutboxEvent(exchange, routingKey, objectMapper.writeValueAsString(message)));
+            // every listing write queues an outbox event, so this is where its user becomes sticky to the primary
+            readReplicaRouter.markWritten();
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize outbox message", e);
         }
     }
 
@@ -79,13 +136,18 @@ public class DataSyncService {
      * Create property sync message
      */
     private Map<String, Object> createPropertySyncMessage(String action, Property property) {
-        Map<String, Object> propertyData = convertPropertyToMap(property);
-        
-        return Map.of(
-            "action", action,
-            "data", propertyData,
-            "timestamp", System.currentTimeMillis()
-        );
+        return createPropertySyncMessage(action, property, null);
+    }
+
+    private Map<String, Object> createPropertySyncMessage(String action, Property property, String refresh) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("action", action);
+        message.put("data", convertPropertyToMap(property));
+        message.put("timestamp", System.currentTimeMillis());
+        if (refresh != null) {
+            message.put("refresh", refresh);
+        }
+        return message;
     }
 
     /**
@@ -99,25 +161,46 @@ public class DataSyncService {
         data.put("description", property.getDescription());
         data.put("price", property.getPrice());
         data.put("address", property.getAddress());
-        data.put("img", property.getImg());
+        data.put("thumbnail", property.getThumbnail());
         data.put("numBedrooms", property.getNumBedrooms());
         data.put("numBathrooms", property.getNumBathrooms());
         data.put("available", property.isAvailable());
         data.put("agentId", property.getAgentId());
         data.put("postedAt", property.getPostedAt() != null ? property.getPostedAt().toString() : null);
         
-        // Handle location data - skip for now since GeoLocation lacks getters
-        // TODO: Add getters to GeoLocation class or implement location handling
-        // if (property.getLocation() != null) {
-        //     Map<String, Object> locationData = new HashMap<>();
-        //     locationData.put("latitude", property.getLocation().getLatitude());
-        //     locationData.put("longitude", property.getLocation().getLongitude());
-        //     data.put("location", locationData);
-        // }
+        if (property.getLocation() != null) {
+            data.put("location", locationToMap(property.getLocation().getLatitude(), property.getLocation().getLongitude()));
+        }
         
         return data;
     }
 
+    private static Map<String, Object> locationToMap(Double latitude, Double longitude) {
+        Map<String, Object> locationData = new HashMap<>();
+        locationData.put("latitude", latitude);
+        locationData.put("longitude", longitude);
+        return locationData;
+    }
+
+    /**
+     * Publish one "location" event carrying the coordinates of a batch of properties.
+     * SearchService applies it as partial updates that only fill in documents without a location.
+     */
+    public void syncPropertyLocations(List<PropertySummary> properties) {
+        List<Map<String, Object>> data = new ArrayList<>(properties.size());
+        for (PropertySummary property : properties) {
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("id", String.valueOf(property.getId()));
+            entry.put("location", locationToMap(property.getLocation().getLatitude(), property.getLocation().getLongitude()));
+            data.add(entry);
+        }
+        Map<String, Object> message = new HashMap<>();
+        message.put("action", "location");
+        message.put("data", data);
+        message.put("timestamp", System.currentTimeMillis());
+        enqueue(message);
+    }
+
     /**
      * Bulk sync all properties to Elasticsearch
      * Useful for initial data loading or recovery
@@ -130,12 +213,11 @@ public class DataSyncService {
         
         for (Property property : properties) {
             try {
+                // No throttling here: OutboxRelay publishes in batches and SearchService widens the index
+                // refresh interval while the sync queue is deep
                 syncPropertyToElasticsearch("create", property);
                 successCount++;
                 
-                // Add small delay to avoid overwhelming the message queue
-                Thread.sleep(50);
-                
             } catch (Exception e) {
                 failureCount++;
                 log.error("Failed to sync property {} during bulk operation", property.getId(), e);
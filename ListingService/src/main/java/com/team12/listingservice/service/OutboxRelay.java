@@ -0,0 +1,128 @@
+package com.team12.listingservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team12.listingservice.model.OutboxEvent;
+import com.team12.listingservice.reponsitory.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Publishes outbox rows to RabbitMQ with publisher confirms.
+ * Each batch first takes the {@code outbox_relay_lock} row, so only one instance relays at a time and
+ * rows go out in id order; the other instances skip their poll. A property's events are written in
+ * commit order, so they are published in that order too. Only the leading run of confirmed rows is
+ * deleted: anything after the first failure is sent again on the next poll, after the rows before it,
+ * at the cost of duplicates.
+ */
+@Slf4j
+@Component
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long confirmTimeoutMs;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       RabbitTemplate rabbitTemplate,
+                       ObjectMapper objectMapper,
+                       TransactionTemplate transactionTemplate,
+                       @Value("${listing.outbox.batch-size:200}") int batchSize,
+                       @Value("${listing.outbox.confirm-timeout-ms:5000}") long confirmTimeoutMs) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.confirmTimeoutMs = confirmTimeoutMs;
+    }
+
+    @Scheduled(fixedDelayString = "${listing.outbox.poll-interval-ms:200}")
+    public void relay() {
+        Integer published;
+        do {
+            published = transactionTemplate.execute(status -> relayBatch());
+        } while (published != null && published == batchSize);
+    }
+
+    /**
+     * Publish one batch inside the caller's transaction
+     * @return number of rows confirmed and deleted
+     */
+    int relayBatch() {
+        if (outboxEventRepository.lockRelay().isEmpty()) {
+            log.debug("Another instance is relaying the outbox");
+            return 0;
+        }
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(batchSize);
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CorrelationData> sent = new ArrayList<>(batch.size());
+        for (OutboxEvent event : batch) {
+            CorrelationData correlation = new CorrelationData(String.valueOf(event.getId()));
+            try {
+                Map<?, ?> message = objectMapper.readValue(event.getPayload(), Map.class);
+                rabbitTemplate.convertAndSend(event.getExchange(), event.getRoutingKey(), message, correlation);
+            } catch (Exception e) {
+                log.warn("Failed to publish outbox event {}: {}", event.getId(), e.getMessage());
+                break;
+            }
+            sent.add(correlation);
+        }
+
+        List<Long> confirmed = new ArrayList<>(sent.size());
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(confirmTimeoutMs);
+        for (int i = 0; i < sent.size(); i++) {
+            if (!isConfirmed(sent.get(i), deadline)) {
+                break;
+            }
+            confirmed.add(batch.get(i).getId());
+        }
+
+        if (!confirmed.isEmpty()) {
+            outboxEventRepository.deleteAllByIdInBatch(confirmed);
+        }
+        if (confirmed.size() < batch.size()) {
+            log.warn("Relayed {} of {} outbox events; the rest will be retried", confirmed.size(), batch.size());
+        }
+        return confirmed.size();
+    }
+
+    private boolean isConfirmed(CorrelationData correlation, long deadlineNanos) {
+        try {
+            long waitNanos = Math.max(0, deadlineNanos - System.nanoTime());
+            CorrelationData.Confirm confirm = correlation.getFuture().get(waitNanos, TimeUnit.NANOSECONDS);
+            if (!confirm.isAck()) {
+                log.warn("Broker nacked outbox event {}: {}", correlation.getId(), confirm.getReason());
+                return false;
+            }
+            if (correlation.getReturned() != null) {
+                log.warn("Outbox event {} was unroutable: {}", correlation.getId(), correlation.getReturned().getReplyText());
+                return false;
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("No confirm for outbox event {}", correlation.getId());
+            return false;
+        }
+    }
+}
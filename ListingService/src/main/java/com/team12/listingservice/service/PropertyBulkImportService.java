@@ -0,0 +1,298 @@
+package com.team12.listingservice.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team12.listingservice.model.BulkImportResult;
+import com.team12.listingservice.model.BulkImportResult.RowError;
+import com.team12.listingservice.model.GeoLocation;
+import com.team12.listingservice.model.Property;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Imports many properties in one request.
+ * Input is read incrementally and handled in chunks: each chunk is validated in parallel, written with a
+ * single JDBC batch (rewritten into multi-row INSERTs by the MySQL driver) plus one batch of image references,
+ * and announced to SearchService with one "bulk" sync event, all in one transaction per chunk.
+ * A bad row only fails itself.
+ */
+@Slf4j
+@Service
+public class PropertyBulkImportService {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO property (title, description, price, address, thumbnail, latitude, longitude, " +
+            "num_bedrooms, num_bathrooms, available, posted_at, agent_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_MEDIA_SQL =
+            "INSERT INTO property_media (property_id, sort_order, url) VALUES (?, ?, ?)";
+
+    private static final BigDecimal MAX_PRICE = new BigDecimal("99999999.99");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSyncService dataSyncService;
+    private final PropertyChangeService propertyChangeService;
+    private final PropertyStatsService propertyStatsService;
+    private final ObjectMapper objectMapper;
+
+    public PropertyBulkImportService(JdbcTemplate jdbcTemplate,
+                                     TransactionTemplate transactionTemplate,
+                                     DataSyncService dataSyncService,
+                                     PropertyChangeService propertyChangeService,
+                                     PropertyStatsService propertyStatsService,
+                                     ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.dataSyncService = dataSyncService;
+        this.propertyChangeService = propertyChangeService;
+        this.propertyStatsService = propertyStatsService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Import a JSON array of properties
+     */
+    public BulkImportResult importJsonArray(InputStream in) throws IOException {
+        Importer importer = new Importer();
+        try (JsonParser parser = objectMapper.getFactory().createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("Expected a JSON array of properties");
+            }
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                JsonNode node = parser.readValueAsTree();
+                importer.accept(() -> objectMapper.treeToValue(node, Property.class));
+            }
+        }
+        return importer.finish();
+    }
+
+    /**
+     * Import newline-delimited JSON, one property per line; blank lines are skipped
+     */
+    public BulkImportResult importNdjson(InputStream in) throws IOException {
+        Importer importer = new Importer();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                String json = line;
+                importer.accept(() -> objectMapper.readValue(json, Property.class));
+            }
+        }
+        return importer.finish();
+    }
+
+    /**
+     * @return null if the property can be inserted, otherwise the reason it cannot
+     */
+    static String validate(Property p) {
+        if (p.getTitle() == null || p.getTitle().isBlank()) return "title is required";
+        if (p.getTitle().length() > 100) return "title exceeds 100 characters";
+        if (p.getDescription() == null || p.getDescription().isBlank()) return "description is required";
+        if (p.getPrice() == null || p.getPrice().signum() <= 0) return "price must be positive";
+        if (p.getPrice().compareTo(MAX_PRICE) > 0 || p.getPrice().scale() > 2) return "price is out of range";
+        if (p.getAddress() == null || p.getAddress().isBlank()) return "address is required";
+        if (p.getAddress().length() > 255) return "address exceeds 255 characters";
+        try {
+            PropertyMediaService.normalize(p.getRequestedImages());
+        } catch (IllegalArgumentException e) {
+            return e.getMessage();
+        }
+        if (p.getNumBedrooms() < 0 || p.getNumBathrooms() < 0) return "room counts must not be negative";
+        if (p.getAgentId() == null || p.getAgentId().isBlank()) return "agentId is required";
+        if (p.getAgentId().length() > 64) return "agentId exceeds 64 characters";
+        GeoLocation loc = p.getLocation();
+        if (loc != null) {
+            if (loc.getLatitude() != null && Math.abs(loc.getLatitude()) > 90) return "latitude is out of range";
+            if (loc.getLongitude() != null && Math.abs(loc.getLongitude()) > 180) return "longitude is out of range";
+        }
+        return null;
+    }
+
+    private int insertChunk(List<Property> chunk) {
+        Integer inserted = transactionTemplate.execute(status -> {
+            jdbcTemplate.execute((ConnectionCallback<Void>) con -> {
+                try (PreparedStatement ps = con.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                    for (Property p : chunk) {
+                        bind(ps, p);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        int i = 0;
+                        while (keys.next() && i < chunk.size()) {
+                            chunk.get(i++).setId(keys.getLong(1));
+                        }
+                    }
+                }
+                insertMedia(con, chunk);
+                return null;
+            });
+            propertyChangeService.recordWrites(chunk);
+            propertyStatsService.recordCreated(chunk);
+            dataSyncService.syncPropertiesBulk(chunk);
+            return chunk.size();
+        });
+        return inserted == null ? 0 : inserted;
+    }
+
+    private static void insertMedia(Connection con, List<Property> chunk) throws SQLException {
+        try (PreparedStatement ps = con.prepareStatement(INSERT_MEDIA_SQL)) {
+            boolean any = false;
+            for (Property p : chunk) {
+                List<String> images = PropertyMediaService.normalize(p.getRequestedImages());
+                if (images == null) {
+                    continue;
+                }
+                for (int i = 0; i < images.size(); i++) {
+                    ps.setLong(1, p.getId());
+                    ps.setInt(2, i);
+                    ps.setString(3, images.get(i));
+                    ps.addBatch();
+                    any = true;
+                }
+            }
+            if (any) {
+                ps.executeBatch();
+            }
+        }
+    }
+
+    private static void bind(PreparedStatement ps, Property p) throws SQLException {
+        GeoLocation loc = p.getLocation();
+        ps.setString(1, p.getTitle());
+        ps.setString(2, p.getDescription());
+        ps.setBigDecimal(3, p.getPrice());
+        ps.setString(4, p.getAddress());
+        // kept on the row so the bulk sync event carries it too
+        p.setThumbnail(PropertyMediaService.thumbnailOf(PropertyMediaService.normalize(p.getRequestedImages())));
+        ps.setString(5, p.getThumbnail());
+        ps.setObject(6, loc == null ? null : loc.getLatitude(), Types.DOUBLE);
+        ps.setObject(7, loc == null ? null : loc.getLongitude(), Types.DOUBLE);
+        ps.setInt(8, p.getNumBedrooms());
+        ps.setInt(9, p.getNumBathrooms());
+        ps.setBoolean(10, p.isAvailable());
+        ps.setTimestamp(11, Timestamp.valueOf(p.getPostedAt()));
+        ps.setString(12, p.getAgentId());
+    }
+
+    @FunctionalInterface
+    private interface RowReader {
+        Property read() throws JsonProcessingException;
+    }
+
+    /**
+     * Collects parsed rows into chunks and keeps the running totals for one import
+     */
+    private class Importer {
+        private final List<Property> pending = new ArrayList<>(CHUNK_SIZE);
+        private final List<Integer> pendingRows = new ArrayList<>(CHUNK_SIZE);
+        private final List<RowError> errors = new ArrayList<>();
+        private int received;
+        private int imported;
+        private int failed;
+
+        void accept(RowReader reader) {
+            int row = received++;
+            try {
+                pending.add(reader.read());
+                pendingRows.add(row);
+            } catch (JsonProcessingException e) {
+                fail(row, "malformed property: " + e.getOriginalMessage());
+                return;
+            }
+            if (pending.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        BulkImportResult finish() {
+            flush();
+            log.info("Bulk import finished: received={}, imported={}, failed={}", received, imported, failed);
+            return new BulkImportResult(received, imported, failed, errors);
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            LocalDateTime now = LocalDateTime.now();
+            String[] problems = new String[pending.size()];
+            IntStream.range(0, pending.size()).parallel()
+                    .forEach(i -> problems[i] = validate(pending.get(i)));
+
+            List<Property> valid = new ArrayList<>(pending.size());
+            List<Integer> validRows = new ArrayList<>(pending.size());
+            for (int i = 0; i < pending.size(); i++) {
+                if (problems[i] != null) {
+                    fail(pendingRows.get(i), problems[i]);
+                    continue;
+                }
+                Property p = pending.get(i);
+                p.setId(null);
+                p.setPostedAt(now);
+                valid.add(p);
+                validRows.add(pendingRows.get(i));
+            }
+            pending.clear();
+            pendingRows.clear();
+
+            if (valid.isEmpty()) {
+                return;
+            }
+            try {
+                imported += insertChunk(valid);
+            } catch (Exception e) {
+                log.error("Bulk import chunk of {} rows failed", valid.size(), e);
+                String reason = "chunk rejected by database: " + rootMessage(e);
+                validRows.forEach(row -> fail(row, reason));
+            }
+        }
+
+        private void fail(int row, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new RowError(row, message));
+            }
+        }
+    }
+
+    private static String rootMessage(Throwable e) {
+        Throwable root = e;
+        while (root.getCause() != null) {
+            root = root.getCause();
+        }
+        return root.getMessage();
+    }
+}
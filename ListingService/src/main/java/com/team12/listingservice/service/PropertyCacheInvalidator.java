@@ -0,0 +1,53 @@
+package com.team12.listingservice.service;
+
+import com.team12.listingservice.model.Property;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Keeps this replica's in-process caches coherent with writes made anywhere in the cluster.
+ * Every replica receives every property sync message on its own queue once the writing transaction has
+ * committed, and drops the affected entries: the assembled detail, the Hibernate second-level entry and
+ * the cached query results (which Hibernate only invalidates for writes made through this replica).
+ */
+@Slf4j
+@Component
+public class PropertyCacheInvalidator {
+
+    private final PropertyDetailCache propertyDetailCache;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public PropertyCacheInvalidator(PropertyDetailCache propertyDetailCache,
+                                    EntityManagerFactory entityManagerFactory) {
+        this.propertyDetailCache = propertyDetailCache;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @RabbitListener(queues = "#{propertyCacheInvalidationQueue.name}")
+    public void onPropertySync(Map<String, Object> message) {
+        // location backfills only touch the search index
+        if ("location".equals(message.get("action"))) {
+            return;
+        }
+        Object data = message.get("data");
+        if (data instanceof Map<?, ?> fields && fields.get("id") != null) {
+            try {
+                Long id = Long.valueOf(fields.get("id").toString());
+                propertyDetailCache.evict(id);
+                entityManagerFactory.getCache().evict(Property.class, id);
+            } catch (NumberFormatException e) {
+                log.debug("Ignoring sync message with non-numeric id: {}", fields.get("id"));
+                return;
+            }
+        } else if (data == null) {
+            return;
+        }
+        // creates, deletes and bulk imports all change list and count results
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+    }
+}
@@ -0,0 +1,213 @@
+package com.team12.listingservice.service;
+
+import com.team12.listingservice.model.Property;
+import com.team12.listingservice.model.PropertyChange;
+import com.team12.listingservice.model.PropertyChangePage;
+import com.team12.listingservice.model.PropertyTombstone;
+import com.team12.listingservice.reponsitory.PropertyRepository;
+import com.team12.listingservice.reponsitory.PropertyTombstoneRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Change sequence of the listing table and the change feed read from it.
+ * <p>
+ * Sequences come from the single {@code property_change_seq} row. Reserving one locks that row until the
+ * writing transaction ends, so listing writes commit one at a time in sequence order: a consumer that
+ * has read up to sequence N will never see a smaller one appear later. Writers therefore only register
+ * what they wrote; the sequences are reserved, stamped and the tombstones inserted just before the
+ * transaction commits, after all of its other statements, so the row is locked for as short as possible.
+ */
+@Service
+public class PropertyChangeService {
+
+    public static final int DEFAULT_PAGE_SIZE = 500;
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String RESERVE_SQL =
+            "UPDATE property_change_seq SET value = LAST_INSERT_ID(value + ?) WHERE id = 1";
+
+    private static final String INSERT_TOMBSTONE_SQL =
+            "INSERT INTO property_tombstone (property_id, change_seq, deleted_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManager entityManager;
+    private final PropertyRepository propertyRepository;
+    private final PropertyTombstoneRepository propertyTombstoneRepository;
+
+    public PropertyChangeService(JdbcTemplate jdbcTemplate,
+                                 EntityManager entityManager,
+                                 PropertyRepository propertyRepository,
+                                 PropertyTombstoneRepository propertyTombstoneRepository) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.entityManager = entityManager;
+        this.propertyRepository = propertyRepository;
+        this.propertyTombstoneRepository = propertyTombstoneRepository;
+    }
+
+    /**
+     * Give a property created or updated in the current transaction the next sequence when it commits.
+     * The sequence is set on {@code property} once the transaction has committed.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordWrite(Property property) {
+        pendingChanges().written.put(property.getId(), property);
+    }
+
+    /**
+     * {@link #recordWrite} for many properties, stamped with one statement
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordWrites(Collection<Property> properties) {
+        PendingChanges pending = pendingChanges();
+        for (Property property : properties) {
+            pending.written.put(property.getId(), property);
+        }
+    }
+
+    /**
+     * Leave a tombstone for a property deleted in the current transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeletion(Long propertyId) {
+        pendingChanges().deleted.add(propertyId);
+    }
+
+    private PendingChanges pendingChanges() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof PendingChanges pending) {
+                return pending;
+            }
+        }
+        PendingChanges pending = new PendingChanges();
+        TransactionSynchronizationManager.registerSynchronization(pending);
+        return pending;
+    }
+
+    /**
+     * Reserve {@code count} consecutive sequences on the current transaction's connection
+     *
+     * @return the first of them
+     */
+    long reserve(int count) {
+        Long last = jdbcTemplate.execute((ConnectionCallback<Long>) con -> {
+            try (PreparedStatement ps = con.prepareStatement(RESERVE_SQL)) {
+                ps.setInt(1, count);
+                if (ps.executeUpdate() != 1) {
+                    throw new IllegalStateException("property_change_seq is not initialized");
+                }
+            }
+            // LAST_INSERT_ID(expr) is per connection, so this reads back our own increment
+            try (Statement statement = con.createStatement();
+                 ResultSet rs = statement.executeQuery("SELECT LAST_INSERT_ID()")) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        });
+        return last - count + 1;
+    }
+
+    /**
+     * Properties written and properties deleted by one transaction, stamped right before it commits
+     */
+    private final class PendingChanges implements TransactionSynchronization {
+        private final Map<Long, Property> written = new LinkedHashMap<>();
+        private final Set<Long> deleted = new LinkedHashSet<>();
+        private long firstSeq;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // send every pending entity write first, so nothing runs between reserving and committing
+            entityManager.flush();
+            written.keySet().removeAll(deleted);
+            if (written.isEmpty() && deleted.isEmpty()) {
+                return;
+            }
+            firstSeq = reserve(written.size() + deleted.size());
+            if (!written.isEmpty()) {
+                // FIELD() is the 1-based position of the id in the list, so each row gets its own sequence
+                String ids = String.join(", ", Collections.nCopies(written.size(), "?"));
+                List<Object> args = new ArrayList<>(2 * written.size() + 1);
+                args.add(firstSeq - 1);
+                args.addAll(written.keySet());
+                args.addAll(written.keySet());
+                // updated_at = updated_at keeps the ON UPDATE clause from replacing the time JPA set
+                jdbcTemplate.update("UPDATE property SET change_seq = ? + FIELD(id, " + ids + "), updated_at = updated_at "
+                                + "WHERE id IN (" + ids + ")",
+                        args.toArray());
+            }
+            if (!deleted.isEmpty()) {
+                long seq = firstSeq + written.size();
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                List<Object[]> rows = new ArrayList<>(deleted.size());
+                for (Long propertyId : deleted) {
+                    rows.add(new Object[]{propertyId, seq++, now});
+                }
+                jdbcTemplate.batchUpdate(INSERT_TOMBSTONE_SQL, rows);
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            if (written.isEmpty()) {
+                return;
+            }
+            // the second-level cache was filled with these rows before they were stamped
+            Cache cache = entityManager.getEntityManagerFactory().getCache();
+            long seq = firstSeq;
+            for (Property property : written.values()) {
+                property.setChangeSeq(seq++);
+                cache.evict(Property.class, property.getId());
+            }
+        }
+    }
+
+    /**
+     * Properties written and deleted after {@code since}, in sequence order. A property appears once,
+     * in its current state, however often it changed. Both lists are read in one transaction, so a
+     * page is consistent even while writes go on.
+     */
+    @Transactional(readOnly = true)
+    public PropertyChangePage getChanges(long since, int limit) {
+        int size = limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+        // one extra row from each side tells whether another page exists
+        List<Property> upserts = propertyRepository.findByChangeSeqGreaterThanOrderByChangeSeq(since, Limit.of(size + 1));
+        List<PropertyTombstone> deletes = propertyTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeq(since, Limit.of(size + 1));
+
+        List<PropertyChange> changes = new ArrayList<>(Math.min(upserts.size() + deletes.size(), size));
+        int u = 0, d = 0;
+        while (changes.size() < size && (u < upserts.size() || d < deletes.size())) {
+            if (d == deletes.size()
+                    || (u < upserts.size() && upserts.get(u).getChangeSeq() < deletes.get(d).getChangeSeq())) {
+                changes.add(PropertyChange.upsert(upserts.get(u++)));
+            } else {
+                changes.add(PropertyChange.delete(deletes.get(d++)));
+            }
+        }
+        boolean hasMore = u < upserts.size() || d < deletes.size();
+        long nextSince = changes.isEmpty() ? since : changes.get(changes.size() - 1).getSeq();
+        return new PropertyChangePage(changes, nextSince, hasMore);
+    }
+}
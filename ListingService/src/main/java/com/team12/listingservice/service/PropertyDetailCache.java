@@ -0,0 +1,91 @@
+package com.team12.listingservice.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.team12.listingservice.model.PropertyDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * In-process cache of fully assembled {@link PropertyDto}s for the detail endpoint.
+ * Concurrent misses on the same id share one load. Entries are evicted after the writing transaction
+ * commits, and on every replica by {@link PropertyCacheInvalidator}.
+ * <p>
+ * Loads run on the calling thread outside any map lock and other callers wait on a future, so a
+ * virtual thread doing the database and agent lookups never pins its carrier.
+ */
+@Component
+public class PropertyDetailCache {
+
+    private final AsyncCache<Long, PropertyDto> cache;
+
+    public PropertyDetailCache(MeterRegistry meterRegistry,
+                               @Value("${listing.detail-cache.ttl:10m}") Duration ttl,
+                               @Value("${listing.detail-cache.max-size:20000}") long maxSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maxSize)
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache.synchronous(), "listing.property.detail");
+    }
+
+    /**
+     * Get the cached detail or load it; missing properties are not cached
+     */
+    public Optional<PropertyDto> get(Long id, Function<Long, PropertyDto> loader) {
+        CompletableFuture<PropertyDto> load = new CompletableFuture<>();
+        CompletableFuture<PropertyDto> future = cache.get(id, (key, executor) -> load);
+        if (future == load) {
+            try {
+                load.complete(loader.apply(id));
+            } catch (Throwable e) {
+                // waiting readers must not hang on a load that will never complete, nor find it cached
+                load.completeExceptionally(e);
+                cache.asMap().remove(id, load);
+            }
+        }
+        try {
+            return Optional.ofNullable(future.join());
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    public void evict(Long id) {
+        cache.synchronous().invalidate(id);
+    }
+
+    /**
+     * Evict once the current transaction commits, so a concurrent reader cannot re-cache the old row
+     * between the eviction and the commit
+     */
+    public void evictAfterCommit(Long id) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(id);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(id);
+            }
+        });
+    }
+}
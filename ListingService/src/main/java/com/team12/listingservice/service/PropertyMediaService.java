@@ -0,0 +1,84 @@
+package com.team12.listingservice.service;
+
+import com.team12.listingservice.model.PropertyMedia;
+import com.team12.listingservice.reponsitory.PropertyMediaRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ordered image references of properties ({@code property_media}).
+ * Only the detail page loads the full list; everything else shows the thumbnail kept on the property row,
+ * which is the first image when its reference is short enough.
+ */
+@Service
+public class PropertyMediaService {
+
+    public static final int MAX_IMAGES = 30;
+    public static final int MAX_URL_LENGTH = 2550;
+    public static final int MAX_THUMBNAIL_LENGTH = 512;
+
+    private final PropertyMediaRepository propertyMediaRepository;
+
+    public PropertyMediaService(PropertyMediaRepository propertyMediaRepository) {
+        this.propertyMediaRepository = propertyMediaRepository;
+    }
+
+    public List<String> getImages(Long propertyId) {
+        return propertyMediaRepository.findUrlsByPropertyId(propertyId);
+    }
+
+    /**
+     * Replace all images of a property with {@code urls}, in that order
+     *
+     * @param urls normalized image references, see {@link #normalize(List)}
+     */
+    @Transactional
+    public void replaceImages(Long propertyId, List<String> urls) {
+        propertyMediaRepository.deleteByPropertyId(propertyId);
+        List<PropertyMedia> media = new ArrayList<>(urls.size());
+        for (int i = 0; i < urls.size(); i++) {
+            media.add(new PropertyMedia(propertyId, i, urls.get(i)));
+        }
+        propertyMediaRepository.saveAll(media);
+    }
+
+    /**
+     * Trim the references and drop blank ones
+     *
+     * @return null when {@code urls} is null (images not sent)
+     * @throws IllegalArgumentException if there are too many images or a reference is too long
+     */
+    public static List<String> normalize(List<String> urls) {
+        if (urls == null) {
+            return null;
+        }
+        List<String> normalized = new ArrayList<>(urls.size());
+        for (String url : urls) {
+            if (url == null || url.isBlank()) {
+                continue;
+            }
+            String trimmed = url.trim();
+            if (trimmed.length() > MAX_URL_LENGTH) {
+                throw new IllegalArgumentException("image reference exceeds " + MAX_URL_LENGTH + " characters");
+            }
+            normalized.add(trimmed);
+        }
+        if (normalized.size() > MAX_IMAGES) {
+            throw new IllegalArgumentException("at most " + MAX_IMAGES + " images are allowed");
+        }
+        return normalized;
+    }
+
+    /**
+     * Thumbnail for the property row: the first image, unless its reference does not fit the column
+     */
+    public static String thumbnailOf(List<String> urls) {
+        if (urls == null || urls.isEmpty() || urls.get(0).length() > MAX_THUMBNAIL_LENGTH) {
+            return null;
+        }
+        return urls.get(0);
+    }
+}
@@ -1,16 +1,18 @@
 package com.team12.listingservice.service;
 
-import com.team12.clients.notification.NotificationClient;
-import com.team12.clients.notification.dto.NotificationRequest;
-import com.team12.clients.notification.dto.NotificationType;
-import com.team12.clients.user.UserClient;
-import com.team12.clients.userAction.UserActionClient;
+import com.team12.listingservice.model.CatalogVersion;
+import com.team12.listingservice.model.GeoLocation;
 import com.team12.listingservice.model.Property;
 import com.team12.listingservice.model.PropertyDto;
+import com.team12.listingservice.model.PropertyPage;
+import com.team12.listingservice.model.PropertyPatch;
+import com.team12.listingservice.model.PropertySummary;
 import com.team12.listingservice.reponsitory.PropertyRepository;
 import com.team12.listingservice.service.DataSyncService;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,41 +27,120 @@ import static com.team12.listingservice.exception.PropertyExceptions.*;
 @AllArgsConstructor
 public class PropertyService {
 
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    public static final double MAX_NEARBY_RADIUS_METERS = 50_000;
+    public static final int RESYNC_BATCH_SIZE = 500;
+
+    private static final double METERS_PER_DEGREE = 111_320;
+
     private final PropertyRepository propertyRepository;
-    private final NotificationClient notificationClient;
-    private final UserActionClient userActionClient;
-    private final UserClient userClient;
+    private final AgentInfoService agentInfoService;
     private final DataSyncService dataSyncService;
+    private final PropertyDetailCache propertyDetailCache;
+    private final PropertyMediaService propertyMediaService;
+    private final PropertyChangeService propertyChangeService;
+    private final PropertyStatsService propertyStatsService;
 
     public List<PropertyDto> getAllPropertiesWithAgentInfo() {
-        List<Property> all = propertyRepository.findAll();
-        List<PropertyDto> dtos = new ArrayList<>(all.size());
-
-        for (Property p : all) {
-            Long agentId = Long.valueOf(p.getAgentId());
-            List<String> agentInfo = userClient.getAgentInfoById(agentId).getBody();
-            PropertyDto dto = new PropertyDto();
-            dto.setProperty(p);
-            dto.setUsername(agentInfo.get(0));
-            dto.setPhoneNumber(agentInfo.get(1));
-            dtos.add(dto);
+        return toDtos(propertyRepository.findAll());
+    }
+
+    public PropertyPage<PropertyDto> getPropertyPage(Long after, int limit, Boolean available, String agentId) {
+        int size = clampPageSize(limit);
+        // Fetch one extra row to learn whether another page exists without a COUNT
+        List<Property> rows = propertyRepository.findPageAfter(
+                after == null ? 0L : after, available, agentId, Limit.of(size + 1));
+        boolean hasMore = rows.size() > size;
+        List<Property> page = hasMore ? rows.subList(0, size) : rows;
+        return new PropertyPage<>(toDtos(page), hasMore ? page.get(page.size() - 1).getId() : null);
+    }
+
+    public PropertyPage<PropertySummary> getPropertySummaryPage(Long after, int limit, Boolean available, String agentId) {
+        int size = clampPageSize(limit);
+        List<PropertySummary> rows = propertyRepository.findSummaryPageAfter(
+                after == null ? 0L : after, available, agentId, Limit.of(size + 1));
+        boolean hasMore = rows.size() > size;
+        List<PropertySummary> page = hasMore ? rows.subList(0, size) : rows;
+        return new PropertyPage<>(page, hasMore ? page.get(page.size() - 1).getId() : null);
+    }
+
+    /**
+     * Properties within {@code radiusMeters} of (lat, lng), nearest first
+     */
+    public List<PropertyDto> getNearbyProperties(double lat, double lng, double radiusMeters, int limit,
+                                                 Boolean available) {
+        double radius = Math.min(radiusMeters, MAX_NEARBY_RADIUS_METERS);
+        List<Property> nearby = propertyRepository.findNearby(
+                lat, lng, radius, boundingBox(lat, lng, radius), available, clampPageSize(limit));
+        return toDtos(nearby);
+    }
+
+    /**
+     * WKT polygon (long-lat order) enclosing the circle; may be clipped at the poles and the antimeridian
+     */
+    static String boundingBox(double lat, double lng, double radiusMeters) {
+        double latDelta = radiusMeters / METERS_PER_DEGREE;
+        double lngDelta = latDelta / Math.max(Math.cos(Math.toRadians(lat)), 0.01);
+        double minLat = Math.max(lat - latDelta, -90), maxLat = Math.min(lat + latDelta, 90);
+        double minLng = Math.max(lng - lngDelta, -180), maxLng = Math.min(lng + lngDelta, 180);
+        return String.format(Locale.ROOT, "POLYGON((%f %f, %f %f, %f %f, %f %f, %f %f))",
+                minLng, minLat, maxLng, minLat, maxLng, maxLat, minLng, maxLat, minLng, minLat);
+    }
+
+    private List<PropertyDto> toDtos(List<Property> properties) {
+        Set<String> agentIds = new HashSet<>();
+        for (Property p : properties) {
+            agentIds.add(p.getAgentId());
         }
+        Map<String, List<String>> agentInfo = agentInfoService.getAgentInfo(agentIds);
 
+        List<PropertyDto> dtos = new ArrayList<>(properties.size());
+        for (Property p : properties) {
+            dtos.add(toDto(p, agentInfo.get(p.getAgentId())));
+        }
         return dtos;
     }
 
+    private static int clampPageSize(int limit) {
+        if (limit <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(limit, MAX_PAGE_SIZE);
+    }
+
     public Optional<PropertyDto> getPropertyById(Long id) {
-        Property property = propertyRepository.findById(id).orElse(null);
-        if (property != null) {
-            Long agentId = Long.valueOf(property.getAgentId());
-            List<String> agentInfo = userClient.getAgentInfoById(agentId).getBody();
-            PropertyDto dto = new PropertyDto();
-            dto.setProperty(property);
+        return propertyDetailCache.get(id, key -> propertyRepository.findById(key)
+                .map(property -> toDto(property, agentInfoService.getAgentInfo(property.getAgentId())))
+                .orElse(null));
+    }
+
+    /**
+     * Image references of a property in display order
+     */
+    public List<String> getPropertyImages(Long id) {
+        return propertyMediaService.getImages(id);
+    }
+
+    /**
+     * Last modification time of a property, without loading it
+     */
+    public Optional<LocalDateTime> getPropertyLastModified(Long id) {
+        return propertyRepository.findUpdatedAtById(id);
+    }
+
+    public CatalogVersion getCatalogVersion() {
+        return propertyRepository.findCatalogVersion();
+    }
+
+    private PropertyDto toDto(Property property, List<String> agentInfo) {
+        PropertyDto dto = new PropertyDto();
+        dto.setProperty(property);
+        if (agentInfo != null) {
             dto.setUsername(agentInfo.get(0));
             dto.setPhoneNumber(agentInfo.get(1));
-            return Optional.of(dto);
         }
-        return Optional.empty();
+        return dto;
     }
 
     @Transactional
@@ -67,8 +148,16 @@ public class PropertyService {
         try {
             log.info("Creating new property: {}", property.getTitle());
             property.setPostedAt(LocalDateTime.now());
+            property.setVersion(null);
+            List<String> images = PropertyMediaService.normalize(property.getRequestedImages());
+            property.setThumbnail(PropertyMediaService.thumbnailOf(images));
             Property savedProperty = propertyRepository.save(property);
+            propertyChangeService.recordWrite(savedProperty);
+            if (images != null && !images.isEmpty()) {
+                propertyMediaService.replaceImages(savedProperty.getId(), images);
+            }
             log.info("Property saved to database with ID: {}", savedProperty.getId());
+            propertyStatsService.record(null, PropertyStatsService.Counted.of(savedProperty));
             dataSyncService.syncPropertyToElasticsearch("create", savedProperty);
             return savedProperty;
         } catch (Exception e) {
@@ -83,14 +172,25 @@ public class PropertyService {
             log.info("Updating property with ID: {}", id);
 
             return propertyRepository.findById(id).map(existing -> {
+                if (property.getVersion() != null && !property.getVersion().equals(existing.getVersion())) {
+                    throw new PropertyConflictException(id, property.getVersion());
+                }
                 BigDecimal oldPrice = existing.getPrice();
                 BigDecimal newPrice = property.getPrice();
+                PropertyStatsService.Counted before = PropertyStatsService.Counted.of(existing);
 
                 existing.setTitle(property.getTitle());
                 existing.setDescription(property.getDescription());
                 existing.setPrice(newPrice);
                 existing.setAddress(property.getAddress());
-                existing.setImg(property.getImg());
+                // images are not part of the representation clients read back, so absent means unchanged
+                List<String> images = PropertyMediaService.normalize(property.getRequestedImages());
+                if (images != null) {
+                    propertyMediaService.replaceImages(id, images);
+                    existing.setThumbnail(PropertyMediaService.thumbnailOf(images));
+                    // bump version and updated_at even when only a later image changed
+                    existing.setUpdatedAt(LocalDateTime.now());
+                }
                 existing.setLocation(property.getLocation());
                 existing.setNumBedrooms(property.getNumBedrooms());
                 existing.setNumBathrooms(property.getNumBathrooms());
@@ -98,24 +198,18 @@ public class PropertyService {
                 existing.setAgentId(property.getAgentId());
 
                 Property updatedProperty = propertyRepository.save(existing);
+                propertyChangeService.recordWrite(updatedProperty);
                 log.info("Property updated in database: {}", updatedProperty.getId());
+                propertyStatsService.record(before, PropertyStatsService.Counted.of(updatedProperty));
+
+                dataSyncService.syncPropertyToElasticsearch("update", updatedProperty);
+                propertyDetailCache.evictAfterCommit(id);
 
                 if (oldPrice != null && newPrice != null && oldPrice.compareTo(newPrice) != 0) {
-                    List<Long> userId = userActionClient.getPriceAlertUsers(id);
-                    for (Long uid : userId) {
-                        NotificationRequest notificationRequest = new NotificationRequest(
-                                uid.toString(),
-                                "Property " + existing.getTitle() +
-                                        " price changed from " + oldPrice +
-                                        " to " + newPrice,
-                                NotificationType.SYSTEM
-                        );
-                        notificationClient.sendNotification(notificationRequest);
-                    }
+                    // Subscribers are notified by NotificationService once this transaction commits
+                    dataSyncService.publishPriceChanged(updatedProperty, oldPrice);
                 }
 
-                dataSyncService.syncPropertyToElasticsearch("update", updatedProperty);
-
                 return updatedProperty;
 
             }).orElseThrow(() -> {
@@ -123,32 +217,172 @@ public class PropertyService {
                 return new PropertyNotFoundException(id);
             });
 
+        } catch (PropertyConflictException | PropertyNotFoundException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error updating property: {}", id, e);
             throw new PropertyCreateException("Failed to update property", e);
         }
     }
 
+    /**
+     * Update only the fields present in the patch, provided the property is still at the version the
+     * client read. Only fields whose value actually changes are written and sent to the search index.
+     *
+     * @throws PropertyNotFoundException if the property does not exist
+     * @throws PropertyConflictException if the property has been modified since {@code patch.version}
+     */
+    @Transactional
+    public Property patchProperty(Long id, PropertyPatch patch) {
+        if (patch.getVersion() == null) {
+            throw new IllegalArgumentException("version is required");
+        }
+        Property existing = propertyRepository.findById(id).orElseThrow(() -> new PropertyNotFoundException(id));
+        if (!patch.getVersion().equals(existing.getVersion())) {
+            throw new PropertyConflictException(id, patch.getVersion());
+        }
+        Map<String, Object> changes = patch.changesAgainst(existing);
+        List<String> images = PropertyMediaService.normalize(patch.getImages());
+        boolean imagesChanged = images != null && !images.equals(propertyMediaService.getImages(id));
+        if (imagesChanged) {
+            // always written, so the version moves even when only a later image changed
+            changes.put("thumbnail", PropertyMediaService.thumbnailOf(images));
+        }
+        if (changes.isEmpty()) {
+            return existing;
+        }
+        BigDecimal oldPrice = existing.getPrice();
+        PropertyStatsService.Counted before = PropertyStatsService.Counted.of(existing);
+
+        // Flushed as UPDATE ... WHERE version = ?, so an edit committed since the read above still wins.
+        // Going through the managed entity keeps the second-level cache current for this row only.
+        PropertyPatch.apply(changes, existing);
+        Property updated;
+        try {
+            updated = propertyRepository.saveAndFlush(existing);
+        } catch (OptimisticLockingFailureException e) {
+            throw new PropertyConflictException(id, patch.getVersion());
+        }
+        propertyChangeService.recordWrite(updated);
+        if (imagesChanged) {
+            propertyMediaService.replaceImages(id, images);
+        }
+        log.info("Property {} patched to version {}: {}", id, updated.getVersion(), changes.keySet());
+        propertyStatsService.record(before, PropertyStatsService.Counted.of(updated));
+
+        dataSyncService.syncPropertyPatch(updated, changes.keySet());
+        propertyDetailCache.evictAfterCommit(id);
+        if (changes.containsKey("price")) {
+            dataSyncService.publishPriceChanged(updated, oldPrice);
+        }
+        return updated;
+    }
+
     @Transactional
     public void deleteProperty(Long id) {
         try {
             log.info("Deleting property with ID: {}", id);
 
-            if (!propertyRepository.existsById(id)) {
+            Property existing = propertyRepository.findById(id).orElseThrow(() -> {
                 log.warn("Property not found for deletion: {}", id);
-                throw new PropertyNotFoundException(id);
-            }
+                return new PropertyNotFoundException(id);
+            });
 
             propertyRepository.deleteById(id);
+            propertyChangeService.recordDeletion(id);
+            propertyStatsService.record(PropertyStatsService.Counted.of(existing), null);
             log.info("Property deleted from database: {}", id);
 
             dataSyncService.syncPropertyDeletion(id);
+            propertyDetailCache.evictAfterCommit(id);
         } catch (Exception e) {
             log.error("Error deleting property: {}", id, e);
             throw new PropertyDeleteException("Failed to delete property", e);
         }
     }
 
+    /**
+     * Re-publish the stored state of a property to the search index without modifying it.
+     * The write is made visible to searches before SearchService acknowledges it.
+     */
+    public boolean resyncProperty(Long id) {
+        return propertyRepository.findById(id)
+                .map(property -> {
+                    dataSyncService.syncPropertyNow(property);
+                    return true;
+                })
+                .orElse(false);
+    }
+
+    /**
+     * Read-only re-sync of the given ids in batches of {@link #RESYNC_BATCH_SIZE}; nothing is written
+     * and no notifications are sent. Ids that do not exist are reported back.
+     */
+    public Map<String, Object> resyncProperties(Collection<Long> ids) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<Long> missing = new ArrayList<>();
+        long published = 0;
+        int batches = 0;
+
+        for (int from = 0; from < distinct.size(); from += RESYNC_BATCH_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + RESYNC_BATCH_SIZE, distinct.size()));
+            List<Property> found = propertyRepository.findAllById(chunk);
+            if (found.size() < chunk.size()) {
+                Set<Long> foundIds = new HashSet<>();
+                for (Property p : found) {
+                    foundIds.add(p.getId());
+                }
+                for (Long id : chunk) {
+                    if (!foundIds.contains(id)) {
+                        missing.add(id);
+                    }
+                }
+            }
+            if (!found.isEmpty()) {
+                dataSyncService.syncPropertiesBulk(found);
+                published += found.size();
+                batches++;
+            }
+        }
+
+        log.info("Re-synced {} of {} requested properties in {} batches", published, distinct.size(), batches);
+        return Map.of(
+                "requested", distinct.size(),
+                "published", published,
+                "batches", batches,
+                "missingIds", missing
+        );
+    }
+
+    /**
+     * Read-only re-sync of every property matching the filter (null matches all), in keyset order
+     */
+    public Map<String, Object> resyncProperties(Boolean available, String agentId) {
+        long published = 0;
+        int batches = 0;
+
+        long after = 0L;
+        while (true) {
+            List<Property> page = propertyRepository.findPageAfter(after, available, agentId, Limit.of(RESYNC_BATCH_SIZE));
+            if (page.isEmpty()) {
+                break;
+            }
+            dataSyncService.syncPropertiesBulk(page);
+            published += page.size();
+            batches++;
+            if (page.size() < RESYNC_BATCH_SIZE) {
+                break;
+            }
+            after = page.get(page.size() - 1).getId();
+        }
+
+        log.info("Re-synced {} properties (available={}, agentId={}) in {} batches", published, available, agentId, batches);
+        return Map.of(
+                "published", published,
+                "batches", batches
+        );
+    }
+
     public Property addProperty(Property property) {
         return property;
     }
@@ -164,14 +398,57 @@ public class PropertyService {
         log.info("Bulk sync completed");
     }
 
-    public Map<String, Object> getPropertyStatistics() {
-        long total = propertyRepository.count();
-        long available = propertyRepository.countByAvailableTrue();
+    /**
+     * Publish the coordinates of the given properties in batches so SearchService can fill in documents
+     * indexed without a location. SearchService sends the ids of exactly those documents, so the run is
+     * proportional to the gap rather than to the catalog. Returns counts and throughput of the run.
+     */
+    public Map<String, Object> backfillSearchLocations(Collection<Long> ids) {
+        long start = System.nanoTime();
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        long published = 0;
+        int batches = 0;
 
+        for (int from = 0; from < distinct.size(); from += MAX_PAGE_SIZE) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + MAX_PAGE_SIZE, distinct.size()));
+            List<PropertySummary> located = new ArrayList<>(chunk.size());
+            for (PropertySummary summary : propertyRepository.findSummariesByIdIn(chunk)) {
+                GeoLocation location = summary.getLocation();
+                if (location != null && location.getLatitude() != null && location.getLongitude() != null) {
+                    located.add(summary);
+                }
+            }
+            if (!located.isEmpty()) {
+                dataSyncService.syncPropertyLocations(located);
+                published += located.size();
+                batches++;
+            }
+        }
+
+        long elapsedMs = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        log.info("Location backfill published {} of {} requested properties in {} batches ({} ms)",
+                published, distinct.size(), batches, elapsedMs);
         return Map.of(
-                "totalProperties", total,
-                "availableProperties", available,
-                "unavailableProperties", total - available
+                "requestedProperties", distinct.size(),
+                "publishedProperties", published,
+                "batches", batches,
+                "elapsedMs", elapsedMs,
+                "propertiesPerSecond", published * 1000 / elapsedMs
         );
     }
+
+    /**
+     * Materialized counts, see {@link PropertyStatsService}
+     */
+    public Map<String, Object> getPropertyStatistics() {
+        return propertyStatsService.getStatistics();
+    }
+
+    public Map<String, Long> getAgentStatistics(String agentId) {
+        return propertyStatsService.getAgentStatistics(agentId);
+    }
+
+    public Map<String, Object> reconcileStatistics() {
+        return propertyStatsService.reconcile();
+    }
 }
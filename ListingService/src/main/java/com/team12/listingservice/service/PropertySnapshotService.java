@@ -0,0 +1,75 @@
+package com.team12.listingservice.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.team12.listingservice.model.PropertySummary;
+import com.team12.listingservice.reponsitory.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writes the catalog as NDJSON (one property summary per line) for downstream consumers.
+ * Rows are streamed from MySQL and serialized straight to the response, so neither side holds the
+ * catalog in memory. Summaries carry no agent info and no description.
+ */
+@Slf4j
+@Service
+public class PropertySnapshotService {
+
+    /**
+     * How far the as-of time of a snapshot is moved back. A row stamped just before the read started
+     * may commit after it; re-sending it in the next delta is harmless, missing it is not.
+     */
+    static final Duration DELTA_OVERLAP = Duration.ofMinutes(1);
+
+    private final PropertyRepository propertyRepository;
+    private final ObjectWriter writer;
+
+    public PropertySnapshotService(PropertyRepository propertyRepository, ObjectMapper objectMapper) {
+        this.propertyRepository = propertyRepository;
+        this.writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Value to pass as {@code since} on the next call, taken before the snapshot is read
+     */
+    public LocalDateTime nextSince() {
+        return LocalDateTime.now().minus(DELTA_OVERLAP);
+    }
+
+    /**
+     * Write all summaries changed after {@code since} (the full catalog when null) to {@code out}.
+     * Deletions are not part of a delta; consumers that need them read {@code GET /listing/changes}.
+     *
+     * @return number of rows written
+     */
+    @Transactional(readOnly = true)
+    public long writeSnapshot(LocalDateTime since, Boolean available, OutputStream out) throws IOException {
+        long written = 0;
+        try (Stream<PropertySummary> rows = propertyRepository.streamSummaries(since, available);
+             JsonGenerator generator = writer.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // every line ends with its own newline instead of the default space between root values
+            generator.setRootValueSeparator(null);
+            Iterator<PropertySummary> it = rows.iterator();
+            while (it.hasNext()) {
+                writer.writeValue(generator, it.next());
+                generator.writeRaw('\n');
+                written++;
+            }
+            generator.flush();
+        }
+        log.info("Streamed property snapshot: {} rows (since={}, available={})", written, since, available);
+        return written;
+    }
+}
@@ -0,0 +1,290 @@
+package com.team12.listingservice.service;
+
+import com.team12.listingservice.model.Property;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+/**
+ * Listing counts kept in {@code property_stats}: overall and per agent, bedroom count and price band,
+ * each as total and available. Writers adjust them in the listing's own transaction, so reads are a
+ * handful of primary key rows instead of a count over the table.
+ * <p>
+ * Writes that bypass this service (older instances during a rollout, manual SQL) make the counts drift.
+ * {@link #reconcile()} recounts from {@code property} and corrects them.
+ */
+@Slf4j
+@Service
+public class PropertyStatsService {
+
+    static final String ALL = "all";
+    static final String AGENT = "agent";
+    static final String BEDROOMS = "bedrooms";
+    static final String PRICE_BAND = "price_band";
+
+    /**
+     * Exclusive upper bounds of the price bands; the last band is open-ended
+     */
+    static final int[] PRICE_BAND_LIMITS = {1000, 2000, 3000, 5000, 10000};
+    static final List<String> PRICE_BANDS;
+    private static final String PRICE_BAND_SQL;
+
+    static {
+        List<String> bands = new ArrayList<>();
+        StringBuilder sql = new StringBuilder("CASE");
+        int lower = 0;
+        for (int limit : PRICE_BAND_LIMITS) {
+            String band = lower + "-" + limit;
+            bands.add(band);
+            sql.append(" WHEN price < ").append(limit).append(" THEN '").append(band).append('\'');
+            lower = limit;
+        }
+        String last = lower + "+";
+        bands.add(last);
+        sql.append(" ELSE '").append(last).append("' END");
+        PRICE_BANDS = List.copyOf(bands);
+        PRICE_BAND_SQL = sql.toString();
+    }
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO property_stats (dimension, bucket, total, available) VALUES (?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE total = total + VALUES(total), available = available + VALUES(available)";
+
+    private static final String RECONCILE_LOCK = "listing.property_stats.reconcile";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reconcileTransaction;
+
+    public PropertyStatsService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reconcileTransaction = new TransactionTemplate(transactionManager);
+        // every read of the recount sees the same committed state
+        this.reconcileTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    /**
+     * The attributes listings are counted by, captured before a write changes them
+     */
+    public record Counted(String agentId, int numBedrooms, BigDecimal price, boolean available) {
+        public static Counted of(Property property) {
+            return new Counted(property.getAgentId(), property.getNumBedrooms(), property.getPrice(), property.isAvailable());
+        }
+    }
+
+    public static String priceBand(BigDecimal price) {
+        for (int i = 0; i < PRICE_BAND_LIMITS.length; i++) {
+            if (price.compareTo(BigDecimal.valueOf(PRICE_BAND_LIMITS[i])) < 0) {
+                return PRICE_BANDS.get(i);
+            }
+        }
+        return PRICE_BANDS.get(PRICE_BANDS.size() - 1);
+    }
+
+    /**
+     * Count a write in the current transaction
+     *
+     * @param before state before the write; null for a create
+     * @param after  state after the write; null for a delete
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(Counted before, Counted after) {
+        Map<Bucket, long[]> deltas = new TreeMap<>();
+        if (before != null) {
+            add(deltas, before, -1);
+        }
+        if (after != null) {
+            add(deltas, after, 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * Count newly inserted listings in the current transaction
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordCreated(Collection<Property> properties) {
+        Map<Bucket, long[]> deltas = new TreeMap<>();
+        for (Property property : properties) {
+            add(deltas, Counted.of(property), 1);
+        }
+        apply(deltas);
+    }
+
+    private static void add(Map<Bucket, long[]> deltas, Counted counted, int sign) {
+        add(deltas, new Bucket(ALL, ""), sign, counted.available());
+        add(deltas, new Bucket(AGENT, counted.agentId()), sign, counted.available());
+        add(deltas, new Bucket(BEDROOMS, String.valueOf(counted.numBedrooms())), sign, counted.available());
+        add(deltas, new Bucket(PRICE_BAND, priceBand(counted.price())), sign, counted.available());
+    }
+
+    private static void add(Map<Bucket, long[]> counts, Bucket bucket, long total, boolean available) {
+        long[] count = counts.computeIfAbsent(bucket, b -> new long[2]);
+        count[0] += total;
+        count[1] += available ? total : 0;
+    }
+
+    /**
+     * Add the deltas to the stored counts; rows are touched in key order so concurrent writers cannot deadlock
+     */
+    private void apply(Map<Bucket, long[]> deltas) {
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((bucket, delta) -> {
+            if (delta[0] != 0 || delta[1] != 0) {
+                rows.add(new Object[]{bucket.dimension(), bucket.bucket(), delta[0], delta[1]});
+            }
+        });
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+        }
+    }
+
+    /**
+     * Overall counts with breakdowns by bedroom count and price band
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStatistics() {
+        long total = 0, available = 0;
+        Map<Integer, Map<String, Long>> byBedrooms = new TreeMap<>();
+        Map<String, Map<String, Long>> byPriceBand = new LinkedHashMap<>();
+        for (String band : PRICE_BANDS) {
+            byPriceBand.put(band, counts(0, 0));
+        }
+        for (Map<String, Object> row : jdbcTemplate.queryForList(
+                "SELECT dimension, bucket, total, available FROM property_stats WHERE dimension IN (?, ?, ?)",
+                ALL, BEDROOMS, PRICE_BAND)) {
+            String bucket = (String) row.get("bucket");
+            long rowTotal = ((Number) row.get("total")).longValue();
+            long rowAvailable = ((Number) row.get("available")).longValue();
+            switch ((String) row.get("dimension")) {
+                case ALL -> {
+                    total = rowTotal;
+                    available = rowAvailable;
+                }
+                case BEDROOMS -> {
+                    if (rowTotal != 0) {
+                        byBedrooms.put(Integer.valueOf(bucket), counts(rowTotal, rowAvailable));
+                    }
+                }
+                default -> byPriceBand.put(bucket, counts(rowTotal, rowAvailable));
+            }
+        }
+        return Map.of(
+                "totalProperties", total,
+                "availableProperties", available,
+                "unavailableProperties", total - available,
+                "byBedrooms", byBedrooms,
+                "byPriceBand", byPriceBand
+        );
+    }
+
+    /**
+     * Counts of one agent's listings
+     */
+    @Transactional(readOnly = true)
+    public Map<String, Long> getAgentStatistics(String agentId) {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT total, available FROM property_stats WHERE dimension = ? AND bucket = ?", AGENT, agentId);
+        if (rows.isEmpty()) {
+            return counts(0, 0);
+        }
+        return counts(((Number) rows.get(0).get("total")).longValue(), ((Number) rows.get(0).get("available")).longValue());
+    }
+
+    private static Map<String, Long> counts(long total, long available) {
+        return Map.of("totalProperties", total, "availableProperties", available);
+    }
+
+    @Scheduled(fixedDelayString = "${listing.stats.reconcile-interval-ms:3600000}",
+            initialDelayString = "${listing.stats.reconcile-initial-delay-ms:300000}")
+    public void scheduledReconcile() {
+        try {
+            reconcile();
+        } catch (Exception e) {
+            log.error("Property stats reconciliation failed", e);
+        }
+    }
+
+    /**
+     * Recount every bucket and correct the stored counts. The recount and the stored counts are read from
+     * one snapshot, so their difference is exactly the drift; it is then added like any other delta, which
+     * leaves the increments of writes committed meanwhile intact. Writers are never blocked. A MySQL named
+     * lock keeps other instances from applying the same correction twice.
+     *
+     * @return buckets checked and corrected, or {@code skipped} when another instance is reconciling
+     */
+    public Map<String, Object> reconcile() {
+        long start = System.nanoTime();
+        return reconcileTransaction.execute(status -> {
+            Integer locked = jdbcTemplate.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, RECONCILE_LOCK);
+            if (locked == null || locked != 1) {
+                log.info("Property stats reconciliation is running elsewhere; skipping");
+                return Map.<String, Object>of("skipped", true);
+            }
+            try {
+                Map<Bucket, long[]> drift = new TreeMap<>();
+                for (Map<String, Object> row : jdbcTemplate.queryForList(
+                        "SELECT agent_id, COUNT(*) AS total, SUM(available = 1) AS available FROM property GROUP BY agent_id")) {
+                    addCount(drift, new Bucket(AGENT, (String) row.get("agent_id")), row, 1);
+                }
+                for (Map<String, Object> row : jdbcTemplate.queryForList(
+                        "SELECT num_bedrooms, " + PRICE_BAND_SQL + " AS band, COUNT(*) AS total, SUM(available = 1) AS available " +
+                        "FROM property GROUP BY num_bedrooms, band")) {
+                    addCount(drift, new Bucket(ALL, ""), row, 1);
+                    addCount(drift, new Bucket(BEDROOMS, String.valueOf(row.get("num_bedrooms"))), row, 1);
+                    addCount(drift, new Bucket(PRICE_BAND, (String) row.get("band")), row, 1);
+                }
+                int checked = drift.size();
+                for (Map<String, Object> row : jdbcTemplate.queryForList(
+                        "SELECT dimension, bucket, total, available FROM property_stats")) {
+                    addCount(drift, new Bucket((String) row.get("dimension"), (String) row.get("bucket")), row, -1);
+                }
+                drift.values().removeIf(delta -> delta[0] == 0 && delta[1] == 0);
+
+                apply(drift);
+                jdbcTemplate.update("DELETE FROM property_stats WHERE total = 0 AND available = 0 AND dimension <> ?", ALL);
+                long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+                if (drift.isEmpty()) {
+                    log.info("Property stats reconciled: {} buckets, no drift ({} ms)", checked, elapsedMs);
+                } else {
+                    log.warn("Property stats reconciled: corrected {} of {} buckets {} ({} ms)",
+                            drift.size(), checked, drift.keySet(), elapsedMs);
+                }
+                return Map.<String, Object>of(
+                        "checkedBuckets", checked,
+                        "correctedBuckets", drift.size(),
+                        "elapsedMs", elapsedMs
+                );
+            } finally {
+                jdbcTemplate.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, RECONCILE_LOCK);
+            }
+        });
+    }
+
+    private static void addCount(Map<Bucket, long[]> counts, Bucket bucket, Map<String, Object> row, int sign) {
+        long[] count = counts.computeIfAbsent(bucket, b -> new long[2]);
+        count[0] += sign * ((Number) row.get("total")).longValue();
+        count[1] += sign * ((Number) row.get("available")).longValue();
+    }
+
+    record Bucket(String dimension, String bucket) implements Comparable<Bucket> {
+        @Override
+        public int compareTo(Bucket other) {
+            int byDimension = dimension.compareTo(other.dimension);
+            return byDimension != 0 ? byDimension : bucket.compareTo(other.bucket);
+        }
+
+        @Override
+        public String toString() {
+            return dimension + ":" + bucket;
+        }
+    }
+}
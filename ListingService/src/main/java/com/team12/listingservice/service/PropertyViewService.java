@@ -0,0 +1,100 @@
+package com.team12.listingservice.service;
+
+import com.team12.clients.userAction.UserActionClient;
+import com.team12.listingservice.model.PropertyDto;
+import com.team12.listingservice.model.PropertyView;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Assembles the detail page view. The listing (with its agent, from the detail cache) and the user's
+ * favorite and price-alert flags are fetched at the same time on virtual threads, so the page costs the
+ * slowest of the three instead of their sum.
+ * <p>
+ * The listing is required and fails the view when it times out. The flags are optional: on a timeout or
+ * error they are left null and the rest of the view is still returned.
+ */
+@Slf4j
+@Service
+public class PropertyViewService {
+
+    private final PropertyService propertyService;
+    private final UserActionClient userActionClient;
+    private final Duration propertyTimeout;
+    private final Duration userActionTimeout;
+    // tasks run with the caller's security context so Feign relays its token
+    private final ExecutorService executor =
+            new DelegatingSecurityContextExecutorService(Executors.newVirtualThreadPerTaskExecutor());
+
+    public PropertyViewService(PropertyService propertyService,
+                               UserActionClient userActionClient,
+                               @Value("${listing.view.property-timeout:2s}") Duration propertyTimeout,
+                               @Value("${listing.view.user-action-timeout:500ms}") Duration userActionTimeout) {
+        this.propertyService = propertyService;
+        this.userActionClient = userActionClient;
+        this.propertyTimeout = propertyTimeout;
+        this.userActionTimeout = userActionTimeout;
+    }
+
+    /**
+     * @param id     property id
+     * @param userId internal user id for the favorite and price-alert flags; null for anonymous visitors
+     * @return the view, or empty if the property does not exist
+     * @throws java.util.concurrent.TimeoutException wrapped in a CompletionException when the listing
+     *                                               takes longer than the property timeout
+     */
+    public Optional<PropertyView> getPropertyView(Long id, Long userId) {
+        CompletableFuture<Optional<PropertyDto>> listing = CompletableFuture
+                .supplyAsync(() -> propertyService.getPropertyById(id), executor)
+                .orTimeout(propertyTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        CompletableFuture<Boolean> favorited = userId == null
+                ? CompletableFuture.completedFuture(null)
+                : optional("favorite status", () -> {
+                    Map<String, Boolean> status = userActionClient.checkFavoriteStatus(String.valueOf(userId), id);
+                    return status == null ? null : status.get("isFavorited");
+                });
+        CompletableFuture<Boolean> priceAlert = userId == null
+                ? CompletableFuture.completedFuture(null)
+                : optional("price alert status", () -> userActionClient.isPriceAlertEnabled(id, userId));
+
+        Optional<PropertyDto> dto = listing.join();
+        if (dto.isEmpty()) {
+            return Optional.empty();
+        }
+        PropertyView view = new PropertyView();
+        view.setProperty(dto.get().getProperty());
+        view.setUsername(dto.get().getUsername());
+        view.setPhoneNumber(dto.get().getPhoneNumber());
+        view.setFavorited(favorited.join());
+        view.setPriceAlert(priceAlert.join());
+        return Optional.of(view);
+    }
+
+    private CompletableFuture<Boolean> optional(String what, Supplier<Boolean> call) {
+        return CompletableFuture.supplyAsync(call, executor)
+                .completeOnTimeout(null, userActionTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    log.warn("Failed to load {}; leaving it out of the view: {}", what, cause.getMessage());
+                    return null;
+                });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
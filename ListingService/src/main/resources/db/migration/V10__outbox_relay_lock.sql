@@ -0,0 +1,9 @@
+-- Held (FOR UPDATE) by the outbox relay that is publishing, until its batch commits. Only one instance
+-- relays at a time, so events of a property are published in the order they were written.
+
+CREATE TABLE IF NOT EXISTS outbox_relay_lock (
+    id TINYINT NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+INSERT IGNORE INTO outbox_relay_lock (id) VALUES (1);
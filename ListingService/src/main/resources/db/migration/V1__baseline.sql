@@ -0,0 +1,30 @@
+-- Schema as previously created by ddl-auto: update. IF NOT EXISTS lets this run against
+-- databases that already have the tables, since the smr schema is shared with other services.
+
+CREATE TABLE IF NOT EXISTS property (
+    id            BIGINT         NOT NULL AUTO_INCREMENT,
+    title         VARCHAR(100)   NOT NULL,
+    description   TEXT           NOT NULL,
+    price         DECIMAL(10, 2) NOT NULL,
+    address       VARCHAR(255)   NOT NULL,
+    img           VARCHAR(2550),
+    latitude      DOUBLE,
+    longitude     DOUBLE,
+    num_bedrooms  INT            NOT NULL,
+    num_bathrooms INT            NOT NULL,
+    available     BIT(1)         NOT NULL,
+    posted_at     DATETIME(6)    NOT NULL,
+    agent_id      VARCHAR(64)    NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_property_available_id (available, id),
+    INDEX idx_property_agent_id (agent_id, id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id          BIGINT      NOT NULL AUTO_INCREMENT,
+    exchange    VARCHAR(64) NOT NULL,
+    routing_key VARCHAR(64) NOT NULL,
+    payload     MEDIUMTEXT  NOT NULL,
+    created_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
@@ -0,0 +1,15 @@
+-- Secondary indexes for the Property access paths. InnoDB appends the primary key to every
+-- secondary index, so each of these also serves ORDER BY id / keyset scans on its prefix.
+
+ALTER TABLE property
+    -- findByAvailableTrue / countByAvailableTrue and "newest available" listings
+    ADD INDEX idx_property_available_posted (available, posted_at),
+    -- an agent's listings filtered by availability (findByAgentId uses the agent_id prefix)
+    ADD INDEX idx_property_agent_available (agent_id, available),
+    -- price range and bedroom filters on available listings
+    ADD INDEX idx_property_available_price (available, price),
+    ADD INDEX idx_property_available_bedrooms_price (available, num_bedrooms, price),
+    -- covers the numeric columns of the summary projection so filter + sort + count run index-only;
+    -- title/address/img are too wide for an InnoDB key and are read from the clustered row
+    -- (supersedes idx_property_available_id, which is its prefix; dropped in V9 where it exists)
+    ADD INDEX idx_property_list_cover (available, id, price, num_bedrooms, num_bathrooms, posted_at);
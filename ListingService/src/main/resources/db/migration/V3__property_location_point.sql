@@ -0,0 +1,8 @@
+-- Spatial copy of the GeoLocation columns, maintained by MySQL so every write path stays in sync.
+-- POINT() takes (x = longitude, y = latitude); a SPATIAL index needs NOT NULL, so listings without
+-- coordinates are stored at (0, 0) and excluded by the nearby query's latitude/longitude checks.
+
+ALTER TABLE property
+    ADD COLUMN location_point POINT SRID 4326
+        GENERATED ALWAYS AS (ST_SRID(POINT(COALESCE(longitude, 0), COALESCE(latitude, 0)), 4326)) STORED NOT NULL,
+    ADD SPATIAL INDEX idx_property_location (location_point);
@@ -0,0 +1,11 @@
+-- Per-listing last modification time for ETag / Last-Modified. JPA sets it on every write; the
+-- default and ON UPDATE clause cover the bulk JDBC import and any other write outside Hibernate.
+-- The index makes MAX(updated_at) for the catalog version a single index probe.
+
+ALTER TABLE property
+    ADD COLUMN updated_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6) ON UPDATE CURRENT_TIMESTAMP(6);
+
+UPDATE property SET updated_at = posted_at;
+
+ALTER TABLE property
+    ADD INDEX idx_property_updated_at (updated_at);
@@ -0,0 +1,4 @@
+-- Optimistic locking counter for Property (@Version)
+
+ALTER TABLE property
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
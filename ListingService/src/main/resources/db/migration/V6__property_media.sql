@@ -0,0 +1,28 @@
+-- Ordered image references per property, loaded only by the detail page. The property row keeps
+-- a short thumbnail reference for list, search and recommendation payloads.
+-- property.img is no longer read or written; it stays until every instance runs this version and
+-- can then be dropped by a later migration.
+
+CREATE TABLE IF NOT EXISTS property_media (
+    id          BIGINT        NOT NULL AUTO_INCREMENT,
+    property_id BIGINT        NOT NULL,
+    sort_order  INT           NOT NULL,
+    url         VARCHAR(2550) NOT NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_property_media_order (property_id, sort_order),
+    CONSTRAINT fk_property_media_property FOREIGN KEY (property_id) REFERENCES property (id) ON DELETE CASCADE
+) ENGINE = InnoDB;
+
+ALTER TABLE property
+    ADD COLUMN thumbnail VARCHAR(512) NULL;
+
+INSERT INTO property_media (property_id, sort_order, url)
+SELECT id, 0, TRIM(img)
+FROM property
+WHERE img IS NOT NULL AND TRIM(img) <> '';
+
+-- references too long for the thumbnail column (e.g. inline data URIs) are only kept as media;
+-- updated_at is kept, the listings did not change
+UPDATE property
+SET thumbnail = TRIM(img), updated_at = updated_at
+WHERE img IS NOT NULL AND TRIM(img) <> '' AND CHAR_LENGTH(TRIM(img)) <= 512;
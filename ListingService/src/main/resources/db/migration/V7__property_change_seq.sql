@@ -0,0 +1,33 @@
+-- Change feed (GET /listing/changes). Every write stamps the property with the next value of a
+-- single counter row, and a delete leaves a tombstone with one. The counter row stays locked until
+-- the writing transaction commits, so sequence order is commit order and a reader that has seen
+-- sequence N can never later find a smaller one.
+
+CREATE TABLE IF NOT EXISTS property_change_seq (
+    id    TINYINT NOT NULL,
+    value BIGINT  NOT NULL,
+    PRIMARY KEY (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS property_tombstone (
+    property_id BIGINT      NOT NULL,
+    change_seq  BIGINT      NOT NULL,
+    deleted_at  DATETIME(6) NOT NULL,
+    PRIMARY KEY (property_id),
+    INDEX idx_property_tombstone_change_seq (change_seq)
+) ENGINE = InnoDB;
+
+ALTER TABLE property
+    ADD COLUMN change_seq BIGINT NOT NULL DEFAULT 0;
+
+-- existing rows get sequences in modification order; updated_at is kept, as its ON UPDATE would
+-- otherwise stamp every row with the migration time
+UPDATE property p
+    JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY updated_at, id) AS seq FROM property) s ON s.id = p.id
+SET p.change_seq = s.seq, p.updated_at = p.updated_at;
+
+INSERT INTO property_change_seq (id, value)
+SELECT 1, COALESCE(MAX(change_seq), 0) FROM property;
+
+ALTER TABLE property
+    ADD INDEX idx_property_change_seq (change_seq);
@@ -0,0 +1,36 @@
+-- Materialized listing counts for the admin dashboard, so a poll reads a few primary key rows
+-- instead of counting the table. Writes adjust the rows in the same transaction as the listing;
+-- PropertyStatsService periodically recounts and corrects any drift.
+--   dimension 'all' (bucket ''), 'agent' (agent id), 'bedrooms' (count), 'price_band' (band label)
+
+CREATE TABLE IF NOT EXISTS property_stats (
+    dimension VARCHAR(16) NOT NULL,
+    bucket    VARCHAR(64) NOT NULL,
+    total     BIGINT      NOT NULL DEFAULT 0,
+    available BIGINT      NOT NULL DEFAULT 0,
+    PRIMARY KEY (dimension, bucket)
+) ENGINE = InnoDB;
+
+INSERT INTO property_stats (dimension, bucket, total, available)
+SELECT 'all', '', COUNT(*), COALESCE(SUM(available = 1), 0) FROM property;
+
+INSERT INTO property_stats (dimension, bucket, total, available)
+SELECT 'agent', agent_id, COUNT(*), SUM(available = 1) FROM property GROUP BY agent_id;
+
+INSERT INTO property_stats (dimension, bucket, total, available)
+SELECT 'bedrooms', CAST(num_bedrooms AS CHAR), COUNT(*), SUM(available = 1) FROM property GROUP BY num_bedrooms;
+
+-- bands must match PropertyStatsService.PRICE_BAND_LIMITS
+INSERT INTO property_stats (dimension, bucket, total, available)
+SELECT 'price_band', band, COUNT(*), SUM(available = 1)
+FROM (SELECT available,
+             CASE
+                 WHEN price < 1000 THEN '0-1000'
+                 WHEN price < 2000 THEN '1000-2000'
+                 WHEN price < 3000 THEN '2000-3000'
+                 WHEN price < 5000 THEN '3000-5000'
+                 WHEN price < 10000 THEN '5000-10000'
+                 ELSE '10000+'
+             END AS band
+      FROM property) p
+GROUP BY band;
@@ -0,0 +1,13 @@
+-- idx_property_available_id is a prefix of idx_property_list_cover (V2). Databases adopted through
+-- baseline-on-migrate were created by ddl-auto and never had it, so drop it only where it exists.
+
+SET @drop_available_id = (
+    SELECT IF(COUNT(*) > 0, 'ALTER TABLE property DROP INDEX idx_property_available_id', 'DO 0')
+    FROM information_schema.statistics
+    WHERE table_schema = DATABASE()
+      AND table_name = 'property'
+      AND index_name = 'idx_property_available_id'
+);
+PREPARE drop_available_id FROM @drop_available_id;
+EXECUTE drop_available_id;
+DEALLOCATE PREPARE drop_available_id;
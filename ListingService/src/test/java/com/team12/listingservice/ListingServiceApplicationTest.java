@@ -1,18 +1,30 @@
 package com.team12.listingservice;
 
-import com.team12.clients.notification.NotificationClient;
 import com.team12.clients.user.UserClient;
-import com.team12.clients.userAction.UserActionClient;
+import com.team12.listingservice.exception.PropertyExceptions;
 import com.team12.listingservice.model.Property;
 import com.team12.listingservice.model.PropertyDto;
+import com.team12.listingservice.model.PropertyPage;
+import com.team12.listingservice.model.PropertyPatch;
+import com.team12.listingservice.model.PropertySummary;
 import com.team12.listingservice.reponsitory.PropertyRepository;
+import com.team12.listingservice.service.AgentInfoService;
+import com.team12.listingservice.service.PropertyChangeService;
 import com.team12.listingservice.service.DataSyncService;
+import com.team12.listingservice.service.PropertyDetailCache;
+import com.team12.listingservice.service.PropertyMediaService;
 import com.team12.listingservice.service.PropertyService;
+import com.team12.listingservice.service.PropertyStatsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.*;
 
@@ -22,26 +34,30 @@ import static org.mockito.Mockito.*;
 class ListingServiceApplicationTest {
 
     private PropertyRepository propertyRepository;
-    private NotificationClient notificationClient;
     private PropertyService propertyService;
-    private UserActionClient userActionClient;
     private UserClient userClient;
     private DataSyncService dataSyncService;
+    private PropertyMediaService propertyMediaService;
+    private PropertyChangeService propertyChangeService;
+    private PropertyStatsService propertyStatsService;
 
     @BeforeEach
     void setUp() {
         propertyRepository = mock(PropertyRepository.class);
-        notificationClient = mock(NotificationClient.class);
-        userActionClient = mock(UserActionClient.class);
         userClient = mock(UserClient.class);
         dataSyncService = mock(DataSyncService.class);
+        propertyMediaService = mock(PropertyMediaService.class);
+        propertyChangeService = mock(PropertyChangeService.class);
+        propertyStatsService = mock(PropertyStatsService.class);
 
         propertyService = new PropertyService(
                 propertyRepository,
-                notificationClient,
-                userActionClient,
-                userClient,
-                dataSyncService
+                new AgentInfoService(userClient, Duration.ofMinutes(5), 100),
+                dataSyncService,
+                new PropertyDetailCache(new SimpleMeterRegistry(), Duration.ofMinutes(10), 100),
+                propertyMediaService,
+                propertyChangeService,
+                propertyStatsService
         );
     }
 
@@ -52,7 +68,7 @@ class ListingServiceApplicationTest {
         property.setDescription("Sample Description");
         property.setPrice(new BigDecimal("123456.78"));
         property.setAddress("123 Sample Street");
-        property.setImg("sample.jpg");
+        property.setThumbnail("sample.jpg");
         property.setNumBedrooms(3);
         property.setNumBathrooms(2);
         property.setAvailable(true);
@@ -78,7 +94,7 @@ class ListingServiceApplicationTest {
     void testGetPropertyById() {
         Property property = createSampleProperty(1L);
         when(propertyRepository.findById(1L)).thenReturn(Optional.of(property));
-        when(userClient.getAgentInfoById(123L)).thenReturn(ResponseEntity.ok(List.of("AgentName", "12345678")));
+        when(userClient.getAgentInfoByIds(List.of(123L))).thenReturn(ResponseEntity.ok(Map.of(123L, List.of("AgentName", "12345678"))));
 
         Optional<PropertyDto> result = propertyService.getPropertyById(1L);
 
@@ -87,17 +103,121 @@ class ListingServiceApplicationTest {
         assertEquals("AgentName", result.get().getUsername());
     }
 
+    @Test
+    void testGetPropertyByIdServesRepeatReadsFromCache() {
+        Property property = createSampleProperty(1L);
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(property));
+        when(userClient.getAgentInfoByIds(List.of(123L))).thenReturn(ResponseEntity.ok(Map.of(123L, List.of("AgentName", "12345678"))));
+
+        propertyService.getPropertyById(1L);
+        Optional<PropertyDto> second = propertyService.getPropertyById(1L);
+
+        assertTrue(second.isPresent());
+        verify(propertyRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void testUpdatePropertyEvictsCachedDetail() {
+        Property existing = createSampleProperty(1L);
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(propertyRepository.save(any(Property.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(userClient.getAgentInfoByIds(List.of(123L))).thenReturn(ResponseEntity.ok(Map.of(123L, List.of("AgentName", "12345678"))));
+
+        propertyService.getPropertyById(1L);
+        Property update = createSampleProperty(1L);
+        update.setTitle("Updated Title");
+        propertyService.updateProperty(1L, update);
+        Optional<PropertyDto> reloaded = propertyService.getPropertyById(1L);
+
+        assertEquals("Updated Title", reloaded.get().getProperty().getTitle());
+        verify(propertyRepository, times(3)).findById(1L);
+    }
+
+    @Test
+    void testGetMissingPropertyIsNotCached() {
+        when(propertyRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertTrue(propertyService.getPropertyById(9L).isEmpty());
+        assertTrue(propertyService.getPropertyById(9L).isEmpty());
+
+        verify(propertyRepository, times(2)).findById(9L);
+    }
+
     @Test
     void testGetAllPropertiesWithAgentInfo() {
         Property p = createSampleProperty(1L);
         when(propertyRepository.findAll()).thenReturn(List.of(p));
-        when(userClient.getAgentInfoById(123L)).thenReturn(ResponseEntity.ok(List.of("AgentName", "12345678")));
+        when(userClient.getAgentInfoByIds(List.of(123L))).thenReturn(ResponseEntity.ok(Map.of(123L, List.of("AgentName", "12345678"))));
 
         List<PropertyDto> result = propertyService.getAllPropertiesWithAgentInfo();
         assertEquals(1, result.size());
         assertEquals("AgentName", result.get(0).getUsername());
     }
 
+    @Test
+    void testGetAllPropertiesResolvesAgentsInOneBatchAndCaches() {
+        Property first = createSampleProperty(1L);
+        Property second = createSampleProperty(2L);
+        Property unmapped = createSampleProperty(3L);
+        unmapped.setAgentId("auth0|agent001");
+        when(propertyRepository.findAll()).thenReturn(List.of(first, second, unmapped));
+        when(userClient.getAgentInfoByIds(List.of(123L))).thenReturn(ResponseEntity.ok(Map.of(123L, List.of("AgentName", "12345678"))));
+
+        List<PropertyDto> result = propertyService.getAllPropertiesWithAgentInfo();
+        propertyService.getAllPropertiesWithAgentInfo();
+
+        assertEquals(3, result.size());
+        assertEquals("AgentName", result.get(1).getUsername());
+        assertNull(result.get(2).getUsername());
+        verify(userClient, times(1)).getAgentInfoByIds(anyList());
+        verify(userClient, never()).getAgentInfoById(anyLong());
+    }
+
+    @Test
+    void testGetPropertyPageReturnsCursorWhenMoreRowsExist() {
+        Property first = createSampleProperty(11L);
+        Property second = createSampleProperty(12L);
+        Property extra = createSampleProperty(13L);
+        when(propertyRepository.findPageAfter(10L, true, null, Limit.of(3))).thenReturn(List.of(first, second, extra));
+        when(userClient.getAgentInfoByIds(List.of(123L))).thenReturn(ResponseEntity.ok(Map.of(123L, List.of("AgentName", "12345678"))));
+
+        PropertyPage<PropertyDto> page = propertyService.getPropertyPage(10L, 2, true, null);
+
+        assertEquals(2, page.getItems().size());
+        assertEquals(12L, page.getNextCursor());
+        assertEquals("AgentName", page.getItems().get(1).getUsername());
+    }
+
+    @Test
+    void testGetPropertyPageLastPageHasNoCursor() {
+        when(propertyRepository.findPageAfter(0L, null, "123", Limit.of(PropertyService.DEFAULT_PAGE_SIZE + 1)))
+                .thenReturn(List.of(createSampleProperty(1L)));
+        when(userClient.getAgentInfoByIds(List.of(123L))).thenReturn(ResponseEntity.ok(Map.of(123L, List.of("AgentName", "12345678"))));
+
+        PropertyPage<PropertyDto> page = propertyService.getPropertyPage(null, 0, null, "123");
+
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testGetNearbyPropertiesCapsRadiusAndBoundsTheSearch() {
+        when(propertyRepository.findNearby(eq(1.3), eq(103.8), eq(PropertyService.MAX_NEARBY_RADIUS_METERS),
+                anyString(), eq(true), eq(20))).thenReturn(List.of(createSampleProperty(1L)));
+        when(userClient.getAgentInfoByIds(List.of(123L))).thenReturn(ResponseEntity.ok(Map.of(123L, List.of("AgentName", "12345678"))));
+
+        List<PropertyDto> nearby = propertyService.getNearbyProperties(1.3, 103.8, 100_000, 20, true);
+
+        assertEquals(1, nearby.size());
+        assertEquals("AgentName", nearby.get(0).getUsername());
+        ArgumentCaptor<String> box = ArgumentCaptor.forClass(String.class);
+        verify(propertyRepository).findNearby(anyDouble(), anyDouble(), anyDouble(), box.capture(), any(), anyInt());
+        // 50 km is ~0.449 degrees of latitude either side of the centre
+        assertTrue(box.getValue().startsWith("POLYGON((103.3"), box.getValue());
+        assertTrue(box.getValue().contains(" 0.850"), box.getValue());
+        assertTrue(box.getValue().contains(" 1.749"), box.getValue());
+    }
+
     @Test
     void testCreateProperty() {
         Property property = createSampleProperty(null);
@@ -107,6 +227,7 @@ class ListingServiceApplicationTest {
 
         Property result = propertyService.createProperty(property);
         assertNotNull(result);
+        verify(propertyChangeService).recordWrite(saved);
         verify(dataSyncService).syncPropertyToElasticsearch("create", saved);
     }
 
@@ -119,22 +240,128 @@ class ListingServiceApplicationTest {
 
         when(propertyRepository.findById(1L)).thenReturn(Optional.of(existing));
         when(propertyRepository.save(any(Property.class))).thenReturn(update);
-        when(userActionClient.getPriceAlertUsers(1L)).thenReturn(List.of(1L, 2L));
 
         Property result = propertyService.updateProperty(1L, update);
         assertEquals("Updated Title", result.getTitle());
+        verify(propertyChangeService).recordWrite(update);
 
-        verify(notificationClient, times(2)).sendNotification(any());
+        verify(dataSyncService).publishPriceChanged(update, new BigDecimal("123456.78"));
         verify(dataSyncService).syncPropertyToElasticsearch(eq("update"), any(Property.class));
     }
 
+    @Test
+    void testUpdatePropertyWithoutPriceChangeSkipsEvent() {
+        Property existing = createSampleProperty(1L);
+        Property update = createSampleProperty(1L);
+        update.setTitle("Updated Title");
+
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(propertyRepository.save(any(Property.class))).thenReturn(update);
+
+        propertyService.updateProperty(1L, update);
+
+        verify(dataSyncService, never()).publishPriceChanged(any(), any());
+    }
+
+    @Test
+    void testUpdateMissingPropertyIsNotFound() {
+        when(propertyRepository.findById(9L)).thenReturn(Optional.empty());
+
+        assertThrows(PropertyExceptions.PropertyNotFoundException.class,
+                () -> propertyService.updateProperty(9L, createSampleProperty(9L)));
+    }
+
+    @Test
+    void testUpdatePropertyWithStaleVersionConflicts() {
+        Property existing = createSampleProperty(1L);
+        existing.setVersion(4L);
+        Property update = createSampleProperty(1L);
+        update.setVersion(3L);
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        assertThrows(PropertyExceptions.PropertyConflictException.class, () -> propertyService.updateProperty(1L, update));
+        verify(propertyRepository, never()).save(any());
+    }
+
+    @Test
+    void testPatchPropertyWritesAndSyncsOnlyChangedFields() {
+        Property existing = createSampleProperty(1L);
+        existing.setVersion(2L);
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(propertyRepository.saveAndFlush(existing)).thenAnswer(invocation -> {
+            existing.setVersion(3L);
+            return existing;
+        });
+
+        PropertyPatch patch = new PropertyPatch();
+        patch.setVersion(2L);
+        patch.setTitle("Sample Title");            // unchanged
+        patch.setPrice(new BigDecimal("99.00"));
+
+        Property result = propertyService.patchProperty(1L, patch);
+
+        assertEquals(3L, result.getVersion());
+        assertEquals(new BigDecimal("99.00"), result.getPrice());
+        verify(propertyChangeService).recordWrite(existing);
+        verify(dataSyncService).syncPropertyPatch(existing, Set.of("price"));
+        verify(dataSyncService).publishPriceChanged(existing, new BigDecimal("123456.78"));
+        verify(dataSyncService, never()).syncPropertyToElasticsearch(anyString(), any());
+    }
+
+    @Test
+    void testPatchPropertyWithoutChangesWritesNothing() {
+        Property existing = createSampleProperty(1L);
+        existing.setVersion(2L);
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        PropertyPatch patch = new PropertyPatch();
+        patch.setVersion(2L);
+        patch.setNumBedrooms(3);
+
+        assertSame(existing, propertyService.patchProperty(1L, patch));
+        verify(propertyRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(dataSyncService);
+    }
+
+    @Test
+    void testPatchPropertyConflictsWhenTheVersionCheckFailsOnFlush() {
+        Property existing = createSampleProperty(1L);
+        existing.setVersion(2L);
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(propertyRepository.saveAndFlush(existing))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Property.class, 1L));
+
+        PropertyPatch patch = new PropertyPatch();
+        patch.setVersion(2L);
+        patch.setAvailable(false);
+
+        assertThrows(PropertyExceptions.PropertyConflictException.class, () -> propertyService.patchProperty(1L, patch));
+        verifyNoInteractions(dataSyncService);
+    }
+
+    @Test
+    void testPatchPropertyRejectsNullRequiredField() {
+        Property existing = createSampleProperty(1L);
+        existing.setVersion(2L);
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(existing));
+
+        PropertyPatch patch = new PropertyPatch();
+        patch.setVersion(2L);
+        patch.setTitle(null);
+
+        assertThrows(IllegalArgumentException.class, () -> propertyService.patchProperty(1L, patch));
+    }
+
     @Test
     void testDeleteProperty() {
-        when(propertyRepository.existsById(1L)).thenReturn(true);
+        Property existing = createSampleProperty(1L);
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(existing));
 
         propertyService.deleteProperty(1L);
 
         verify(propertyRepository).deleteById(1L);
+        verify(propertyChangeService).recordDeletion(1L);
+        verify(propertyStatsService).record(PropertyStatsService.Counted.of(existing), null);
         verify(dataSyncService).syncPropertyDeletion(1L);
     }
 
@@ -149,14 +376,101 @@ class ListingServiceApplicationTest {
     }
 
     @Test
-    void testGetPropertyStatistics() {
-        when(propertyRepository.count()).thenReturn(100L);
-        when(propertyRepository.countByAvailableTrue()).thenReturn(80L);
+    void testBackfillSearchLocationsPublishesOnlyLocatedProperties() {
+        PropertySummary located = new PropertySummary(1L, "A", BigDecimal.TEN, "addr", null, 1.3, 103.8,
+                2, 1, true, LocalDateTime.now(), "123");
+        PropertySummary unlocated = new PropertySummary(2L, "B", BigDecimal.TEN, "addr", null, null, null,
+                2, 1, true, LocalDateTime.now(), "123");
+        when(propertyRepository.findSummariesByIdIn(List.of(1L, 2L))).thenReturn(List.of(located, unlocated));
+
+        Map<String, Object> result = propertyService.backfillSearchLocations(List.of(1L, 2L, 1L));
+
+        verify(dataSyncService).syncPropertyLocations(List.of(located));
+        assertEquals(2, result.get("requestedProperties"));
+        assertEquals(1L, result.get("publishedProperties"));
+        assertEquals(1, result.get("batches"));
+    }
+
+    @Test
+    void testResyncPropertyPublishesWithoutWriting() {
+        Property property = createSampleProperty(1L);
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(property));
+
+        assertTrue(propertyService.resyncProperty(1L));
+
+        verify(dataSyncService).syncPropertyNow(property);
+        verify(propertyRepository, never()).save(any());
+    }
+
+    @Test
+    void testResyncPropertiesByIdsPublishesBatchesAndReportsMissing() {
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; id <= PropertyService.RESYNC_BATCH_SIZE + 1; id++) {
+            ids.add(id);
+        }
+        ids.add(1L); // duplicates are published once
+        List<Property> firstBatch = new ArrayList<>();
+        for (long id = 1; id <= PropertyService.RESYNC_BATCH_SIZE; id++) {
+            firstBatch.add(createSampleProperty(id));
+        }
+        when(propertyRepository.findAllById(ids.subList(0, PropertyService.RESYNC_BATCH_SIZE))).thenReturn(firstBatch);
+        when(propertyRepository.findAllById(List.of((long) PropertyService.RESYNC_BATCH_SIZE + 1))).thenReturn(List.of());
+
+        Map<String, Object> result = propertyService.resyncProperties(ids);
+
+        verify(dataSyncService, times(1)).syncPropertiesBulk(firstBatch);
+        assertEquals((long) PropertyService.RESYNC_BATCH_SIZE, result.get("published"));
+        assertEquals(1, result.get("batches"));
+        assertEquals(List.of((long) PropertyService.RESYNC_BATCH_SIZE + 1), result.get("missingIds"));
+        verify(propertyRepository, never()).save(any());
+        verify(dataSyncService, never()).publishPriceChanged(any(), any());
+    }
+
+    @Test
+    void testResyncPropertiesByFilterPagesThroughMatches() {
+        List<Property> page = List.of(createSampleProperty(3L), createSampleProperty(8L));
+        when(propertyRepository.findPageAfter(0L, true, "123", Limit.of(PropertyService.RESYNC_BATCH_SIZE))).thenReturn(page);
+
+        Map<String, Object> result = propertyService.resyncProperties(true, "123");
+
+        verify(dataSyncService).syncPropertiesBulk(page);
+        assertEquals(2L, result.get("published"));
+        verify(propertyRepository, never()).save(any());
+    }
+
+    @Test
+    void testResyncMissingProperty() {
+        when(propertyRepository.findById(2L)).thenReturn(Optional.empty());
+
+        assertFalse(propertyService.resyncProperty(2L));
+
+        verifyNoInteractions(dataSyncService);
+    }
+
+    @Test
+    void testGetPropertyStatisticsReadsMaterializedCounts() {
+        when(propertyStatsService.getStatistics()).thenReturn(Map.of("totalProperties", 100L));
 
         Map<String, Object> stats = propertyService.getPropertyStatistics();
 
         assertEquals(100L, stats.get("totalProperties"));
-        assertEquals(80L, stats.get("availableProperties"));
-        assertEquals(20L, stats.get("unavailableProperties"));
+        verify(propertyRepository, never()).count();
+        verify(propertyRepository, never()).countByAvailableTrue();
+    }
+
+    @Test
+    void testUpdatePropertyMovesStatsFromOldToNewState() {
+        Property existing = createSampleProperty(1L);
+        Property update = createSampleProperty(1L);
+        update.setNumBedrooms(4);
+        update.setAvailable(false);
+        PropertyStatsService.Counted before = PropertyStatsService.Counted.of(existing);
+
+        when(propertyRepository.findById(1L)).thenReturn(Optional.of(existing));
+        when(propertyRepository.save(any(Property.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        propertyService.updateProperty(1L, update);
+
+        verify(propertyStatsService).record(before, PropertyStatsService.Counted.of(update));
     }
 }
@@ -0,0 +1,99 @@
+package com.team12.listingservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team12.listingservice.model.OutboxEvent;
+import com.team12.listingservice.reponsitory.OutboxEventRepository;
+import com.team12.listingservice.service.OutboxRelay;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class OutboxRelayTest {
+
+    private OutboxEventRepository outboxEventRepository;
+    private RabbitTemplate rabbitTemplate;
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository = mock(OutboxEventRepository.class);
+        when(outboxEventRepository.lockRelay()).thenReturn(List.<Number>of(1));
+        rabbitTemplate = mock(RabbitTemplate.class);
+        outboxRelay = new OutboxRelay(
+                outboxEventRepository,
+                rabbitTemplate,
+                new ObjectMapper(),
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                10,
+                100
+        );
+    }
+
+    private OutboxEvent event(long id) {
+        OutboxEvent event = new OutboxEvent("property.sync.exchange", "property.sync.key",
+                "{\"action\":\"update\",\"data\":{\"id\":\"" + id + "\"}}");
+        event.setId(id);
+        return event;
+    }
+
+    private void confirmWith(boolean... acks) {
+        int[] call = {0};
+        doAnswer(invocation -> {
+            CorrelationData correlation = invocation.getArgument(3);
+            correlation.getFuture().complete(new CorrelationData.Confirm(acks[call[0]++], null));
+            return null;
+        }).when(rabbitTemplate).convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+    }
+
+    @Test
+    void testRelayDeletesConfirmedEvents() {
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(event(1L), event(2L)));
+        confirmWith(true, true);
+
+        outboxRelay.relay();
+
+        verify(rabbitTemplate).convertAndSend(eq("property.sync.exchange"), eq("property.sync.key"),
+                eq(Map.of("action", "update", "data", Map.of("id", "1"))), any(CorrelationData.class));
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L, 2L));
+    }
+
+    @Test
+    void testRelayKeepsEverythingAfterFirstNack() {
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(event(1L), event(2L), event(3L)));
+        confirmWith(true, false, true);
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository).deleteAllByIdInBatch(List.of(1L));
+    }
+
+    @Test
+    void testRelayStopsWhenBrokerUnavailable() {
+        when(outboxEventRepository.lockNextBatch(10)).thenReturn(List.of(event(1L)));
+        doThrow(new RuntimeException("connection refused")).when(rabbitTemplate)
+                .convertAndSend(anyString(), anyString(), any(Object.class), any(CorrelationData.class));
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, never()).deleteAllByIdInBatch(anyList());
+    }
+
+    @Test
+    void testRelaySkipsPollWhileAnotherInstanceRelays() {
+        when(outboxEventRepository.lockRelay()).thenReturn(List.of());
+
+        outboxRelay.relay();
+
+        verify(outboxEventRepository, never()).lockNextBatch(anyInt());
+        verifyNoInteractions(rabbitTemplate);
+    }
+}
@@ -0,0 +1,135 @@
+package com.team12.listingservice;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.team12.listingservice.model.BulkImportResult;
+import com.team12.listingservice.model.Property;
+import com.team12.listingservice.service.DataSyncService;
+import com.team12.listingservice.service.PropertyBulkImportService;
+import com.team12.listingservice.service.PropertyChangeService;
+import com.team12.listingservice.service.PropertyStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PropertyBulkImportServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private DataSyncService dataSyncService;
+    private PropertyChangeService propertyChangeService;
+    private PropertyStatsService propertyStatsService;
+    private PreparedStatement preparedStatement;
+    private PropertyBulkImportService bulkImportService;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        dataSyncService = mock(DataSyncService.class);
+        propertyChangeService = mock(PropertyChangeService.class);
+        propertyStatsService = mock(PropertyStatsService.class);
+        preparedStatement = mock(PreparedStatement.class);
+
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString(), eq(Statement.RETURN_GENERATED_KEYS))).thenReturn(preparedStatement);
+        ResultSet keys = mock(ResultSet.class);
+        when(keys.next()).thenReturn(true, true, false);
+        when(keys.getLong(1)).thenReturn(101L, 102L);
+        when(preparedStatement.getGeneratedKeys()).thenReturn(keys);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class)))
+                .thenAnswer(invocation -> invocation.<ConnectionCallback<?>>getArgument(0).doInConnection(connection));
+
+        bulkImportService = new PropertyBulkImportService(
+                jdbcTemplate,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                dataSyncService,
+                propertyChangeService,
+                propertyStatsService,
+                new ObjectMapper().registerModule(new JavaTimeModule())
+        );
+    }
+
+    private static String property(String title, double price) {
+        return "{\"title\":\"" + title + "\",\"description\":\"desc\",\"price\":" + price +
+                ",\"address\":\"1 Main St\",\"numBedrooms\":2,\"numBathrooms\":1,\"available\":true," +
+                "\"agentId\":\"auth0|agent001\",\"location\":{\"latitude\":1.3,\"longitude\":103.8}}";
+    }
+
+    private static ByteArrayInputStream body(String s) {
+        return new ByteArrayInputStream(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testImportJsonArrayBatchesValidRowsAndReportsInvalidOnes() throws Exception {
+        String json = "[" + property("A", 1000) + "," + property("", 1000) + "," + property("C", 2000) + "]";
+
+        BulkImportResult result = bulkImportService.importJsonArray(body(json));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailed());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertEquals("title is required", result.getErrors().get(0).getMessage());
+
+        verify(preparedStatement, times(2)).addBatch();
+        verify(preparedStatement).executeBatch();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Property>> synced = ArgumentCaptor.forClass(List.class);
+        verify(dataSyncService).syncPropertiesBulk(synced.capture());
+        assertEquals(List.of(101L, 102L), synced.getValue().stream().map(Property::getId).toList());
+        assertNotNull(synced.getValue().get(0).getPostedAt());
+        // sequences are stamped at commit, once per chunk
+        verify(propertyChangeService).recordWrites(synced.getValue());
+        verify(propertyStatsService).recordCreated(synced.getValue());
+    }
+
+    @Test
+    void testImportNdjsonReportsMalformedLines() throws Exception {
+        String ndjson = property("A", 1000) + "\n\n{not json}\n" + property("C", -5) + "\n";
+
+        BulkImportResult result = bulkImportService.importNdjson(body(ndjson));
+
+        assertEquals(3, result.getReceived());
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getFailed());
+        assertEquals(1, result.getErrors().get(0).getRow());
+        assertTrue(result.getErrors().get(0).getMessage().startsWith("malformed property"));
+        assertEquals("price must be positive", result.getErrors().get(1).getMessage());
+        verify(preparedStatement, times(1)).addBatch();
+    }
+
+    @Test
+    void testImportFailsWholeChunkWhenDatabaseRejectsIt() throws Exception {
+        when(preparedStatement.executeBatch()).thenThrow(new SQLException("Data truncation"));
+
+        BulkImportResult result = bulkImportService.importNdjson(body(property("A", 1000) + "\n" + property("B", 1000)));
+
+        assertEquals(0, result.getImported());
+        assertEquals(2, result.getFailed());
+        verifyNoInteractions(dataSyncService);
+    }
+
+    @Test
+    void testImportJsonArrayRejectsNonArray() {
+        assertThrows(IllegalArgumentException.class,
+                () -> bulkImportService.importJsonArray(body(property("A", 1000))));
+        verifyNoInteractions(jdbcTemplate);
+    }
+}
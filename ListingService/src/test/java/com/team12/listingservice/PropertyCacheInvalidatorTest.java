@@ -0,0 +1,84 @@
+package com.team12.listingservice;
+
+import com.team12.listingservice.model.Property;
+import com.team12.listingservice.model.PropertyDto;
+import com.team12.listingservice.service.PropertyCacheInvalidator;
+import com.team12.listingservice.service.PropertyDetailCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PropertyCacheInvalidatorTest {
+
+    private PropertyDetailCache detailCache;
+    private Cache secondLevelCache;
+    private org.hibernate.Cache hibernateCache;
+    private PropertyCacheInvalidator invalidator;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        detailCache = new PropertyDetailCache(new SimpleMeterRegistry(), Duration.ofMinutes(10), 100);
+        secondLevelCache = mock(Cache.class);
+        hibernateCache = mock(org.hibernate.Cache.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        SessionFactory sessionFactory = mock(SessionFactory.class);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getCache()).thenReturn(hibernateCache);
+        invalidator = new PropertyCacheInvalidator(detailCache, entityManagerFactory);
+        loads.set(0);
+    }
+
+    private PropertyDto load(Long id) {
+        loads.incrementAndGet();
+        return new PropertyDto();
+    }
+
+    @Test
+    void testSyncMessageEvictsEveryCacheLayer() {
+        detailCache.get(5L, this::load);
+        invalidator.onPropertySync(Map.of("action", "update", "data", Map.of("id", "5")));
+        detailCache.get(5L, this::load);
+
+        assertEquals(2, loads.get());
+        verify(secondLevelCache).evict(Property.class, 5L);
+        verify(hibernateCache).evictQueryRegions();
+    }
+
+    @Test
+    void testSyncMessageWithoutIdIsIgnored() {
+        detailCache.get(5L, this::load);
+        invalidator.onPropertySync(Map.of("action", "update"));
+        detailCache.get(5L, this::load);
+
+        assertEquals(1, loads.get());
+        verifyNoInteractions(secondLevelCache, hibernateCache);
+    }
+
+    @Test
+    void testBulkMessageEvictsQueryResultsOnly() {
+        invalidator.onPropertySync(Map.of("action", "bulk", "data", List.of(Map.of("id", "7"))));
+
+        verify(hibernateCache).evictQueryRegions();
+        verifyNoInteractions(secondLevelCache);
+    }
+
+    @Test
+    void testLocationBackfillIsIgnored() {
+        invalidator.onPropertySync(Map.of("action", "location", "data", List.of(Map.of("id", "7"))));
+
+        verifyNoInteractions(secondLevelCache, hibernateCache);
+    }
+}
@@ -0,0 +1,135 @@
+package com.team12.listingservice;
+
+import com.team12.listingservice.model.Property;
+import com.team12.listingservice.model.PropertyChange;
+import com.team12.listingservice.model.PropertyChangePage;
+import com.team12.listingservice.model.PropertyTombstone;
+import com.team12.listingservice.reponsitory.PropertyRepository;
+import com.team12.listingservice.reponsitory.PropertyTombstoneRepository;
+import com.team12.listingservice.service.PropertyChangeService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PropertyChangeServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private EntityManager entityManager;
+    private PropertyRepository propertyRepository;
+    private PropertyTombstoneRepository propertyTombstoneRepository;
+    private PropertyChangeService propertyChangeService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        entityManager = mock(EntityManager.class, RETURNS_DEEP_STUBS);
+        propertyRepository = mock(PropertyRepository.class);
+        propertyTombstoneRepository = mock(PropertyTombstoneRepository.class);
+        propertyChangeService = new PropertyChangeService(jdbcTemplate, entityManager, propertyRepository, propertyTombstoneRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    private static Property property(long id, long changeSeq) {
+        Property property = new Property();
+        property.setId(id);
+        property.setChangeSeq(changeSeq);
+        return property;
+    }
+
+    @Test
+    void testWritesAndDeletesAreMergedInSequenceOrder() {
+        when(propertyRepository.findByChangeSeqGreaterThanOrderByChangeSeq(10L, Limit.of(4)))
+                .thenReturn(List.of(property(1, 11), property(3, 14)));
+        when(propertyTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeq(10L, Limit.of(4)))
+                .thenReturn(List.of(new PropertyTombstone(2L, 12)));
+
+        PropertyChangePage page = propertyChangeService.getChanges(10L, 3);
+
+        assertEquals(List.of(11L, 12L, 14L), page.getChanges().stream().map(PropertyChange::getSeq).toList());
+        assertEquals(PropertyChange.Type.DELETE, page.getChanges().get(1).getType());
+        assertNull(page.getChanges().get(1).getProperty());
+        assertEquals(14L, page.getNextSince());
+        assertFalse(page.isHasMore());
+    }
+
+    @Test
+    void testFullPageReportsMoreAndResumesAfterItsLastSequence() {
+        when(propertyRepository.findByChangeSeqGreaterThanOrderByChangeSeq(0L, Limit.of(3)))
+                .thenReturn(List.of(property(1, 1), property(2, 2), property(4, 5)));
+        when(propertyTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeq(0L, Limit.of(3)))
+                .thenReturn(List.of(new PropertyTombstone(3L, 4)));
+
+        PropertyChangePage page = propertyChangeService.getChanges(0L, 2);
+
+        assertEquals(List.of(1L, 2L), page.getChanges().stream().map(PropertyChange::getSeq).toList());
+        assertEquals(2L, page.getNextSince());
+        assertTrue(page.isHasMore());
+    }
+
+    @Test
+    void testNoChangesKeepsTheCallersPosition() {
+        when(propertyRepository.findByChangeSeqGreaterThanOrderByChangeSeq(eq(42L), any(Limit.class))).thenReturn(List.of());
+        when(propertyTombstoneRepository.findByChangeSeqGreaterThanOrderByChangeSeq(eq(42L), any(Limit.class))).thenReturn(List.of());
+
+        PropertyChangePage page = propertyChangeService.getChanges(42L, 0);
+
+        assertTrue(page.getChanges().isEmpty());
+        assertEquals(42L, page.getNextSince());
+        assertFalse(page.isHasMore());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void testSequencesAreReservedAndStampedJustBeforeCommit() {
+        Property first = property(5, 0);
+        Property second = property(9, 0);
+        TransactionSynchronizationManager.initSynchronization();
+
+        propertyChangeService.recordWrite(first);
+        propertyChangeService.recordWrites(List.of(second, first));
+        propertyChangeService.recordDeletion(7L);
+        // nothing is locked while the transaction is still doing its own work
+        verifyNoInteractions(jdbcTemplate);
+
+        // three sequences reserved: 11, 12 and 13
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(13L);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.get(0).beforeCommit(false);
+
+        InOrder inOrder = inOrder(entityManager, jdbcTemplate);
+        inOrder.verify(entityManager).flush();
+        inOrder.verify(jdbcTemplate).execute(any(ConnectionCallback.class));
+        inOrder.verify(jdbcTemplate).update(
+                "UPDATE property SET change_seq = ? + FIELD(id, ?, ?), updated_at = updated_at WHERE id IN (?, ?)", 10L, 5L, 9L, 5L, 9L);
+        ArgumentCaptor<List<Object[]>> tombstones = ArgumentCaptor.forClass(List.class);
+        inOrder.verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO property_tombstone"), tombstones.capture());
+        assertEquals(7L, tombstones.getValue().get(0)[0]);
+        assertEquals(13L, tombstones.getValue().get(0)[1]);
+
+        synchronizations.get(0).afterCommit();
+        assertEquals(11L, first.getChangeSeq());
+        assertEquals(12L, second.getChangeSeq());
+        verify(entityManager.getEntityManagerFactory().getCache()).evict(Property.class, 9L);
+    }
+}
@@ -3,8 +3,21 @@ package com.team12.listingservice;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.team12.listingservice.controller.PropertyController;
 import com.team12.listingservice.model.Property;
+import com.team12.listingservice.model.PropertyChange;
+import com.team12.listingservice.model.PropertyChangePage;
 import com.team12.listingservice.model.PropertyDto;
+import com.team12.listingservice.model.PropertyPage;
+import com.team12.listingservice.model.PropertyPatch;
+import com.team12.listingservice.model.PropertySummary;
+import com.team12.listingservice.model.PropertyView;
+import com.team12.listingservice.exception.PropertyExceptions;
+import com.team12.listingservice.model.BulkImportResult;
+import com.team12.listingservice.model.CatalogVersion;
+import com.team12.listingservice.service.PropertyBulkImportService;
+import com.team12.listingservice.service.PropertyChangeService;
 import com.team12.listingservice.service.PropertyService;
+import com.team12.listingservice.service.PropertySnapshotService;
+import com.team12.listingservice.service.PropertyViewService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -13,19 +26,34 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeoutException;
 
+import static org.hamcrest.Matchers.not;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -38,14 +66,29 @@ class PropertyControllerStandaloneTest {
     @Mock
     private PropertyService propertyService;
 
+    @Mock
+    private PropertyBulkImportService propertyBulkImportService;
+
+    @Mock
+    private PropertySnapshotService propertySnapshotService;
+
+    @Mock
+    private PropertyViewService propertyViewService;
+
+    @Mock
+    private PropertyChangeService propertyChangeService;
+
     @InjectMocks
     private PropertyController propertyController;
 
     private final ObjectMapper objectMapper = new ObjectMapper();
 
+    private final CatalogVersion catalog = new CatalogVersion(3L, LocalDateTime.of(2025, 1, 2, 3, 4, 5, 678_000));
+
     @BeforeEach
     void setUp() {
         mockMvc = MockMvcBuilders.standaloneSetup(propertyController).build();
+        lenient().when(propertyService.getCatalogVersion()).thenReturn(catalog);
     }
 
     @Test
@@ -60,6 +103,156 @@ class PropertyControllerStandaloneTest {
         verify(propertyService).getAllPropertiesWithAgentInfo();
     }
 
+    @Test
+    @DisplayName("GET /listing - matching If-None-Match -> 304 without a body")
+    void getAll_notModified() throws Exception {
+        when(propertyService.getAllPropertiesWithAgentInfo()).thenReturn(List.of(agentDto("agent", "123")));
+        MvcResult first = mockMvc.perform(get("/listing"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                .andReturn();
+        String etag = first.getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/listing").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // Last-Modified tracks the listings only, so it cannot vouch for the agent info
+        mockMvc.perform(get("/listing").header(HttpHeaders.IF_MODIFIED_SINCE,
+                        first.getResponse().getHeader(HttpHeaders.LAST_MODIFIED)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @DisplayName("GET /listing - changed agent info -> 200 despite an unchanged catalog")
+    void getAll_agentInfoChanged() throws Exception {
+        when(propertyService.getAllPropertiesWithAgentInfo()).thenReturn(List.of(agentDto("agent", "123")));
+        String etag = mockMvc.perform(get("/listing"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        when(propertyService.getAllPropertiesWithAgentInfo()).thenReturn(List.of(agentDto("agent", "456")));
+        mockMvc.perform(get("/listing").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    private static PropertyDto agentDto(String username, String phoneNumber) {
+        PropertyDto dto = new PropertyDto();
+        dto.setUsername(username);
+        dto.setPhoneNumber(phoneNumber);
+        return dto;
+    }
+
+    @Nested
+    class Paged {
+        @Test
+        @DisplayName("GET /listing?limit - full view -> 200 + nextCursor")
+        void fullView() throws Exception {
+            when(propertyService.getPropertyPage(10L, 2, true, null))
+                    .thenReturn(new PropertyPage<>(List.of(new PropertyDto(), new PropertyDto()), 12L));
+
+            mockMvc.perform(get("/listing").param("limit", "2").param("after", "10").param("available", "true"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items.length()").value(2))
+                    .andExpect(jsonPath("$.nextCursor").value(12));
+        }
+
+        @Test
+        @DisplayName("GET /listing?limit&view=summary - 200 without description")
+        void summaryView() throws Exception {
+            PropertySummary summary = new PropertySummary(1L, "Flat", null, "1 Road", null,
+                    null, null, 2, 1, true, null, "7");
+            when(propertyService.getPropertySummaryPage(null, 50, null, "7"))
+                    .thenReturn(new PropertyPage<>(List.of(summary), null));
+
+            mockMvc.perform(get("/listing").param("limit", "50").param("agentId", "7").param("view", "summary"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.items[0].title").value("Flat"))
+                    .andExpect(jsonPath("$.items[0].description").doesNotExist())
+                    .andExpect(jsonPath("$.nextCursor").isEmpty());
+        }
+
+        @Test
+        @DisplayName("GET /listing?limit&view=bogus - 400")
+        void unknownView() throws Exception {
+            mockMvc.perform(get("/listing").param("limit", "5").param("view", "bogus"))
+                    .andExpect(status().isBadRequest());
+
+            verifyNoInteractions(propertyService);
+        }
+    }
+
+    @Nested
+    class View {
+        @Test
+        @DisplayName("GET /listing/{id}/view?userId - 200 with flags")
+        void found() throws Exception {
+            PropertyView view = new PropertyView();
+            Property p = new Property();
+            p.setId(4L);
+            view.setProperty(p);
+            view.setUsername("agent");
+            view.setFavorited(true);
+            when(propertyViewService.getPropertyView(4L, 9L)).thenReturn(Optional.of(view));
+
+            mockMvc.perform(get("/listing/4/view").param("userId", "9"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.property.id").value(4))
+                    .andExpect(jsonPath("$.username").value("agent"))
+                    .andExpect(jsonPath("$.favorited").value(true))
+                    .andExpect(jsonPath("$.priceAlert").isEmpty());
+        }
+
+        @Test
+        @DisplayName("GET /listing/{id}/view - 404 when missing")
+        void missing() throws Exception {
+            when(propertyViewService.getPropertyView(5L, null)).thenReturn(Optional.empty());
+
+            mockMvc.perform(get("/listing/5/view"))
+                    .andExpect(status().isNotFound());
+        }
+
+        @Test
+        @DisplayName("GET /listing/{id}/view - 504 when the listing times out")
+        void timeout() throws Exception {
+            when(propertyViewService.getPropertyView(6L, null))
+                    .thenThrow(new CompletionException(new TimeoutException()));
+
+            mockMvc.perform(get("/listing/6/view"))
+                    .andExpect(status().isGatewayTimeout());
+        }
+    }
+
+    @Nested
+    class Snapshot {
+        @Test
+        @DisplayName("GET /listing/snapshot?since - streamed NDJSON + as-of header")
+        void streamsDelta() throws Exception {
+            LocalDateTime since = LocalDateTime.of(2025, 1, 1, 0, 0);
+            LocalDateTime asOf = LocalDateTime.of(2025, 2, 1, 12, 30);
+            when(propertySnapshotService.nextSince()).thenReturn(asOf);
+            doAnswer(inv -> {
+                OutputStream out = inv.getArgument(2);
+                out.write("{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+                return 2L;
+            }).when(propertySnapshotService).writeSnapshot(eq(since), eq(true), any());
+
+            MvcResult started = mockMvc.perform(get("/listing/snapshot")
+                            .param("since", "2025-01-01T00:00:00")
+                            .param("available", "true"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(started))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType("application/x-ndjson"))
+                    .andExpect(header().string("X-Snapshot-As-Of", "2025-02-01T12:30"))
+                    .andExpect(content().string("{\"id\":1}\n{\"id\":2}\n"));
+            verifyNoInteractions(propertyService);
+        }
+    }
+
     @Nested
     class GetById {
         @Test
@@ -75,6 +268,38 @@ class PropertyControllerStandaloneTest {
             verify(propertyService).getPropertyById(1L);
         }
 
+        @Test
+        @DisplayName("GET /listing/{id} - ETag round trip -> 304 without a body")
+        void notModified() throws Exception {
+            LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5, 678_000);
+            Property property = new Property();
+            property.setId(1L);
+            property.setUpdatedAt(updatedAt);
+            PropertyDto dto = new PropertyDto();
+            dto.setProperty(property);
+            when(propertyService.getPropertyById(1L)).thenReturn(Optional.of(dto));
+
+            String etag = mockMvc.perform(get("/listing/{id}", 1L))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.LAST_MODIFIED))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(get("/listing/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+
+            // a change of the agent's details invalidates the client's copy
+            dto.setPhoneNumber("999");
+            mockMvc.perform(get("/listing/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk());
+
+            // and so does a later modification of the listing
+            dto.setPhoneNumber(null);
+            property.setUpdatedAt(updatedAt.plusNanos(1000));
+            mockMvc.perform(get("/listing/{id}", 1L).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isOk());
+        }
+
         @Test
         @DisplayName("GET /listing/{id} - not found -> 404")
         void notFound() throws Exception {
@@ -87,6 +312,72 @@ class PropertyControllerStandaloneTest {
         }
     }
 
+    @Test
+    @DisplayName("GET /listing/changes - 200 + ordered deltas, negative since -> 400")
+    void changes() throws Exception {
+        Property property = new Property();
+        property.setId(1L);
+        property.setChangeSeq(11L);
+        PropertyChangePage page = new PropertyChangePage(List.of(
+                new PropertyChange(11L, 1L, PropertyChange.Type.UPSERT, property),
+                new PropertyChange(12L, 2L, PropertyChange.Type.DELETE, null)), 12L, true);
+        when(propertyChangeService.getChanges(10L, 2)).thenReturn(page);
+
+        mockMvc.perform(get("/listing/changes").param("since", "10").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.changes[0].type").value("UPSERT"))
+                .andExpect(jsonPath("$.changes[0].property.changeSeq").value(11))
+                .andExpect(jsonPath("$.changes[1].type").value("DELETE"))
+                .andExpect(jsonPath("$.nextSince").value(12))
+                .andExpect(jsonPath("$.hasMore").value(true));
+
+        mockMvc.perform(get("/listing/changes").param("since", "-1"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Nested
+    class Media {
+        @Test
+        @DisplayName("GET /listing/{id}/media - 200 + images in order, ETag round trip -> 304")
+        void images() throws Exception {
+            LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 2, 3, 4, 5);
+            when(propertyService.getPropertyLastModified(1L)).thenReturn(Optional.of(updatedAt));
+            when(propertyService.getPropertyImages(1L)).thenReturn(List.of("a.jpg", "b.jpg"));
+
+            String etag = mockMvc.perform(get("/listing/{id}/media", 1L))
+                    .andExpect(status().isOk())
+                    .andExpect(content().json("[\"a.jpg\",\"b.jpg\"]", true))
+                    .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(get("/listing/{id}/media", 1L).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+
+            verify(propertyService, times(1)).getPropertyImages(1L);
+        }
+
+        @Test
+        @DisplayName("GET /listing/{id}/media - not found -> 404")
+        void notFound() throws Exception {
+            when(propertyService.getPropertyLastModified(999L)).thenReturn(Optional.empty());
+
+            mockMvc.perform(get("/listing/{id}/media", 999L))
+                    .andExpect(status().isNotFound());
+        }
+    }
+
+    @Test
+    @DisplayName("GET /listing/nearby - 200 + results, bad coordinates -> 400")
+    void nearby() throws Exception {
+        when(propertyService.getNearbyProperties(1.3, 103.8, 2000, 50, null)).thenReturn(List.of(new PropertyDto()));
+
+        mockMvc.perform(get("/listing/nearby").param("lat", "1.3").param("lng", "103.8"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1));
+
+        mockMvc.perform(get("/listing/nearby").param("lat", "91").param("lng", "103.8"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("POST /listing - 200")
     void create() throws Exception {
@@ -103,6 +394,31 @@ class PropertyControllerStandaloneTest {
         verify(propertyService).createProperty(any(Property.class));
     }
 
+    @Test
+    @DisplayName("POST /listing/bulk - JSON array and NDJSON -> 200 + counts")
+    void bulkImport() throws Exception {
+        BulkImportResult result = new BulkImportResult(2, 1, 1,
+                List.of(new BulkImportResult.RowError(1, "title is required")));
+        when(propertyBulkImportService.importJsonArray(any())).thenReturn(result);
+        when(propertyBulkImportService.importNdjson(any())).thenReturn(result);
+
+        mockMvc.perform(post("/listing/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{},{}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.errors[0].row").value(1));
+
+        mockMvc.perform(post("/listing/bulk")
+                        .contentType("application/x-ndjson")
+                        .content("{}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.failed").value(1));
+
+        verify(propertyBulkImportService).importJsonArray(any());
+        verify(propertyBulkImportService).importNdjson(any());
+    }
+
     @Test
     @DisplayName("PUT /listing/{id} - found -> 200")
     void update_found() throws Exception {
@@ -119,11 +435,47 @@ class PropertyControllerStandaloneTest {
         verify(propertyService).updateProperty(eq(1L), any(Property.class));
     }
 
+    @Test
+    @DisplayName("PATCH /listing/{id} - 200 / 404 / 409 / 400")
+    void patch_statuses() throws Exception {
+        Property patched = new Property();
+        patched.setVersion(4L);
+        when(propertyService.patchProperty(eq(1L), any(PropertyPatch.class))).thenReturn(patched);
+        when(propertyService.patchProperty(eq(2L), any(PropertyPatch.class)))
+                .thenThrow(new PropertyExceptions.PropertyNotFoundException(2L));
+        when(propertyService.patchProperty(eq(3L), any(PropertyPatch.class)))
+                .thenThrow(new PropertyExceptions.PropertyConflictException(3L, 3L));
+
+        String body = "{\"version\":3,\"price\":2500}";
+        mockMvc.perform(patch("/listing/{id}", 1L).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(4));
+        mockMvc.perform(patch("/listing/{id}", 2L).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(patch("/listing/{id}", 3L).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/listing/{id}", 1L).contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"version\":3,\"postedAt\":\"2020-01-01T00:00:00\"}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("PUT /listing/{id} - stale version -> 409")
+    void update_conflict() throws Exception {
+        when(propertyService.updateProperty(eq(1L), any(Property.class)))
+                .thenThrow(new PropertyExceptions.PropertyConflictException(1L, 1L));
+
+        mockMvc.perform(put("/listing/{id}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new Property())))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     @DisplayName("PUT /listing/{id} - not found -> 404")
     void update_notFound() throws Exception {
         Property body = new Property();
-        when(propertyService.updateProperty(eq(999L), any(Property.class))).thenReturn(null);
+        when(propertyService.updateProperty(eq(999L), any(Property.class))).thenThrow(new PropertyExceptions.PropertyNotFoundException(999L));
 
         mockMvc.perform(put("/listing/{id}", 999L)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -0,0 +1,68 @@
+package com.team12.listingservice;
+
+import com.team12.listingservice.model.PropertyDto;
+import com.team12.listingservice.service.PropertyDetailCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PropertyDetailCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PropertyDetailCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        cache = new PropertyDetailCache(meterRegistry, Duration.ofMinutes(10), 100);
+        loads.set(0);
+    }
+
+    private PropertyDto load(Long id) {
+        loads.incrementAndGet();
+        return new PropertyDto();
+    }
+
+    @Test
+    void testHitRatioIsExposed() {
+        cache.get(5L, this::load);
+        cache.get(5L, this::load);
+
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "listing.property.detail").tag("result", "hit")
+                .functionCounter().count());
+    }
+
+    @Test
+    void testMissingPropertyIsNotCached() {
+        assertTrue(cache.get(6L, id -> null).isEmpty());
+
+        assertTrue(cache.get(6L, this::load).isPresent());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testFailedLoadIsRethrownAndRetried() {
+        assertThrows(IllegalStateException.class, () -> cache.get(7L, id -> {
+            throw new IllegalStateException("db down");
+        }));
+
+        assertTrue(cache.get(7L, this::load).isPresent());
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testLoaderErrorIsRethrownAndNotCached() {
+        assertThrows(StackOverflowError.class, () -> cache.get(8L, id -> {
+            throw new StackOverflowError();
+        }));
+
+        assertTrue(cache.get(8L, this::load).isPresent());
+        assertEquals(1, loads.get());
+    }
+}
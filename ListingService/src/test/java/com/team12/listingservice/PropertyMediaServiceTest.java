@@ -0,0 +1,55 @@
+package com.team12.listingservice;
+
+import com.team12.listingservice.model.PropertyMedia;
+import com.team12.listingservice.reponsitory.PropertyMediaRepository;
+import com.team12.listingservice.service.PropertyMediaService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class PropertyMediaServiceTest {
+
+    @Test
+    void testNormalizeTrimsAndDropsBlankReferences() {
+        assertEquals(List.of("a.jpg", "b.jpg"), PropertyMediaService.normalize(Arrays.asList(" a.jpg ", "", null, "b.jpg")));
+        assertNull(PropertyMediaService.normalize(null));
+    }
+
+    @Test
+    void testNormalizeRejectsTooManyOrTooLongReferences() {
+        List<String> tooMany = Collections.nCopies(PropertyMediaService.MAX_IMAGES + 1, "a.jpg");
+        assertThrows(IllegalArgumentException.class, () -> PropertyMediaService.normalize(tooMany));
+
+        String tooLong = "x".repeat(PropertyMediaService.MAX_URL_LENGTH + 1);
+        assertThrows(IllegalArgumentException.class, () -> PropertyMediaService.normalize(List.of(tooLong)));
+    }
+
+    @Test
+    void testThumbnailIsTheFirstImageWhenItFitsTheColumn() {
+        assertEquals("a.jpg", PropertyMediaService.thumbnailOf(List.of("a.jpg", "b.jpg")));
+        assertNull(PropertyMediaService.thumbnailOf(List.of()));
+        assertNull(PropertyMediaService.thumbnailOf(List.of("x".repeat(PropertyMediaService.MAX_THUMBNAIL_LENGTH + 1))));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testReplaceImagesRewritesTheOrderedList() {
+        PropertyMediaRepository repository = mock(PropertyMediaRepository.class);
+        PropertyMediaService service = new PropertyMediaService(repository);
+
+        service.replaceImages(7L, List.of("a.jpg", "b.jpg"));
+
+        ArgumentCaptor<List<PropertyMedia>> saved = ArgumentCaptor.forClass(List.class);
+        verify(repository).deleteByPropertyId(7L);
+        verify(repository).saveAll(saved.capture());
+        assertEquals(2, saved.getValue().size());
+        assertEquals(1, saved.getValue().get(1).getSortOrder());
+        assertEquals("b.jpg", saved.getValue().get(1).getUrl());
+    }
+}
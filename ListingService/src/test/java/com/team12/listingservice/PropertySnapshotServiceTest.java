@@ -0,0 +1,79 @@
+package com.team12.listingservice;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team12.listingservice.model.PropertySummary;
+import com.team12.listingservice.reponsitory.PropertyRepository;
+import com.team12.listingservice.service.PropertySnapshotService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PropertySnapshotServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private PropertyRepository propertyRepository;
+    private PropertySnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository = mock(PropertyRepository.class);
+        snapshotService = new PropertySnapshotService(propertyRepository, objectMapper);
+    }
+
+    private PropertySummary summary(long id) {
+        return new PropertySummary(id, "Flat " + id, new BigDecimal("2500.00"), id + " Road", null,
+                1.3, 103.8, 2, 1, true, LocalDateTime.of(2025, 1, 1, 9, 0), "7");
+    }
+
+    @Test
+    void testWritesOneSummaryPerLineAndClosesTheStream() throws Exception {
+        LocalDateTime since = LocalDateTime.of(2025, 1, 1, 0, 0);
+        AtomicBoolean closed = new AtomicBoolean();
+        when(propertyRepository.streamSummaries(since, true))
+                .thenReturn(Stream.of(summary(1), summary(2)).onClose(() -> closed.set(true)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long written = snapshotService.writeSnapshot(since, true, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n", -1);
+        assertEquals(2, written);
+        assertEquals(3, lines.length);
+        assertEquals("", lines[2]);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals(1, first.get("id").asLong());
+        assertEquals(1.3, first.get("location").get("latitude").asDouble());
+        assertFalse(first.has("description"));
+        assertEquals(2, objectMapper.readTree(lines[1]).get("id").asLong());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    void testEmptyDeltaWritesNothing() throws Exception {
+        when(propertyRepository.streamSummaries(null, null)).thenReturn(Stream.empty());
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, snapshotService.writeSnapshot(null, null, out));
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void testNextSinceOverlapsTheRead() {
+        LocalDateTime before = LocalDateTime.now();
+
+        LocalDateTime next = snapshotService.nextSince();
+
+        assertTrue(next.isBefore(before));
+        assertTrue(next.isAfter(before.minusMinutes(5)));
+    }
+}
@@ -0,0 +1,111 @@
+package com.team12.listingservice;
+
+import com.team12.listingservice.service.PropertyStatsService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class PropertyStatsServiceTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private PropertyStatsService propertyStatsService;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = mock(JdbcTemplate.class);
+        propertyStatsService = new PropertyStatsService(jdbcTemplate, mock(PlatformTransactionManager.class));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<List<Object>> appliedDeltas() {
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), rows.capture());
+        return rows.getValue().stream().map(Arrays::asList).toList();
+    }
+
+    private static Map<String, Object> row(Object... keyValues) {
+        Map<String, Object> row = new HashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            row.put((String) keyValues[i], keyValues[i + 1]);
+        }
+        return row;
+    }
+
+    @Test
+    void testPriceBands() {
+        assertEquals("0-1000", PropertyStatsService.priceBand(new BigDecimal("999.99")));
+        assertEquals("1000-2000", PropertyStatsService.priceBand(new BigDecimal("1000")));
+        assertEquals("5000-10000", PropertyStatsService.priceBand(new BigDecimal("9999")));
+        assertEquals("10000+", PropertyStatsService.priceBand(new BigDecimal("123456.78")));
+    }
+
+    @Test
+    void testCreateCountsEveryBreakdown() {
+        propertyStatsService.record(null, new PropertyStatsService.Counted("agent-1", 2, new BigDecimal("1500"), true));
+
+        assertEquals(List.of(
+                List.<Object>of("agent", "agent-1", 1L, 1L),
+                List.<Object>of("all", "", 1L, 1L),
+                List.<Object>of("bedrooms", "2", 1L, 1L),
+                List.<Object>of("price_band", "1000-2000", 1L, 1L)
+        ), appliedDeltas());
+    }
+
+    @Test
+    void testUpdateOnlyTouchesBucketsThatChange() {
+        propertyStatsService.record(
+                new PropertyStatsService.Counted("agent-1", 2, new BigDecimal("1500"), true),
+                new PropertyStatsService.Counted("agent-1", 3, new BigDecimal("1600"), false));
+
+        assertEquals(List.of(
+                List.<Object>of("agent", "agent-1", 0L, -1L),
+                List.<Object>of("all", "", 0L, -1L),
+                List.<Object>of("bedrooms", "2", -1L, -1L),
+                List.<Object>of("bedrooms", "3", 1L, 0L),
+                List.<Object>of("price_band", "1000-2000", 0L, -1L)
+        ), appliedDeltas());
+    }
+
+    @Test
+    void testReconcileAddsOnlyTheDrift() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT GET_LOCK"), eq(Integer.class), any())).thenReturn(1);
+        when(jdbcTemplate.queryForList(contains("GROUP BY agent_id")))
+                .thenReturn(List.of(row("agent_id", "agent-1", "total", 3L, "available", new BigDecimal(2))));
+        when(jdbcTemplate.queryForList(contains("GROUP BY num_bedrooms")))
+                .thenReturn(List.of(row("num_bedrooms", 2, "band", "0-1000", "total", 3L, "available", new BigDecimal(2))));
+        // the stored agent count missed one write
+        when(jdbcTemplate.queryForList("SELECT dimension, bucket, total, available FROM property_stats"))
+                .thenReturn(List.of(
+                        row("dimension", "all", "bucket", "", "total", 3L, "available", 2L),
+                        row("dimension", "agent", "bucket", "agent-1", "total", 2L, "available", 2L),
+                        row("dimension", "bedrooms", "bucket", "2", "total", 3L, "available", 2L),
+                        row("dimension", "price_band", "bucket", "0-1000", "total", 3L, "available", 2L)));
+
+        Map<String, Object> result = propertyStatsService.reconcile();
+
+        assertEquals(1, result.get("correctedBuckets"));
+        assertEquals(List.of(List.<Object>of("agent", "agent-1", 1L, 0L)), appliedDeltas());
+        verify(jdbcTemplate).queryForObject(startsWith("SELECT RELEASE_LOCK"), eq(Integer.class), any());
+    }
+
+    @Test
+    void testReconcileIsSkippedWhileAnotherInstanceHoldsTheLock() {
+        when(jdbcTemplate.queryForObject(startsWith("SELECT GET_LOCK"), eq(Integer.class), any())).thenReturn(0);
+
+        assertEquals(Map.of("skipped", true), propertyStatsService.reconcile());
+        verify(jdbcTemplate, never()).queryForList(anyString());
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+}
@@ -0,0 +1,136 @@
+package com.team12.listingservice;
+
+import com.team12.clients.userAction.UserActionClient;
+import com.team12.listingservice.model.Property;
+import com.team12.listingservice.model.PropertyDto;
+import com.team12.listingservice.model.PropertyView;
+import com.team12.listingservice.service.PropertyService;
+import com.team12.listingservice.service.PropertyViewService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class PropertyViewServiceTest {
+
+    private PropertyService propertyService;
+    private UserActionClient userActionClient;
+    private PropertyViewService viewService;
+
+    @BeforeEach
+    void setUp() {
+        propertyService = mock(PropertyService.class);
+        userActionClient = mock(UserActionClient.class);
+        viewService = new PropertyViewService(propertyService, userActionClient,
+                Duration.ofMillis(500), Duration.ofMillis(100));
+    }
+
+    private PropertyDto dto(Long id) {
+        Property property = new Property();
+        property.setId(id);
+        PropertyDto dto = new PropertyDto();
+        dto.setProperty(property);
+        dto.setUsername("agent");
+        dto.setPhoneNumber("123");
+        return dto;
+    }
+
+    @Test
+    void testCombinesListingAndFlags() {
+        when(propertyService.getPropertyById(1L)).thenReturn(Optional.of(dto(1L)));
+        when(userActionClient.checkFavoriteStatus("9", 1L)).thenReturn(Map.of("isFavorited", true));
+        when(userActionClient.isPriceAlertEnabled(1L, 9L)).thenReturn(false);
+
+        PropertyView view = viewService.getPropertyView(1L, 9L).orElseThrow();
+
+        assertEquals(1L, view.getProperty().getId());
+        assertEquals("agent", view.getUsername());
+        assertEquals("123", view.getPhoneNumber());
+        assertTrue(view.getFavorited());
+        assertFalse(view.getPriceAlert());
+    }
+
+    @Test
+    void testCallsRunConcurrently() throws Exception {
+        // each call waits until all three have started; run one after another they would time out
+        CountDownLatch started = new CountDownLatch(3);
+        when(propertyService.getPropertyById(1L)).thenAnswer(inv -> {
+            started.countDown();
+            started.await(1, TimeUnit.SECONDS);
+            return Optional.of(dto(1L));
+        });
+        when(userActionClient.checkFavoriteStatus("9", 1L)).thenAnswer(inv -> {
+            started.countDown();
+            started.await(1, TimeUnit.SECONDS);
+            return Map.of("isFavorited", true);
+        });
+        when(userActionClient.isPriceAlertEnabled(1L, 9L)).thenAnswer(inv -> {
+            started.countDown();
+            started.await(1, TimeUnit.SECONDS);
+            return true;
+        });
+
+        PropertyView view = viewService.getPropertyView(1L, 9L).orElseThrow();
+
+        assertEquals(0, started.getCount());
+        assertTrue(view.getFavorited());
+        assertTrue(view.getPriceAlert());
+    }
+
+    @Test
+    void testSlowOrFailingFlagsFallBackToNull() {
+        when(propertyService.getPropertyById(1L)).thenReturn(Optional.of(dto(1L)));
+        when(userActionClient.checkFavoriteStatus(any(), anyLong())).thenAnswer(inv -> {
+            Thread.sleep(1000);
+            return Map.of("isFavorited", true);
+        });
+        when(userActionClient.isPriceAlertEnabled(anyLong(), anyLong())).thenThrow(new IllegalStateException("down"));
+
+        long start = System.nanoTime();
+        PropertyView view = viewService.getPropertyView(1L, 9L).orElseThrow();
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 900);
+        assertNull(view.getFavorited());
+        assertNull(view.getPriceAlert());
+        assertEquals("agent", view.getUsername());
+    }
+
+    @Test
+    void testAnonymousViewSkipsUserActionService() {
+        when(propertyService.getPropertyById(1L)).thenReturn(Optional.of(dto(1L)));
+
+        PropertyView view = viewService.getPropertyView(1L, null).orElseThrow();
+
+        assertNull(view.getFavorited());
+        verifyNoInteractions(userActionClient);
+    }
+
+    @Test
+    void testMissingPropertyIsEmpty() {
+        when(propertyService.getPropertyById(2L)).thenReturn(Optional.empty());
+
+        assertTrue(viewService.getPropertyView(2L, 9L).isEmpty());
+    }
+
+    @Test
+    void testSlowListingTimesOut() {
+        when(propertyService.getPropertyById(3L)).thenAnswer(inv -> {
+            Thread.sleep(2000);
+            return Optional.of(dto(3L));
+        });
+
+        CompletionException e = assertThrows(CompletionException.class, () -> viewService.getPropertyView(3L, null));
+        assertInstanceOf(TimeoutException.class, e.getCause());
+    }
+}
@@ -0,0 +1,203 @@
+package com.team12.listingservice;
+
+import com.team12.listingservice.config.ReadReplicaRouter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import jakarta.servlet.http.Cookie;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class ReadReplicaRouterTest {
+
+    private DataSource primary;
+    private DataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+    private ResultSet replicaStatus;
+    private SimpleMeterRegistry meterRegistry;
+    private ReadReplicaRouter router;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+
+        Statement statement = mock(Statement.class);
+        replicaStatus = mock(ResultSet.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery("SHOW REPLICA STATUS")).thenReturn(replicaStatus);
+        when(replicaStatus.next()).thenReturn(true);
+        when(replicaStatus.getLong("Seconds_Behind_Source")).thenReturn(0L);
+
+        meterRegistry = new SimpleMeterRegistry();
+        router = new ReadReplicaRouter(primary, Map.of("replica-1", replica),
+                Duration.ofSeconds(2), Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clear();
+        }
+    }
+
+    private double routed(String target, String reason) {
+        var counter = meterRegistry.find("listing.datasource.routing").tag("target", target).tag("reason", reason).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    @Test
+    void testReadsStayOnPrimaryUntilTheFirstHealthCheck() throws SQLException {
+        assertSame(primaryConnection, router.readDataSource().getConnection());
+        assertEquals(1, routed("primary", "no_healthy_replica"));
+    }
+
+    @Test
+    void testReadsGoToACurrentReplica() throws SQLException {
+        router.checkReplicas();
+
+        assertSame(replicaConnection, router.readDataSource().getConnection());
+        assertEquals(1, routed("replica-1", "replica"));
+        assertEquals(0.0, meterRegistry.get("listing.datasource.replica.lag").gauge().value());
+        assertEquals(1.0, meterRegistry.get("listing.datasource.replica.healthy").gauge().value());
+    }
+
+    @Test
+    void testLaggingReplicaIsTakenOutOfRotation() throws SQLException {
+        when(replicaStatus.getLong("Seconds_Behind_Source")).thenReturn(30L);
+
+        router.checkReplicas();
+
+        assertSame(primaryConnection, router.readDataSource().getConnection());
+        assertEquals(30.0, meterRegistry.get("listing.datasource.replica.lag").gauge().value());
+        assertEquals(0.0, meterRegistry.get("listing.datasource.replica.healthy").gauge().value());
+    }
+
+    @Test
+    void testStoppedReplicationIsUnhealthy() throws SQLException {
+        when(replicaStatus.wasNull()).thenReturn(true);
+
+        router.checkReplicas();
+
+        assertSame(primaryConnection, router.readDataSource().getConnection());
+    }
+
+    @Test
+    void testFailsOverWhenTheReplicaRefusesConnections() throws SQLException {
+        router.checkReplicas();
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+
+        assertSame(primaryConnection, router.readDataSource().getConnection());
+        assertSame(primaryConnection, router.readDataSource().getConnection());
+        assertEquals(1, routed("replica-1", "error"));
+        assertEquals(2, routed("primary", "no_healthy_replica"));
+    }
+
+    @Test
+    void testWriterReadsOwnWritesFromPrimary() throws SQLException {
+        router.checkReplicas();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", null, "ROLE_AGENT"));
+
+        // a write transaction by alice commits
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        router.markWritten();
+        router.markWritten();
+        assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clear();
+
+        assertSame(primaryConnection, router.readDataSource().getConnection());
+        assertEquals(1, routed("primary", "sticky"));
+
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("bob", null, "ROLE_TENANT"));
+        assertSame(replicaConnection, router.readDataSource().getConnection());
+    }
+
+    @Test
+    void testWriterReadsOwnWritesFromPrimaryOnAnotherInstance() throws SQLException {
+        router.checkReplicas();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", null, "ROLE_AGENT"));
+        MockHttpServletResponse writeResponse = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest(), writeResponse));
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        router.markWritten();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clear();
+        Cookie sticky = writeResponse.getCookie(ReadReplicaRouter.STICKY_COOKIE);
+        assertNotNull(sticky);
+        assertTrue(writeResponse.getHeader(HttpHeaders.SET_COOKIE).contains("HttpOnly"));
+
+        // the next request reaches an instance that never saw the write
+        ReadReplicaRouter other = new ReadReplicaRouter(primary, Map.of("replica-1", replica),
+                Duration.ofSeconds(2), Duration.ofSeconds(5), meterRegistry);
+        other.checkReplicas();
+        MockHttpServletRequest nextRequest = new MockHttpServletRequest();
+        nextRequest.setCookies(sticky);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(nextRequest));
+        assertSame(primaryConnection, other.readDataSource().getConnection());
+
+        // a window far beyond the configured one was not set by the service
+        nextRequest.setCookies(new Cookie(ReadReplicaRouter.STICKY_COOKIE,
+                String.valueOf(System.currentTimeMillis() + Duration.ofDays(1).toMillis())));
+        assertSame(replicaConnection, other.readDataSource().getConnection());
+    }
+
+    @Test
+    void testPrimaryReadDoesNotMakeTheUserSticky() throws SQLException {
+        router.checkReplicas();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", null, "ROLE_AGENT"));
+
+        // a read-write transaction that only reads, like a detail cache miss
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        assertSame(primaryConnection, router.writeDataSource().getConnection());
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+        TransactionSynchronizationManager.clear();
+
+        assertSame(replicaConnection, router.readDataSource().getConnection());
+    }
+
+    @Test
+    void testReadOnlyTransactionDoesNotMakeTheUserSticky() throws SQLException {
+        router.checkReplicas();
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("alice", null, "ROLE_AGENT"));
+
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        router.markWritten();
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+        TransactionSynchronizationManager.clear();
+
+        assertSame(replicaConnection, router.readDataSource().getConnection());
+    }
+}
@@ -0,0 +1,35 @@
+package com.team12.notificationservice.config;
+
+import com.team12.notificationservice.dto.PriceChangedEvent;
+import com.team12.notificationservice.service.NotificationService;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class PriceChangedListener {
+
+    private final NotificationService notificationService;
+    private final ServiceTokenProvider serviceTokenProvider;
+
+    /**
+     * Failures propagate so the container retries the event and finally dead-letters it; users notified
+     * by an earlier attempt are skipped on the retry. The fan-out calls other services as this service, so
+     * the listener only starts when a service token can be obtained; until then events wait in the queue.
+     */
+    @RabbitListener(queues = RabbitMQConfig.PRICE_CHANGED_QUEUE, containerFactory = "priceChangedListenerFactory",
+            autoStartup = "#{@serviceTokenProvider.configured}")
+    public void receivePriceChanged(PriceChangedEvent event) {
+        try {
+            int notified = serviceTokenProvider.runAsService(() -> notificationService.notifyPriceChange(event));
+            log.info("Notified {} price-alert subscribers of property {}", notified, event.getPropertyId());
+        } catch (RuntimeException e) {
+            log.warn("Failed to notify price-alert subscribers of property {} (event {}): {}",
+                    event.getPropertyId(), event.getEventId(), e.getMessage());
+            throw e;
+        }
+    }
+}
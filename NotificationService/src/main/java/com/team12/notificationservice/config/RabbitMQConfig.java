@@ -3,10 +3,15 @@ package com.team12.notificationservice.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.amqp.core.*;
+import org.springframework.amqp.rabbit.config.RetryInterceptorBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
+import org.springframework.amqp.rabbit.retry.RejectAndDontRequeueRecoverer;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.amqp.SimpleRabbitListenerContainerFactoryConfigurer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -14,6 +19,13 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 public class RabbitMQConfig {
 
+    public static final String PROPERTY_EVENTS_EXCHANGE = "property.events.exchange";
+    public static final String PRICE_CHANGED_ROUTING_KEY = "property.price.changed";
+    public static final String PRICE_CHANGED_QUEUE = "notification.price-changed.queue";
+    public static final String DEAD_LETTER_EXCHANGE = "notification.dlx";
+    public static final String PRICE_CHANGED_DLQ = "notification.price-changed.dlq";
+    public static final int PRICE_CHANGED_MAX_ATTEMPTS = 5;
+
     @Bean
     public Queue notificationQueue() {
         return new Queue("notification.queue", true); // durable queue
@@ -25,10 +37,63 @@ public class RabbitMQConfig {
     }
 
     @Bean
-    public Binding binding(Queue queue, DirectExchange exchange) {
+    public Binding binding(@Qualifier("notificationQueue") Queue queue, DirectExchange exchange) {
         return BindingBuilder.bind(queue).to(exchange).with("notification.routing.key");
     }
 
+    /**
+     * Price-changed events that failed every attempt are dead-lettered to {@link #PRICE_CHANGED_DLQ}
+     */
+    @Bean
+    public Queue priceChangedQueue() {
+        return QueueBuilder.durable(PRICE_CHANGED_QUEUE)
+                .deadLetterExchange(DEAD_LETTER_EXCHANGE)
+                .deadLetterRoutingKey(PRICE_CHANGED_DLQ)
+                .build();
+    }
+
+    @Bean
+    public DirectExchange deadLetterExchange() {
+        return new DirectExchange(DEAD_LETTER_EXCHANGE);
+    }
+
+    @Bean
+    public Queue priceChangedDeadLetterQueue() {
+        return new Queue(PRICE_CHANGED_DLQ, true);
+    }
+
+    @Bean
+    public Binding priceChangedDeadLetterBinding() {
+        return BindingBuilder.bind(priceChangedDeadLetterQueue()).to(deadLetterExchange()).with(PRICE_CHANGED_DLQ);
+    }
+
+    /**
+     * Listener containers for price-changed events: a failed fan-out is retried with backoff, then
+     * rejected without requeue so the broker dead-letters it instead of the event being acked and lost
+     */
+    @Bean
+    public SimpleRabbitListenerContainerFactory priceChangedListenerFactory(
+            SimpleRabbitListenerContainerFactoryConfigurer configurer, ConnectionFactory connectionFactory) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        configurer.configure(factory, connectionFactory);
+        factory.setAdviceChain(RetryInterceptorBuilder.stateless()
+                .maxAttempts(PRICE_CHANGED_MAX_ATTEMPTS)
+                .backOffOptions(1000, 2.0, 30000)
+                .recoverer(new RejectAndDontRequeueRecoverer())
+                .build());
+        return factory;
+    }
+
+    @Bean
+    public TopicExchange propertyEventsExchange() {
+        return new TopicExchange(PROPERTY_EVENTS_EXCHANGE);
+    }
+
+    @Bean
+    public Binding priceChangedBinding() {
+        return BindingBuilder.bind(priceChangedQueue()).to(propertyEventsExchange()).with(PRICE_CHANGED_ROUTING_KEY);
+    }
+
 
     @Bean
     public MessageConverter jsonMessageConverter() {
@@ -0,0 +1,123 @@
+package com.team12.notificationservice.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedMultiValueMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.client.RestClient;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Auth0 client-credentials token for work that does not start from a user request, such as queue listeners.
+ * Feign clients relay whatever JWT is in the security context, so running a task through
+ * {@link #runAsService(Supplier)} lets it call other services as this service.
+ * <p>
+ * Other services reject unauthenticated calls, so without {@code smr.service-auth.*} there is no way to
+ * run such work: {@link #isConfigured()} is false and listeners that need a token stay stopped.
+ */
+@Slf4j
+@Component
+public class ServiceTokenProvider {
+
+    private static final long REFRESH_MARGIN_SECONDS = 60;
+
+    private final RestClient restClient;
+    private final String tokenUri;
+    private final String clientId;
+    private final String clientSecret;
+    private final String audience;
+
+    // a lock rather than synchronized: the refresh is an HTTP call and must not pin a virtual thread's carrier
+    private final ReentrantLock refreshLock = new ReentrantLock();
+    private volatile Jwt cached;
+
+    public ServiceTokenProvider(RestClient.Builder restClientBuilder,
+                                @Value("${smr.service-auth.token-uri}") String tokenUri,
+                                @Value("${smr.service-auth.client-id:}") String clientId,
+                                @Value("${smr.service-auth.client-secret:}") String clientSecret,
+                                @Value("${smr.service-auth.audience:}") String audience) {
+        this.restClient = restClientBuilder.build();
+        this.tokenUri = tokenUri;
+        this.clientId = clientId;
+        this.clientSecret = clientSecret;
+        this.audience = audience;
+        if (!isConfigured()) {
+            log.warn("smr.service-auth.client-id, client-secret and audience are not all set; "
+                    + "price alerts stay queued until they are");
+        }
+    }
+
+    public boolean isConfigured() {
+        return !clientId.isBlank() && !clientSecret.isBlank() && !audience.isBlank();
+    }
+
+    public <T> T runAsService(Supplier<T> task) {
+        if (!isConfigured()) {
+            throw new IllegalStateException("smr.service-auth is not configured; cannot call other services as this service");
+        }
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(new JwtAuthenticationToken(token()));
+        SecurityContextHolder.setContext(context);
+        try {
+            return task.get();
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    private Jwt token() {
+        Jwt current = cached;
+        if (current != null && current.getExpiresAt().isAfter(Instant.now().plusSeconds(REFRESH_MARGIN_SECONDS))) {
+            return current;
+        }
+        refreshLock.lock();
+        try {
+            current = cached;
+            if (current == null || !current.getExpiresAt().isAfter(Instant.now().plusSeconds(REFRESH_MARGIN_SECONDS))) {
+                current = fetch();
+                cached = current;
+            }
+            return current;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    private Jwt fetch() {
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("grant_type", "client_credentials");
+        form.add("client_id", clientId);
+        form.add("client_secret", clientSecret);
+        form.add("audience", audience);
+
+        Map<?, ?> response = restClient.post()
+                .uri(tokenUri)
+                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                .body(form)
+                .retrieve()
+                .body(Map.class);
+        if (response == null || response.get("access_token") == null) {
+            throw new IllegalStateException("Token endpoint returned no access_token");
+        }
+
+        Instant issuedAt = Instant.now();
+        long expiresIn = response.get("expires_in") instanceof Number n ? n.longValue() : 3600;
+        return Jwt.withTokenValue((String) response.get("access_token"))
+                .header("alg", "RS256")
+                .subject(clientId + "@clients")
+                .issuedAt(issuedAt)
+                .expiresAt(issuedAt.plusSeconds(expiresIn))
+                .build();
+    }
+}
@@ -0,0 +1,19 @@
+package com.team12.notificationservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PriceChangedEvent {
+    // unique per price change; null on events queued before it was introduced
+    private String eventId;
+    private Long propertyId;
+    private String title;
+    private BigDecimal oldPrice;
+    private BigDecimal newPrice;
+}
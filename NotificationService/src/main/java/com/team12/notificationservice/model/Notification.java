@@ -11,6 +11,8 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
+// one notification per user and event, so a redelivered event cannot notify anyone twice
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_notification_event_to", columnNames = {"event_id", "to_id"}))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
@@ -42,6 +44,12 @@ public class Notification {
     @Column(nullable = false)
     private boolean isread;
 
+    /**
+     * Event the notification was created for; null for notifications not caused by an event
+     */
+    @Column(name = "event_id", length = 36)
+    private String eventId;
+
     @Column(nullable = false, updatable = false)
     @CreationTimestamp
     private LocalDateTime createdAt;
@@ -2,11 +2,20 @@ package com.team12.notificationservice.repository;
 
 import com.team12.notificationservice.model.Notification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
     List<Notification> findByFromId(String fromId);
     List<Notification> findByToId(String toId);
+
+    /**
+     * Recipients among {@code toIds} already notified of an event
+     */
+    @Query("SELECT n.toId FROM Notification n WHERE n.eventId = :eventId AND n.toId IN :toIds")
+    List<String> findNotifiedToIds(@Param("eventId") String eventId, @Param("toIds") Collection<String> toIds);
 }
@@ -2,13 +2,18 @@ package com.team12.notificationservice.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
+import com.google.firebase.messaging.FirebaseMessagingException;
 import com.google.firebase.messaging.Message;
 import com.google.firebase.messaging.Notification;
 import com.team12.notificationservice.dto.NotificationDto;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 
 @Slf4j
@@ -16,6 +21,9 @@ import java.util.concurrent.ExecutionException;
 @AllArgsConstructor
 public class MessagingService {
 
+    // FCM accepts at most 500 messages per sendEach call
+    private static final int FCM_BATCH_SIZE = 500;
+
     private final ObjectMapper objectMapper;
 
     public void sendNotificationToDevice(String deviceToken, String title, String body, NotificationDto notificationDto)
@@ -37,4 +45,53 @@ public class MessagingService {
         String response = FirebaseMessaging.getInstance().sendAsync(message).get();
         log.info("Successfully sent message: {}", response);
     }
-}
\ No newline at end of file
+
+    /**
+     * Push stored notifications to their devices in FCM batches; notifications without a device token are skipped
+     */
+    public void sendNotificationsToDevices(List<com.team12.notificationservice.model.Notification> notifications)
+            throws FirebaseMessagingException, JsonProcessingException {
+
+        List<Message> messages = new ArrayList<>(Math.min(notifications.size(), FCM_BATCH_SIZE));
+        for (com.team12.notificationservice.model.Notification n : notifications) {
+            if (n.getToDeviceId() == null || n.getToDeviceId().isBlank()) {
+                continue;
+            }
+            NotificationDto dto = NotificationDto.builder()
+                    .id(n.getId())
+                    .fromId(n.getFromId())
+                    .fromDeviceId(n.getFromDeviceId())
+                    .toId(n.getToId())
+                    .toDeviceId(n.getToDeviceId())
+                    .message(n.getMessage())
+                    .type(n.getType())
+                    .isRead(n.isIsread())
+                    .createdAt(n.getCreatedAt())
+                    .build();
+            messages.add(Message.builder()
+                    .setToken(n.getToDeviceId())
+                    .setNotification(Notification.builder()
+                            .setTitle(n.getType().toString())
+                            .setBody(n.getMessage())
+                            .build())
+                    .putData("data", objectMapper.writeValueAsString(dto))
+                    .build());
+            if (messages.size() == FCM_BATCH_SIZE) {
+                sendBatch(messages);
+                messages.clear();
+            }
+        }
+        if (!messages.isEmpty()) {
+            sendBatch(messages);
+        }
+    }
+
+    private void sendBatch(List<Message> messages) throws FirebaseMessagingException {
+        BatchResponse response = FirebaseMessaging.getInstance().sendEach(messages);
+        if (response.getFailureCount() > 0) {
+            log.warn("FCM batch: {} sent, {} failed", response.getSuccessCount(), response.getFailureCount());
+        } else {
+            log.info("FCM batch: {} sent", response.getSuccessCount());
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.team12.notificationservice.service;
 
 import com.team12.clients.notification.dto.NotificationRequest;
 import com.team12.clients.user.UserClient;
+import com.team12.clients.userAction.UserActionClient;
+import com.team12.clients.userAction.dto.UserIdPage;
 import com.team12.notificationservice.dto.NotificationCreateDto;
+import com.team12.notificationservice.dto.PriceChangedEvent;
 import com.team12.notificationservice.model.Notification;
 import com.team12.notificationservice.model.NotificationType;
 import com.team12.notificationservice.repository.NotificationRepository;
@@ -14,8 +17,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -27,8 +34,11 @@ public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final UserClient userClient;
     private final AmqpTemplate amqpTemplate;
+    private final UserActionClient userActionClient;
+    private final MessagingService messagingService;
 
     private static final String ERR_NOT_FOUND_FMT = "Notification not found: %s";
+    private static final int PRICE_ALERT_PAGE_SIZE = 500;
 
     private Notification buildNotification(
             String fromId,
@@ -99,6 +109,71 @@ public class NotificationService {
         saveAndPublish(n);
     }
 
+    /**
+     * Notify every price-alert subscriber of a property, one page of subscribers at a time.
+     * Each page costs one device-id lookup, one batch insert and one FCM batch send.
+     * Idempotent per event and user: a redelivered event skips users who already have its notification.
+     *
+     * @return number of notifications stored
+     */
+    public int notifyPriceChange(PriceChangedEvent event) {
+        String message = "Property " + event.getTitle() +
+                " price changed from " + event.getOldPrice() +
+                " to " + event.getNewPrice();
+
+        int notified = 0;
+        Long cursor = null;
+        do {
+            UserIdPage page = userActionClient.getPriceAlertUserPage(event.getPropertyId(), cursor, PRICE_ALERT_PAGE_SIZE);
+            List<Long> userIds = pendingRecipients(event.getEventId(), page.getItems());
+            if (!userIds.isEmpty()) {
+                Map<Long, String> deviceIds = userClient.getDeviceIDsByIds(userIds).getBody();
+                List<Notification> batch = new ArrayList<>(userIds.size());
+                for (Long uid : userIds) {
+                    String toDeviceId = deviceIds == null ? null : deviceIds.get(uid);
+                    Notification notification = buildNotification(
+                            "1",
+                            "System",
+                            uid.toString(),
+                            toDeviceId == null ? "" : toDeviceId,
+                            message,
+                            NotificationType.SYSTEM
+                    );
+                    notification.setEventId(event.getEventId());
+                    batch.add(notification);
+                }
+                List<Notification> saved = notificationRepository.saveAll(batch);
+                notified += saved.size();
+                try {
+                    messagingService.sendNotificationsToDevices(saved);
+                } catch (Exception e) {
+                    // Notifications are stored; users still see them in-app even if the push fails
+                    log.error("Failed to push price alerts for property {}", event.getPropertyId(), e);
+                }
+            }
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return notified;
+    }
+
+    /**
+     * Subscribers on this page that have not been notified of the event yet
+     */
+    private List<Long> pendingRecipients(String eventId, List<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return List.of();
+        }
+        if (eventId == null) {
+            return userIds;
+        }
+        Set<String> notified = new HashSet<>(notificationRepository.findNotifiedToIds(
+                eventId, userIds.stream().map(String::valueOf).toList()));
+        if (notified.isEmpty()) {
+            return userIds;
+        }
+        return userIds.stream().filter(uid -> !notified.contains(uid.toString())).toList();
+    }
+
     public List<Notification> getAllNotifications() {
         return notificationRepository.findAll();
     }
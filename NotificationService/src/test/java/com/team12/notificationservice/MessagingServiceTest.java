@@ -4,8 +4,10 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.api.core.ApiFutures;
 import com.google.api.core.SettableApiFuture;
+import com.google.firebase.messaging.BatchResponse;
 import com.google.firebase.messaging.FirebaseMessaging;
 import com.google.firebase.messaging.Message;
+import com.team12.notificationservice.model.NotificationType;
 import com.team12.notificationservice.service.MessagingService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -13,6 +15,8 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.MockedStatic;
 import com.google.api.core.ApiFuture;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.concurrent.ExecutionException;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -103,4 +107,33 @@ class MessagingServiceTest {
                 )
         );
     }
+
+    @Test
+    @DisplayName("sendNotificationsToDevices: one sendEach per batch, blank tokens skipped")
+    void send_batch_ok() throws Exception {
+        ObjectMapper mapper = new ObjectMapper().findAndRegisterModules();
+        MessagingService service = new MessagingService(mapper);
+
+        FirebaseMessaging fm = mock(FirebaseMessaging.class);
+        try (MockedStatic<FirebaseMessaging> mocked = mockStatic(FirebaseMessaging.class)) {
+            mocked.when(FirebaseMessaging::getInstance).thenReturn(fm);
+            BatchResponse response = mock(BatchResponse.class);
+            when(response.getSuccessCount()).thenReturn(1);
+            when(fm.sendEach(anyList())).thenReturn(response);
+
+            var withDevice = com.team12.notificationservice.model.Notification.builder()
+                    .id(1L).fromId("1").fromDeviceId("System").toId("2").toDeviceId("dev-2")
+                    .message("price changed").type(NotificationType.SYSTEM).createdAt(LocalDateTime.now()).build();
+            var withoutDevice = com.team12.notificationservice.model.Notification.builder()
+                    .id(2L).fromId("1").fromDeviceId("System").toId("3").toDeviceId("")
+                    .message("price changed").type(NotificationType.SYSTEM).createdAt(LocalDateTime.now()).build();
+
+            service.sendNotificationsToDevices(List.of(withDevice, withoutDevice));
+
+            @SuppressWarnings("unchecked")
+            ArgumentCaptor<List<Message>> captor = ArgumentCaptor.forClass(List.class);
+            verify(fm).sendEach(captor.capture());
+            assertEquals(1, captor.getValue().size());
+        }
+    }
 }
@@ -2,9 +2,13 @@ package com.team12.notificationservice;
 
 import com.team12.clients.notification.dto.NotificationRequest;
 import com.team12.clients.user.UserClient;
+import com.team12.clients.userAction.UserActionClient;
+import com.team12.clients.userAction.dto.UserIdPage;
+import com.team12.notificationservice.dto.PriceChangedEvent;
 import com.team12.notificationservice.model.Notification;
 import com.team12.notificationservice.model.NotificationType;
 import com.team12.notificationservice.repository.NotificationRepository;
+import com.team12.notificationservice.service.MessagingService;
 import com.team12.notificationservice.service.NotificationService;
 import jakarta.persistence.EntityNotFoundException;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,8 +21,10 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.core.AmqpTemplate;
 import org.springframework.http.ResponseEntity;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.IntStream;
@@ -34,6 +40,8 @@ class NotificationServiceTest {
     @Mock NotificationRepository repo;
     @Mock UserClient userClient;
     @Mock AmqpTemplate amqp;
+    @Mock UserActionClient userActionClient;
+    @Mock MessagingService messagingService;
 
     @InjectMocks NotificationService service;
 
@@ -396,4 +404,53 @@ class NotificationServiceTest {
         verify(repo, atLeast(2)).save(cap.capture());
         assertTrue(cap.getAllValues().stream().anyMatch(Notification::isIsread));
     }
+
+    private UserIdPage page(Long nextCursor, Long... userIds) {
+        UserIdPage page = new UserIdPage();
+        page.setItems(List.of(userIds));
+        page.setNextCursor(nextCursor);
+        return page;
+    }
+
+    @Test
+    @DisplayName("notifyPriceChange: pages subscribers and stores one batch per page")
+    void notifyPriceChange_pages() throws Exception {
+        when(userActionClient.getPriceAlertUserPage(eq(9L), isNull(), anyInt())).thenReturn(page(2L, 1L, 2L));
+        when(userActionClient.getPriceAlertUserPage(eq(9L), eq(2L), anyInt())).thenReturn(page(null, 3L));
+        when(userClient.getDeviceIDsByIds(List.of(1L, 2L))).thenReturn(ResponseEntity.ok(Map.of(1L, "dev-1")));
+        when(userClient.getDeviceIDsByIds(List.of(3L))).thenReturn(ResponseEntity.ok(Map.of(3L, "dev-3")));
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        int notified = service.notifyPriceChange(
+                new PriceChangedEvent("evt-1", 9L, "Loft", new BigDecimal("100"), new BigDecimal("90")));
+
+        assertEquals(3, notified);
+        ArgumentCaptor<List<Notification>> cap = ArgumentCaptor.forClass(List.class);
+        verify(repo, times(2)).saveAll(cap.capture());
+        Notification first = cap.getAllValues().get(0).get(0);
+        assertEquals("1", first.getToId());
+        assertEquals("dev-1", first.getToDeviceId());
+        assertEquals("Property Loft price changed from 100 to 90", first.getMessage());
+        assertEquals("", cap.getAllValues().get(0).get(1).getToDeviceId());
+        verify(messagingService, times(2)).sendNotificationsToDevices(anyList());
+        verify(userClient, never()).getDeviceIDById(anyLong());
+        assertEquals("evt-1", first.getEventId());
+    }
+
+    @Test
+    @DisplayName("notifyPriceChange: a redelivered event skips users already notified of it")
+    void notifyPriceChange_redeliverySkipsNotifiedUsers() throws Exception {
+        when(userActionClient.getPriceAlertUserPage(eq(9L), isNull(), anyInt())).thenReturn(page(null, 1L, 2L));
+        when(repo.findNotifiedToIds("evt-1", List.of("1", "2"))).thenReturn(List.of("1"));
+        when(userClient.getDeviceIDsByIds(List.of(2L))).thenReturn(ResponseEntity.ok(Map.of(2L, "dev-2")));
+        when(repo.saveAll(anyList())).thenAnswer(inv -> inv.getArgument(0));
+
+        int notified = service.notifyPriceChange(
+                new PriceChangedEvent("evt-1", 9L, "Loft", new BigDecimal("100"), new BigDecimal("90")));
+
+        assertEquals(1, notified);
+        ArgumentCaptor<List<Notification>> cap = ArgumentCaptor.forClass(List.class);
+        verify(repo).saveAll(cap.capture());
+        assertEquals("2", cap.getValue().get(0).getToId());
+    }
 }
@@ -23,6 +23,18 @@ class RabbitMQConfigTest {
         assertTrue(q.isDurable());
     }
 
+    @Test
+    void priceChangedQueue_shouldDeadLetterToItsDlq() {
+        Queue q = cfg.priceChangedQueue();
+        assertTrue(q.isDurable());
+        assertEquals(RabbitMQConfig.DEAD_LETTER_EXCHANGE, q.getArguments().get("x-dead-letter-exchange"));
+        assertEquals(RabbitMQConfig.PRICE_CHANGED_DLQ, q.getArguments().get("x-dead-letter-routing-key"));
+
+        Binding b = cfg.priceChangedDeadLetterBinding();
+        assertEquals(RabbitMQConfig.PRICE_CHANGED_DLQ, b.getDestination());
+        assertEquals(RabbitMQConfig.DEAD_LETTER_EXCHANGE, b.getExchange());
+    }
+
     @Test
     void exchange_shouldBeDirectWithExpectedName() {
         DirectExchange ex = cfg.exchange();
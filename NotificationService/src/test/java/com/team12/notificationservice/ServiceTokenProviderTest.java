@@ -0,0 +1,33 @@
+package com.team12.notificationservice;
+
+import com.team12.notificationservice.config.ServiceTokenProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.RestClient;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ServiceTokenProviderTest {
+
+    private static ServiceTokenProvider provider(String clientId, String clientSecret, String audience) {
+        return new ServiceTokenProvider(RestClient.builder(), "https://auth.example/oauth/token",
+                clientId, clientSecret, audience);
+    }
+
+    @Test
+    void isConfigured_shouldNeedClientIdSecretAndAudience() {
+        assertTrue(provider("id", "secret", "api").isConfigured());
+        assertFalse(provider("", "secret", "api").isConfigured());
+        assertFalse(provider("id", "", "api").isConfigured());
+        assertFalse(provider("id", "secret", " ").isConfigured());
+    }
+
+    @Test
+    void runAsService_shouldRefuseToCallOtherServicesWithoutAToken() {
+        AtomicBoolean ran = new AtomicBoolean();
+
+        assertThrows(IllegalStateException.class, () -> provider("", "", "").runAsService(() -> ran.getAndSet(true)));
+        assertFalse(ran.get());
+    }
+}
@@ -1,6 +1,7 @@
 package com.team12.recommendationservice.feignclient;
 
 import com.team12.recommendationservice.model.Property;
+import feign.Response;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -12,8 +13,9 @@ import java.util.List;
 @FeignClient(name = "listing-service", url = "${feign.client.listing-service.url}")  // 从配置读取URL
 public interface ListingClient {
 
-    @GetMapping("/listing")
-    List<Property> getAllAvailableListings();
+    // 可租房源快照（gzip压缩的NDJSON，精简视图），用 NdjsonReader 逐行解码
+    @GetMapping(value = "/listing/snapshot?available=true", headers = "Accept-Encoding=gzip")
+    Response getAvailableSnapshot();
 
     @GetMapping("/listing/{id}")
     Property getListingById(@PathVariable Long id);
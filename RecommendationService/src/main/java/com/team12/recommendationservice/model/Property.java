@@ -27,8 +27,8 @@ public class Property {
     @Column(nullable = false, length = 255)
     private String address;
 
-    @Column(length = 255)
-    private String img;
+    @Column(length = 512)
+    private String thumbnail;
 
     @Embedded
     private GeoLocation location;
@@ -1,5 +1,7 @@
 package com.team12.recommendationservice.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team12.clients.NdjsonReader;
 import com.team12.recommendationservice.feignclient.ListingClient;
 import com.team12.recommendationservice.feignclient.UserActionClient;
 import com.team12.recommendationservice.model.GeoLocation;
@@ -10,6 +12,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -21,44 +25,50 @@ import java.util.stream.Collectors;
 @Slf4j
 @RequiredArgsConstructor
 public class RecommendationService {
+    private static final int RECOMMENDATION_COUNT = 15;
+
     private final ListingClient listingClient;
     private final UserActionClient userActionClient;
+    private final ObjectMapper objectMapper;
 
     public List<Property> recommendListings(Long userId) {
-        // 1. 获取所有可租房源
-        List<Property> allListings = listingClient.getAllAvailableListings();
-
-        // 2. 尝试获取用户收藏（若无则返回空列表）
+        // 1. 尝试获取用户收藏（若无则返回空列表）
         List<UserAction> favorites = userId != null ?
                 userActionClient.getUserFavorites(userId) :
                 Collections.emptyList();
 
-        // 3. 计算推荐分数
-        Map<Property, Double> scoredListings = new HashMap<>();
-        for (Property listing : allListings) {
-            double score = calculateScore(listing, favorites);
-            scoredListings.put(listing, score);
+        // 2. 用户偏好房源只需获取一次
+        Property favorite = favorites.isEmpty() ? null : listingClient.getListingById(favorites.get(0).getListingId());
+
+        // 3. 流式读取可租房源快照，只保留分数最高的 RECOMMENDATION_COUNT 个（小顶堆）
+        PriorityQueue<Map.Entry<Property, Double>> top =
+                new PriorityQueue<>(RECOMMENDATION_COUNT + 1, Map.Entry.comparingByValue());
+        try {
+            NdjsonReader.forEach(listingClient.getAvailableSnapshot(), objectMapper, Property.class, listing -> {
+                top.add(Map.entry(listing, calculateScore(listing, favorite)));
+                if (top.size() > RECOMMENDATION_COUNT) {
+                    top.poll();
+                }
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read listing snapshot", e);
         }
 
-        // 4. 按分数排序并返回Top 15
-        return scoredListings.entrySet().stream()
+        // 4. 按分数从高到低返回
+        return top.stream()
                 .sorted(Map.Entry.<Property, Double>comparingByValue().reversed())
-                .limit(15)
                 .map(Map.Entry::getKey)
                 .collect(Collectors.toList());
     }
 
-    private double calculateScore(Property listing, List<UserAction> favorites) {
+    private double calculateScore(Property listing, Property favorite) {
         double score = 0.0;
 
         // 基础分：新上架房源加分
         score += 1.0 / (ChronoUnit.DAYS.between(listing.getPostedAt(), LocalDateTime.now()) + 1);
 
         // 个性化加分（如果有收藏记录）
-        if (!favorites.isEmpty()) {
-            // 获取用户偏好（根据收藏记录）
-            Property favorite = listingClient.getListingById(favorites.get(0).getListingId());
-
+        if (favorite != null) {
             // 价格匹配（±20%区间内满分，否则线性递减）
             double priceRatio = Math.abs(listing.getPrice().doubleValue() / favorite.getPrice().doubleValue() - 1);
             score += priceRatio <= 0.2 ? 2.0 : 2.0 - priceRatio;
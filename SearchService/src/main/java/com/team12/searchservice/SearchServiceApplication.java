@@ -1,15 +1,18 @@
 package com.team12.searchservice;
 
+import com.team12.clients.listing.ListingClient;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.cloud.client.discovery.EnableDiscoveryClient;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableDiscoveryClient
-@EnableFeignClients
+@EnableFeignClients(clients = ListingClient.class)
 @EnableCaching
+@EnableScheduling
 public class SearchServiceApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,20 @@
+package com.team12.searchservice.config;
+
+import com.team12.searchservice.metrics.SearchStageInterceptor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final SearchStageInterceptor searchStageInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(searchStageInterceptor)
+                .addPathPatterns("/api/search/properties/search");
+    }
+}
@@ -1,6 +1,7 @@
 package com.team12.searchservice.controller;
 
 import com.team12.searchservice.service.DataSyncService;
+import com.team12.searchservice.service.LocationBackfillService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.RequiredArgsConstructor;
@@ -18,6 +19,7 @@ import java.util.Map;
 public class AdminController {
 
     private final DataSyncService dataSyncService;
+    private final LocationBackfillService locationBackfillService;
 
     @GetMapping("/sync/stats")
     @Operation(summary = "Get synchronization statistics")
@@ -76,6 +78,22 @@ public class AdminController {
         }
     }
 
+    @PostMapping("/sync/locations")
+    @Operation(summary = "Backfill locations of property documents indexed without one")
+    public ResponseEntity<Map<String, Object>> backfillLocations() {
+        try {
+            log.info("Admin triggered location backfill");
+            return ResponseEntity.ok(locationBackfillService.backfill());
+
+        } catch (Exception e) {
+            log.error("Error during location backfill", e);
+            return ResponseEntity.internalServerError().body(Map.of(
+                "status", "error",
+                "message", "Location backfill failed: " + e.getMessage()
+            ));
+        }
+    }
+
     @GetMapping("/health")
     @Operation(summary = "Check search service health")
     public ResponseEntity<Map<String, Object>> healthCheck() {
@@ -3,16 +3,26 @@ package com.team12.searchservice.controller;
 import com.team12.searchservice.document.PropertyDocument;
 import com.team12.searchservice.dto.PropertySearchRequest;
 import com.team12.searchservice.dto.SearchResponse;
+import com.team12.searchservice.metrics.SearchMetrics;
+import com.team12.searchservice.metrics.SearchStageInterceptor;
+import com.team12.searchservice.service.PropertyExportService;
 import com.team12.searchservice.service.PropertySearchService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.OutputStream;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
 
 @Slf4j
 @RestController
@@ -21,6 +31,8 @@ import java.util.Map;
 public class PropertySearchController {
 
     private final PropertySearchService propertySearchService;
+    private final SearchMetrics searchMetrics;
+    private final PropertyExportService propertyExportService;
 
     /**
      * Comprehensive property search
@@ -29,18 +41,55 @@ public class PropertySearchController {
     public ResponseEntity<SearchResponse<PropertyDocument>> searchProperties(
             @Valid @RequestBody PropertySearchRequest request) {
         
-        log.info("Executing property search: {}", request);
-        long startTime = System.currentTimeMillis();
+        SearchStageInterceptor.markHandlerEntry(searchMetrics, SearchMetrics.shapeOf(request));
+        log.debug("Executing property search: {}", request);
+        long startTime = System.nanoTime();
         
         SearchResponse<PropertyDocument> response = propertySearchService.searchProperties(request);
-        response.setSearchTime(System.currentTimeMillis() - startTime);
+        response.setSearchTime(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime));
         
-        log.info("Search completed, found {} results in {}ms", 
+        log.debug("Search completed, found {} results in {}ms", 
                 response.getTotalElements(), response.getSearchTime());
         
+        SearchStageInterceptor.markHandlerExit();
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Stream every match of a search as NDJSON or CSV (admins and partners only).
+     * Gzipped when the client accepts it.
+     */
+    @PostMapping("/export")
+    @PreAuthorize("hasAnyRole('ADMIN','PARTNER')")
+    public ResponseEntity<StreamingResponseBody> exportProperties(
+            @Valid @RequestBody(required = false) PropertySearchRequest request,
+            @RequestParam(defaultValue = "ndjson") String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+        PropertyExportService.Format exportFormat = PropertyExportService.Format.from(format);
+        if (exportFormat == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        PropertySearchRequest filters = request != null ? request : PropertySearchRequest.builder().build();
+        boolean gzip = acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+
+        StreamingResponseBody body = out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024, true) : out;
+            long rows = propertyExportService.export(filters, exportFormat, target);
+            log.info("Property export finished: {} rows as {}", rows, exportFormat);
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"properties." + exportFormat.getExtension() + "\"");
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        }
+        return response.body(body);
+    }
+
     /**
      * Simple property search using query parameters
      */
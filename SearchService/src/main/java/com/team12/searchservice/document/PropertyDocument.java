@@ -34,8 +34,9 @@ public class PropertyDocument {
     @Field(type = FieldType.Text, analyzer = "standard")
     private String address;
 
-    @Field(type = FieldType.Keyword)
-    private String img;
+    // shown on result cards only, never searched
+    @Field(type = FieldType.Keyword, index = false)
+    private String thumbnail;
 
     @GeoPointField
     private GeoPoint location;
@@ -0,0 +1,109 @@
+package com.team12.searchservice.metrics;
+
+import com.team12.searchservice.dto.PropertySearchRequest;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-stage latency timers for the property search hot path.
+ * Every timer publishes a percentile histogram and is tagged by stage and query shape,
+ * so p99 can be broken down by where the time is actually spent.
+ */
+@Component
+public class SearchMetrics {
+
+    public static final String STAGE_TIMER = "search.stage.latency";
+    public static final String REQUEST_TIMER = "search.request.latency";
+    public static final String ERROR_COUNTER = "search.errors";
+
+    public static final String STAGE_PARSE = "parse";
+    public static final String STAGE_QUERY_BUILD = "query_build";
+    public static final String STAGE_ES_TOOK = "es_took";
+    public static final String STAGE_ES_ROUND_TRIP = "es_round_trip";
+    public static final String STAGE_FILTER = "filter";
+    public static final String STAGE_AGGREGATION = "aggregation";
+    public static final String STAGE_MAPPING = "mapping";
+    public static final String STAGE_SERIALIZATION = "serialization";
+
+    public static final String SHAPE_KEYWORD = "keyword";
+    public static final String SHAPE_GEO = "geo";
+    public static final String SHAPE_FILTERS_ONLY = "filters-only";
+
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public SearchMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Classify a request by the part of the query that dominates its cost.
+     * Geo wins over keyword because the distance filter is the more expensive clause.
+     */
+    public static String shapeOf(PropertySearchRequest request) {
+        if (request == null) {
+            return SHAPE_FILTERS_ONLY;
+        }
+        if (request.getLatitude() != null && request.getLongitude() != null) {
+            return SHAPE_GEO;
+        }
+        if (StringUtils.hasText(request.getKeyword())) {
+            return SHAPE_KEYWORD;
+        }
+        return SHAPE_FILTERS_ONLY;
+    }
+
+    public void record(String stage, String shape, long nanos) {
+        if (nanos < 0) {
+            return;
+        }
+        timers.computeIfAbsent(stage + '|' + shape, key -> Timer.builder(STAGE_TIMER)
+                        .description("Latency of a single property search stage")
+                        .tag("stage", stage)
+                        .tag("shape", shape)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(10))
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordTotal(String shape, long nanos) {
+        timers.computeIfAbsent("total|" + shape, key -> Timer.builder(REQUEST_TIMER)
+                        .description("End-to-end latency of a property search inside the service")
+                        .tag("shape", shape)
+                        .publishPercentileHistogram()
+                        .minimumExpectedValue(Duration.ofMillis(1))
+                        .maximumExpectedValue(Duration.ofSeconds(10))
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Count a search that failed and was answered with an empty page, which is otherwise
+     * indistinguishable from a search without matches.
+     */
+    public void recordError(String shape) {
+        Counter.builder(ERROR_COUNTER)
+                .description("Property searches that failed and returned an empty page")
+                .tag("shape", shape)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    /**
+     * Record every stage captured in {@code timings} plus the total.
+     */
+    public void record(SearchTimings timings) {
+        timings.getStages().forEach((stage, nanos) -> record(stage, timings.getShape(), nanos));
+        recordTotal(timings.getShape(), timings.elapsedNanos());
+    }
+}
@@ -0,0 +1,65 @@
+package com.team12.searchservice.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Times the parts of a search request that happen outside the controller:
+ * body parsing/validation (before the handler runs) and response serialization (after it returns).
+ */
+@Component
+@RequiredArgsConstructor
+public class SearchStageInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTR = SearchStageInterceptor.class.getName() + ".start";
+    private static final String HANDLER_EXIT_ATTR = SearchStageInterceptor.class.getName() + ".handlerExit";
+    private static final String SHAPE_ATTR = SearchStageInterceptor.class.getName() + ".shape";
+
+    private final SearchMetrics searchMetrics;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_ATTR, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Object exit = request.getAttribute(HANDLER_EXIT_ATTR);
+        Object shape = request.getAttribute(SHAPE_ATTR);
+        if (exit instanceof Long exitNanos && shape instanceof String shapeTag) {
+            searchMetrics.record(SearchMetrics.STAGE_SERIALIZATION, shapeTag, System.nanoTime() - exitNanos);
+        }
+    }
+
+    /**
+     * Called by the controller once the request body has been bound; records the parse stage.
+     * No-op outside a servlet request (e.g. unit tests calling the controller directly).
+     */
+    public static void markHandlerEntry(SearchMetrics metrics, String shape) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        attributes.setAttribute(SHAPE_ATTR, shape, RequestAttributes.SCOPE_REQUEST);
+        if (attributes.getAttribute(START_ATTR, RequestAttributes.SCOPE_REQUEST) instanceof Long start) {
+            metrics.record(SearchMetrics.STAGE_PARSE, shape, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Called by the controller right before it returns; serialization is measured from here.
+     */
+    public static void markHandlerExit() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(HANDLER_EXIT_ATTR, System.nanoTime(), RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
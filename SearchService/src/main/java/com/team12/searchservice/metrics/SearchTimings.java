@@ -0,0 +1,48 @@
+package com.team12.searchservice.metrics;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Stage durations collected while a single search request is executed.
+ * Not thread-safe; one instance belongs to one request.
+ */
+@Getter
+public class SearchTimings {
+
+    private final String shape;
+    private final long startNanos;
+    private final Map<String, Long> stages = new LinkedHashMap<>();
+    @Setter
+    private Supplier<String> compiledQuery = () -> "n/a";
+
+    public SearchTimings(String shape) {
+        this.shape = shape;
+        this.startNanos = System.nanoTime();
+    }
+
+    public void stage(String stage, long nanos) {
+        stages.merge(stage, nanos, Long::sum);
+    }
+
+    public long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+
+    public long elapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(elapsedNanos());
+    }
+
+    public String describe() {
+        StringJoiner joiner = new StringJoiner(", ");
+        stages.forEach((stage, nanos) ->
+                joiner.add(stage + "=" + TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0 + "ms"));
+        return joiner.toString();
+    }
+}
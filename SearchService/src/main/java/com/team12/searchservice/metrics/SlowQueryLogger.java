@@ -0,0 +1,41 @@
+package com.team12.searchservice.metrics;
+
+import com.team12.searchservice.dto.PropertySearchRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Sampled log of searches that exceed the time budget.
+ * The compiled query JSON is only rendered for requests that are actually logged.
+ */
+@Slf4j(topic = "com.team12.searchservice.slowquery")
+@Component
+public class SlowQueryLogger {
+
+    private final long thresholdMillis;
+    private final double sampleRate;
+
+    public SlowQueryLogger(@Value("${search.slow-query.threshold-ms:500}") long thresholdMillis,
+                           @Value("${search.slow-query.sample-rate:0.1}") double sampleRate) {
+        this.thresholdMillis = thresholdMillis;
+        this.sampleRate = sampleRate;
+    }
+
+    public boolean isSlow(long elapsedMillis) {
+        return elapsedMillis >= thresholdMillis;
+    }
+
+    public void maybeLog(PropertySearchRequest request, SearchTimings timings, Supplier<String> compiledQuery) {
+        long elapsedMillis = timings.elapsedMillis();
+        if (!isSlow(elapsedMillis) || ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        log.warn("Slow search ({}ms > {}ms budget) shape={} stages=[{}] request={} query={}",
+                elapsedMillis, thresholdMillis, timings.getShape(), timings.describe(),
+                request, compiledQuery.get());
+    }
+}
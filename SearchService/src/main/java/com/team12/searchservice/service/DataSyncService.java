@@ -11,11 +11,19 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.core.Message;
+import org.springframework.data.elasticsearch.BulkFailureException;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.document.Document;
 import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+import org.springframework.data.elasticsearch.core.query.ScriptType;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -28,6 +36,13 @@ public class DataSyncService {
     private final UserSearchRepository userSearchRepository;
     private final RabbitTemplate rabbitTemplate;
     private final ObjectMapper objectMapper;
+    private final IngestGovernor ingestGovernor;
+    private final ElasticsearchOperations elasticsearchOperations;
+
+    private static final DateTimeFormatter LAST_UPDATED_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+
+    private static final String FILL_LOCATION_SCRIPT =
+            "if (ctx._source.location == null) { ctx._source.location = params.location } else { ctx.op = 'noop' }";
 
     /**
      * Listen for property data synchronization messages
@@ -50,15 +65,25 @@ public class DataSyncService {
                 return;
             }
             String action = (String) messageData.get("action");
-            Map<String, Object> propertyData = (Map<String, Object>) messageData.get("data");
+            boolean waitForRefresh = "wait_for".equals(messageData.get("refresh"));
             
             switch (action.toLowerCase()) {
                 case "create":
                 case "update":
-                    syncProperty(propertyData);
+                    syncProperty((Map<String, Object>) messageData.get("data"), waitForRefresh);
                     break;
                 case "delete":
-                    deleteProperty((String) propertyData.get("id"));
+                    deleteProperty((String) ((Map<String, Object>) messageData.get("data")).get("id"));
+                    break;
+                case "bulk":
+                    syncProperties((List<Map<String, Object>>) messageData.get("data"));
+                    break;
+                case "patch":
+                    patchProperty((Map<String, Object>) messageData.get("data"),
+                            (Map<String, Object>) messageData.get("document"));
+                    break;
+                case "location":
+                    fillMissingLocations((List<Map<String, Object>>) messageData.get("data"));
                     break;
                 default:
                     log.warn("Unknown property sync action: {}", action);
@@ -112,10 +137,17 @@ public class DataSyncService {
     /**
      * Synchronize property data to Elasticsearch
      */
-    private void syncProperty(Map<String, Object> propertyData) {
+    private void syncProperty(Map<String, Object> propertyData, boolean waitForRefresh) {
         try {
             PropertyDocument propertyDocument = convertToPropertyDocument(propertyData);
-            propertySearchRepository.save(propertyDocument);
+            if (waitForRefresh) {
+                // wait_for would block for the whole widened interval during a burst, so force a refresh instead
+                propertySearchRepository.save(propertyDocument,
+                        ingestGovernor.isBursting() ? RefreshPolicy.IMMEDIATE : RefreshPolicy.WAIT_UNTIL);
+            } else {
+                propertySearchRepository.save(propertyDocument);
+            }
+            ingestGovernor.recordWrites(1);
             log.info("Successfully synced property: {}", propertyDocument.getId());
             
         } catch (Exception e) {
@@ -123,12 +155,124 @@ public class DataSyncService {
         }
     }
 
+    /**
+     * Synchronize a batch of properties with a single bulk request
+     */
+    private void syncProperties(List<Map<String, Object>> propertyData) {
+        try {
+            List<PropertyDocument> documents = propertyData.stream()
+                    .map(this::convertToPropertyDocument)
+                    .toList();
+            propertySearchRepository.saveAll(documents);
+            ingestGovernor.recordWrites(documents.size());
+            log.info("Successfully synced {} properties in bulk", documents.size());
+            
+        } catch (Exception e) {
+            log.error("Error syncing bulk property data of {} properties", propertyData.size(), e);
+        }
+    }
+
+    /**
+     * Apply only the changed fields of a property as a partial _update of its document. When that fails,
+     * e.g. with document_missing because the create was never indexed, the full document from the message
+     * is indexed instead so the index does not stay behind until the next full write.
+     */
+    private void patchProperty(Map<String, Object> propertyData, Map<String, Object> fullDocument) {
+        String id = String.valueOf(propertyData.get("id"));
+        try {
+            elasticsearchOperations.update(
+                    UpdateQuery.builder(id).withDocument(toPartialDocument(propertyData)).build(),
+                    elasticsearchOperations.getIndexCoordinatesFor(PropertyDocument.class));
+            ingestGovernor.recordWrites(1);
+            log.info("Successfully patched property {}: {}", id, propertyData.keySet());
+            
+        } catch (Exception e) {
+            if (fullDocument == null) {
+                log.error("Error patching property data: {}", propertyData, e);
+                return;
+            }
+            log.warn("Partial update of property {} failed, indexing the full document: {}", id, e.getMessage());
+            syncProperty(fullDocument, false);
+        }
+    }
+
+    /**
+     * Map changed ListingService fields to document fields, including the ones derived from them
+     */
+    Document toPartialDocument(Map<String, Object> propertyData) {
+        Document document = Document.create();
+        for (Map.Entry<String, Object> field : propertyData.entrySet()) {
+            Object value = field.getValue();
+            switch (field.getKey()) {
+                case "id":
+                    break;
+                case "price":
+                    document.put("price", value instanceof Number ? new BigDecimal(value.toString()) : null);
+                    break;
+                case "location":
+                    GeoPoint point = toGeoPoint((Map<String, Object>) value);
+                    document.put("location", point == null ? null : Map.of("lat", point.getLat(), "lon", point.getLon()));
+                    break;
+                case "address":
+                    document.put("address", value);
+                    document.put("city", cityOf((String) value));
+                    document.put("district", districtOf((String) value));
+                    break;
+                default:
+                    document.put(field.getKey(), value);
+            }
+        }
+        document.put("lastUpdated", LocalDateTime.now().format(LAST_UPDATED_FORMAT));
+        return document;
+    }
+
+    /**
+     * Set the location of documents that were indexed without one, using a single _bulk request of
+     * partial updates; documents that already have a location are left untouched (noop)
+     */
+    private void fillMissingLocations(List<Map<String, Object>> locationData) {
+        long start = System.nanoTime();
+        List<UpdateQuery> updates = new ArrayList<>(locationData.size());
+        for (Map<String, Object> entry : locationData) {
+            GeoPoint point = toGeoPoint((Map<String, Object>) entry.get("location"));
+            if (point == null) {
+                continue;
+            }
+            updates.add(UpdateQuery.builder(String.valueOf(entry.get("id")))
+                    .withScript(FILL_LOCATION_SCRIPT)
+                    .withScriptType(ScriptType.INLINE)
+                    .withLang("painless")
+                    .withParams(Map.of("location", Map.of("lat", point.getLat(), "lon", point.getLon())))
+                    .build());
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+
+        int failed = 0;
+        try {
+            elasticsearchOperations.bulkUpdate(updates, PropertyDocument.class);
+        } catch (BulkFailureException e) {
+            // typically documents that were never indexed; a full resync covers those
+            failed = e.getFailedDocuments().size();
+            log.warn("Location backfill: {} of {} updates failed: {}", failed, updates.size(), e.getFailedDocuments().keySet());
+        } catch (Exception e) {
+            log.error("Error applying location backfill batch of {} properties", updates.size(), e);
+            return;
+        }
+        ingestGovernor.recordWrites(updates.size());
+        long elapsedMs = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        log.info("Location backfill batch: {} applied, {} failed in {} ms ({} docs/s)",
+                updates.size() - failed, failed, elapsedMs, updates.size() * 1000L / elapsedMs);
+    }
+
     /**
      * Delete property from Elasticsearch
      */
     private void deleteProperty(String propertyId) {
         try {
             propertySearchRepository.deleteById(propertyId);
+            ingestGovernor.recordWrites(1);
             log.info("Successfully deleted property: {}", propertyId);
             
         } catch (Exception e) {
@@ -166,13 +310,13 @@ public class DataSyncService {
     /**
      * Convert property data to PropertyDocument
      */
-    private PropertyDocument convertToPropertyDocument(Map<String, Object> propertyData) {
+    PropertyDocument convertToPropertyDocument(Map<String, Object> propertyData) {
         PropertyDocument.PropertyDocumentBuilder builder = PropertyDocument.builder()
                 .id(String.valueOf(propertyData.get("id")))
                 .title((String) propertyData.get("title"))
                 .description((String) propertyData.get("description"))
                 .address((String) propertyData.get("address"))
-                .img((String) propertyData.get("img"))
+                .thumbnail((String) propertyData.get("thumbnail"))
                 .agentId((String) propertyData.get("agentId"))
                 .available((Boolean) propertyData.getOrDefault("available", true))
                 .lastUpdated(LocalDateTime.now());
@@ -199,17 +343,7 @@ public class DataSyncService {
         }
 
         // Handle location data
-        Map<String, Object> locationData = (Map<String, Object>) propertyData.get("location");
-        if (locationData != null) {
-            Object latObj = locationData.get("latitude");
-            Object lonObj = locationData.get("longitude");
-            if (latObj instanceof Number && lonObj instanceof Number) {
-                builder.location(new GeoPoint(
-                    ((Number) latObj).doubleValue(),
-                    ((Number) lonObj).doubleValue()
-                ));
-            }
-        }
+        builder.location(toGeoPoint((Map<String, Object>) propertyData.get("location")));
 
         // Handle posted date
         Object postedAtObj = propertyData.get("postedAt");
@@ -225,15 +359,8 @@ public class DataSyncService {
 
         // Extract city and district from address if available
         String address = (String) propertyData.get("address");
-        if (address != null) {
-            String[] addressParts = address.split(",");
-            if (addressParts.length >= 2) {
-                builder.city(addressParts[addressParts.length - 1].trim());
-                if (addressParts.length >= 3) {
-                    builder.district(addressParts[addressParts.length - 2].trim());
-                }
-            }
-        }
+        builder.city(cityOf(address));
+        builder.district(districtOf(address));
 
         // Set default values for additional fields
         builder.propertyType((String) propertyData.getOrDefault("propertyType", "apartment"));
@@ -244,6 +371,34 @@ public class DataSyncService {
         return builder.build();
     }
 
+    /**
+     * Last comma-separated part of the address, if it has at least two
+     */
+    private static String cityOf(String address) {
+        String[] addressParts = address == null ? new String[0] : address.split(",");
+        return addressParts.length >= 2 ? addressParts[addressParts.length - 1].trim() : null;
+    }
+
+    /**
+     * Second to last comma-separated part of the address, if it has at least three
+     */
+    private static String districtOf(String address) {
+        String[] addressParts = address == null ? new String[0] : address.split(",");
+        return addressParts.length >= 3 ? addressParts[addressParts.length - 2].trim() : null;
+    }
+
+    private static GeoPoint toGeoPoint(Map<String, Object> locationData) {
+        if (locationData == null) {
+            return null;
+        }
+        Object latObj = locationData.get("latitude");
+        Object lonObj = locationData.get("longitude");
+        if (latObj instanceof Number && lonObj instanceof Number) {
+            return new GeoPoint(((Number) latObj).doubleValue(), ((Number) lonObj).doubleValue());
+        }
+        return null;
+    }
+
     /**
      * Convert user data to UserDocument
      */
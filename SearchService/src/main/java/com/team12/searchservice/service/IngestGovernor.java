@@ -0,0 +1,253 @@
+package com.team12.searchservice.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.PutIndicesSettingsRequest;
+import com.team12.searchservice.config.RabbitMQConfig;
+import com.team12.searchservice.document.PropertyDocument;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.elasticsearch.annotations.Document;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Widens the properties index {@code refresh_interval} while an ingest burst is in progress
+ * (bulk reindex, mass price update) and restores it once traffic has been quiet for a while.
+ * <p>
+ * A burst is detected from the property sync queue depth or from the indexing rate observed
+ * by {@link DataSyncService}. Leaving burst mode needs several consecutive quiet checks, so the
+ * interval does not flap.
+ * <p>
+ * The index setting is shared, so one replica decides for all of them: the holder of a Redis lease.
+ * Every replica adds its writes to a counter in Redis, and the holder drains it, so the rate is that
+ * of the whole cluster. The others leave the setting alone and mirror the burst state the holder
+ * publishes. The state is re-asserted periodically in case the setting was changed by hand.
+ */
+@Slf4j
+@Component
+public class IngestGovernor {
+
+    private static final String INDEX = PropertyDocument.class.getAnnotation(Document.class).indexName();
+    private static final int REASSERT_EVERY_CHECKS = 12;
+
+    static final String LEASE_KEY = "search:ingest:governor";
+    static final String WRITES_KEY = "search:ingest:writes";
+    static final String STATE_KEY = "search:ingest:bursting";
+
+    private static final RedisScript<Long> RENEW_LEASE = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class);
+    private static final RedisScript<Long> RELEASE_LEASE = RedisScript.of(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class);
+
+    private final AmqpAdmin amqpAdmin;
+    private final ElasticsearchClient elasticsearchClient;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration lease;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final String normalInterval;
+    private final String burstInterval;
+    private final long burstQueueDepth;
+    private final long quietQueueDepth;
+    private final double burstWriteRate;
+    private final double quietWriteRate;
+    private final int quietChecksToRestore;
+
+    private final LongAdder writes = new LongAdder();
+    private final AtomicLong queueDepth = new AtomicLong();
+    private final AtomicLong writeRate = new AtomicLong();
+
+    private volatile Boolean bursting;
+    private volatile boolean leading;
+    private int consecutiveQuietChecks;
+    private int checksSinceApply;
+    private long lastCheckNanos = System.nanoTime();
+
+    public IngestGovernor(AmqpAdmin amqpAdmin,
+                          ElasticsearchClient elasticsearchClient,
+                          StringRedisTemplate redisTemplate,
+                          MeterRegistry meterRegistry,
+                          @Value("${search.ingest.lease-ms:30000}") long leaseMillis,
+                          @Value("${search.ingest.refresh-interval.normal:1s}") String normalInterval,
+                          @Value("${search.ingest.refresh-interval.burst:30s}") String burstInterval,
+                          @Value("${search.ingest.burst.queue-depth:500}") long burstQueueDepth,
+                          @Value("${search.ingest.quiet.queue-depth:20}") long quietQueueDepth,
+                          @Value("${search.ingest.burst.writes-per-second:200}") double burstWriteRate,
+                          @Value("${search.ingest.quiet.writes-per-second:20}") double quietWriteRate,
+                          @Value("${search.ingest.quiet.checks:6}") int quietChecksToRestore) {
+        this.amqpAdmin = amqpAdmin;
+        this.elasticsearchClient = elasticsearchClient;
+        this.redisTemplate = redisTemplate;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.normalInterval = normalInterval;
+        this.burstInterval = burstInterval;
+        this.burstQueueDepth = burstQueueDepth;
+        this.quietQueueDepth = quietQueueDepth;
+        this.burstWriteRate = burstWriteRate;
+        this.quietWriteRate = quietWriteRate;
+        this.quietChecksToRestore = quietChecksToRestore;
+
+        meterRegistry.gauge("search.ingest.burst", this, governor -> governor.isBursting() ? 1 : 0);
+        meterRegistry.gauge("search.ingest.governor.leader", this, governor -> governor.isLeading() ? 1 : 0);
+        meterRegistry.gauge("search.ingest.queue.depth", queueDepth);
+        meterRegistry.gauge("search.ingest.writes.per.second", writeRate);
+    }
+
+    /**
+     * Called for every document written to or deleted from the index.
+     */
+    public void recordWrites(int count) {
+        writes.add(count);
+    }
+
+    public boolean isBursting() {
+        return Boolean.TRUE.equals(bursting);
+    }
+
+    public boolean isLeading() {
+        return leading;
+    }
+
+    @Scheduled(fixedDelayString = "${search.ingest.check-interval-ms:5000}")
+    public synchronized void evaluate() {
+        long now = System.nanoTime();
+        double seconds = Math.max((now - lastCheckNanos) / 1_000_000_000.0, 0.001);
+        lastCheckNanos = now;
+
+        boolean wasLeading = leading;
+        long clusterWrites;
+        try {
+            long localWrites = writes.sumThenReset();
+            if (localWrites > 0) {
+                redisTemplate.opsForValue().increment(WRITES_KEY, localWrites);
+            }
+            if (!holdLease()) {
+                leading = false;
+                String published = redisTemplate.opsForValue().get(STATE_KEY);
+                bursting = published == null ? null : "1".equals(published);
+                return;
+            }
+            String drained = redisTemplate.opsForValue().getAndDelete(WRITES_KEY);
+            clusterWrites = drained == null ? 0 : Long.parseLong(drained);
+        } catch (Exception e) {
+            log.warn("Ingest governor lease unavailable: {}", e.getMessage());
+            stepDown();
+            return;
+        }
+        leading = true;
+
+        // a new holder cannot tell how long the counter went undrained, so its first reading is not a rate
+        double rate = wasLeading ? clusterWrites / seconds : 0;
+        long depth = currentQueueDepth();
+        writeRate.set(Math.round(rate));
+        queueDepth.set(depth);
+
+        boolean target;
+        if (depth >= burstQueueDepth || rate >= burstWriteRate) {
+            consecutiveQuietChecks = 0;
+            target = true;
+        } else if (depth <= quietQueueDepth && rate <= quietWriteRate) {
+            consecutiveQuietChecks++;
+            target = isBursting() && consecutiveQuietChecks < quietChecksToRestore;
+        } else {
+            consecutiveQuietChecks = 0;
+            target = isBursting();
+        }
+
+        checksSinceApply++;
+        if (!wasLeading || bursting == null || target != bursting || checksSinceApply >= REASSERT_EVERY_CHECKS) {
+            apply(target, depth, rate);
+        }
+        publishState();
+    }
+
+    /**
+     * Never leave the index with a widened interval behind when the holder stops; the next holder
+     * widens it again if the burst is still going.
+     */
+    @PreDestroy
+    public synchronized void restore() {
+        if (!leading) {
+            return;
+        }
+        stepDown();
+        try {
+            publishState();
+            redisTemplate.execute(RELEASE_LEASE, List.of(LEASE_KEY), instanceId);
+        } catch (Exception e) {
+            // The lease expires on its own
+            log.debug("Could not release the ingest governor lease", e);
+        }
+    }
+
+    private boolean holdLease() {
+        if (Boolean.TRUE.equals(redisTemplate.opsForValue().setIfAbsent(LEASE_KEY, instanceId, lease))) {
+            return true;
+        }
+        Long renewed = redisTemplate.execute(RENEW_LEASE, List.of(LEASE_KEY), instanceId,
+                String.valueOf(lease.toMillis()));
+        return renewed != null && renewed == 1;
+    }
+
+    /**
+     * Stop governing; an interval this instance widened is restored rather than left to a holder that
+     * may not come
+     */
+    private void stepDown() {
+        if (leading && isBursting()) {
+            apply(false, queueDepth.get(), writeRate.get());
+        }
+        leading = false;
+        consecutiveQuietChecks = 0;
+    }
+
+    private void publishState() {
+        try {
+            redisTemplate.opsForValue().set(STATE_KEY, isBursting() ? "1" : "0", lease);
+        } catch (Exception e) {
+            log.debug("Could not publish ingest burst state", e);
+        }
+    }
+
+    private void apply(boolean burst, long depth, double rate) {
+        String interval = burst ? burstInterval : normalInterval;
+        try {
+            elasticsearchClient.indices().putSettings(PutIndicesSettingsRequest.of(r -> r
+                    .index(INDEX)
+                    .settings(s -> s.refreshInterval(t -> t.time(interval)))));
+            if (!Boolean.valueOf(burst).equals(bursting)) {
+                log.info("Index {} refresh_interval set to {} (queueDepth={}, writesPerSecond={})",
+                        INDEX, interval, depth, Math.round(rate));
+            }
+            bursting = burst;
+            checksSinceApply = 0;
+        } catch (Exception e) {
+            // Keep the previous state so the next check retries
+            log.warn("Failed to set refresh_interval={} on index {}", interval, INDEX, e);
+        }
+    }
+
+    private long currentQueueDepth() {
+        try {
+            QueueInformation info = amqpAdmin.getQueueInfo(RabbitMQConfig.PROPERTY_SYNC_QUEUE);
+            return info != null ? info.getMessageCount() : 0;
+        } catch (Exception e) {
+            log.debug("Could not read depth of {}", RabbitMQConfig.PROPERTY_SYNC_QUEUE, e);
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.team12.searchservice.service;
+
+import com.team12.clients.listing.ListingClient;
+import com.team12.searchservice.document.PropertyDocument;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fills in the location of property documents indexed without one.
+ * <p>
+ * Only the index knows which documents are missing a location, so the ids are read here, page by page
+ * from a point-in-time snapshot, and ListingService is asked to publish the coordinates of just those
+ * properties. The updates arrive through the sync queue like any other change. The work is proportional
+ * to the gap rather than to the catalog, and a run against a complete index is a single empty search.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LocationBackfillService {
+
+    static final int PAGE_SIZE = 500;
+    static final Duration KEEP_ALIVE = Duration.ofMinutes(2);
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final PropertySearchQueryBuilder queryBuilder;
+    private final ListingClient listingClient;
+
+    /**
+     * Request locations for every document missing one. Returns counts and throughput of the run.
+     */
+    public Map<String, Object> backfill() {
+        long start = System.nanoTime();
+        IndexCoordinates index = elasticsearchOperations.getIndexCoordinatesFor(PropertyDocument.class);
+        String pointInTimeId = elasticsearchOperations.openPointInTime(index, KEEP_ALIVE, false);
+        long missing = 0;
+        long published = 0;
+        int batches = 0;
+
+        try {
+            List<Object> searchAfter = null;
+            while (true) {
+                SearchHits<PropertyDocument> hits = elasticsearchOperations.search(
+                        queryBuilder.missingLocationPage(pointInTimeId, KEEP_ALIVE, searchAfter, PAGE_SIZE),
+                        PropertyDocument.class);
+                List<SearchHit<PropertyDocument>> page = hits.getSearchHits();
+                if (page.isEmpty()) {
+                    break;
+                }
+                if (hits.getPointInTimeId() != null) {
+                    pointInTimeId = hits.getPointInTimeId();
+                }
+
+                List<Long> ids = new ArrayList<>(page.size());
+                for (SearchHit<PropertyDocument> hit : page) {
+                    ids.add(Long.valueOf(hit.getContent().getId()));
+                }
+                missing += ids.size();
+                Object publishedInBatch = listingClient.backfillSearchLocations(ids).get("publishedProperties");
+                if (publishedInBatch instanceof Number count) {
+                    published += count.longValue();
+                }
+                batches++;
+
+                if (page.size() < PAGE_SIZE) {
+                    break;
+                }
+                searchAfter = page.get(page.size() - 1).getSortValues();
+            }
+        } finally {
+            closePointInTime(pointInTimeId);
+        }
+
+        long elapsedMs = Math.max((System.nanoTime() - start) / 1_000_000, 1);
+        log.info("Location backfill requested {} documents missing a location, {} published in {} batches ({} ms)",
+                missing, published, batches, elapsedMs);
+        return Map.of(
+                "missingDocuments", missing,
+                "publishedProperties", published,
+                "batches", batches,
+                "elapsedMs", elapsedMs,
+                "documentsPerSecond", missing * 1000 / elapsedMs
+        );
+    }
+
+    private void closePointInTime(String pointInTimeId) {
+        try {
+            elasticsearchOperations.closePointInTime(pointInTimeId);
+        } catch (Exception e) {
+            // The snapshot expires on its own after KEEP_ALIVE
+            log.warn("Failed to close point in time after location backfill", e);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.team12.searchservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.team12.searchservice.document.PropertyDocument;
+import com.team12.searchservice.dto.PropertySearchRequest;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Streams every property matching a search request as NDJSON or CSV.
+ * <p>
+ * Results are read page by page from a point-in-time snapshot using {@code search_after}, and each page
+ * is written and flushed before the next one is fetched. Memory stays bounded by one page, and a slow
+ * client simply blocks the write, which in turn holds back the next Elasticsearch request.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PropertyExportService {
+
+    static final int PAGE_SIZE = 1000;
+    static final Duration KEEP_ALIVE = Duration.ofMinutes(2);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String[] CSV_COLUMNS = {
+            "id", "title", "price", "address", "city", "district", "numBedrooms", "numBathrooms",
+            "propertyType", "available", "postedAt", "agentId", "latitude", "longitude"
+    };
+
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final PropertySearchQueryBuilder queryBuilder;
+    private final PropertySearchService propertySearchService;
+    private final ObjectMapper objectMapper;
+
+    @Getter
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv;charset=UTF-8"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public static Format from(String value) {
+            for (Format format : values()) {
+                if (format.extension.equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Write all matches to {@code out} and close it. Returns the number of rows written.
+     */
+    public long export(PropertySearchRequest request, Format format, OutputStream out) throws IOException {
+        IndexCoordinates index = elasticsearchOperations.getIndexCoordinatesFor(PropertyDocument.class);
+        String pointInTimeId = elasticsearchOperations.openPointInTime(index, KEEP_ALIVE, false);
+        long rows = 0;
+
+        try (RowWriter writer = format == Format.CSV ? new CsvRowWriter(out) : new NdjsonRowWriter(out)) {
+            List<Object> searchAfter = null;
+            while (true) {
+                NativeQuery query = queryBuilder.exportPage(request, pointInTimeId, KEEP_ALIVE, searchAfter, PAGE_SIZE);
+                SearchHits<PropertyDocument> hits = elasticsearchOperations.search(query, PropertyDocument.class);
+                List<SearchHit<PropertyDocument>> page = hits.getSearchHits();
+                if (page.isEmpty()) {
+                    break;
+                }
+                if (hits.getPointInTimeId() != null) {
+                    pointInTimeId = hits.getPointInTimeId();
+                }
+
+                List<PropertyDocument> documents = page.stream()
+                        .map(SearchHit::getContent)
+                        .collect(Collectors.toList());
+                for (PropertyDocument document : propertySearchService.applyFilters(new PageImpl<>(documents), request)) {
+                    writer.write(document);
+                    rows++;
+                }
+                writer.flush();
+
+                if (page.size() < PAGE_SIZE) {
+                    break;
+                }
+                searchAfter = page.get(page.size() - 1).getSortValues();
+            }
+        } finally {
+            closePointInTime(pointInTimeId);
+        }
+
+        log.debug("Exported {} properties as {}", rows, format);
+        return rows;
+    }
+
+    private void closePointInTime(String pointInTimeId) {
+        try {
+            elasticsearchOperations.closePointInTime(pointInTimeId);
+        } catch (Exception e) {
+            // The snapshot expires on its own after KEEP_ALIVE
+            log.warn("Failed to close point in time after export", e);
+        }
+    }
+
+    private interface RowWriter extends Closeable {
+        void write(PropertyDocument document) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+
+        private final OutputStream out;
+        private final ObjectWriter writer = objectMapper.writerFor(PropertyDocument.class);
+
+        NdjsonRowWriter(OutputStream out) {
+            this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+        }
+
+        @Override
+        public void write(PropertyDocument document) throws IOException {
+            out.write(writer.writeValueAsBytes(document));
+            out.write('\n');
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+
+        private final Writer out;
+
+        CsvRowWriter(OutputStream out) throws IOException {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+            this.out.write(String.join(",", CSV_COLUMNS));
+            this.out.write("\r\n");
+        }
+
+        @Override
+        public void write(PropertyDocument d) throws IOException {
+            Object[] values = {
+                    d.getId(), d.getTitle(), d.getPrice(), d.getAddress(), d.getCity(), d.getDistrict(),
+                    d.getNumBedrooms(), d.getNumBathrooms(), d.getPropertyType(), d.getAvailable(),
+                    d.getPostedAt(), d.getAgentId(),
+                    d.getLocation() != null ? d.getLocation().getLat() : null,
+                    d.getLocation() != null ? d.getLocation().getLon() : null
+            };
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(escape(values[i]));
+            }
+            out.write("\r\n");
+        }
+
+        @Override
+        public void flush() throws IOException {
+            out.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+    }
+
+    /**
+     * RFC 4180 quoting. Text cells starting with a formula character are prefixed with a quote
+     * so spreadsheets do not evaluate user-supplied listing text.
+     */
+    static String escape(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (value instanceof CharSequence && !text.isEmpty() && "=+-@\t\r".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+            return '"' + text.replace("\"", "\"\"") + '"';
+        }
+        return text;
+    }
+}
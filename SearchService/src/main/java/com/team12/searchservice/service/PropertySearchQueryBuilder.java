@@ -0,0 +1,143 @@
+package com.team12.searchservice.service;
+
+import co.elastic.clients.elasticsearch._types.SortOrder;
+import co.elastic.clients.elasticsearch._types.query_dsl.BoolQuery;
+import co.elastic.clients.elasticsearch._types.query_dsl.Query;
+import co.elastic.clients.json.JsonpMapper;
+import co.elastic.clients.json.JsonpUtils;
+import co.elastic.clients.json.jackson.JacksonJsonpMapper;
+import com.team12.searchservice.dto.PropertySearchRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.client.elc.NativeQueryBuilder;
+import org.springframework.data.elasticsearch.core.query.FetchSourceFilterBuilder;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Compiles the Elasticsearch queries issued by {@link PropertySearchService}.
+ * Keeping this separate lets the service time query construction on its own
+ * and lets the slow-query log print exactly what was sent.
+ */
+@Component
+public class PropertySearchQueryBuilder {
+
+    private final JsonpMapper jsonpMapper = new JacksonJsonpMapper();
+
+    /**
+     * Candidate page for the flexible search: all available properties, sorted and paged.
+     */
+    public NativeQuery availablePage(Pageable pageable) {
+        return NativeQuery.builder()
+                .withQuery(q -> q.bool(b -> b.filter(f -> f.term(t -> t.field("available").value(true)))))
+                .withPageable(pageable)
+                .withTrackTotalHits(true)
+                .build();
+    }
+
+    /**
+     * One page of an export scan: a point-in-time snapshot walked in {@code _shard_doc} order with
+     * {@code search_after}, so every page costs the same no matter how deep the export is.
+     * Exact-match range filters are pushed down; text filters are re-applied in memory by the caller.
+     */
+    public NativeQuery exportPage(PropertySearchRequest request, String pointInTimeId, Duration keepAlive,
+                                  List<Object> searchAfter, int pageSize) {
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(exportFilter(request))
+                .withPointInTime(new org.springframework.data.elasticsearch.core.query.Query.PointInTime(
+                        pointInTimeId, keepAlive))
+                .withSort(s -> s.field(f -> f.field("_shard_doc").order(SortOrder.Asc)))
+                .withPageable(PageRequest.of(0, pageSize))
+                .withTrackTotalHits(false);
+        if (searchAfter != null && !searchAfter.isEmpty()) {
+            builder.withSearchAfter(searchAfter);
+        }
+        return builder.build();
+    }
+
+    /**
+     * One page of the ids of documents indexed without a location, read from a point-in-time snapshot
+     */
+    public NativeQuery missingLocationPage(String pointInTimeId, Duration keepAlive, List<Object> searchAfter,
+                                           int pageSize) {
+        NativeQueryBuilder builder = NativeQuery.builder()
+                .withQuery(q -> q.bool(b -> b.mustNot(m -> m.exists(e -> e.field("location")))))
+                .withSourceFilter(new FetchSourceFilterBuilder().withIncludes("id").build())
+                .withPointInTime(new org.springframework.data.elasticsearch.core.query.Query.PointInTime(
+                        pointInTimeId, keepAlive))
+                .withSort(s -> s.field(f -> f.field("_shard_doc").order(SortOrder.Asc)))
+                .withPageable(PageRequest.of(0, pageSize))
+                .withTrackTotalHits(false);
+        if (searchAfter != null && !searchAfter.isEmpty()) {
+            builder.withSearchAfter(searchAfter);
+        }
+        return builder.build();
+    }
+
+    private Query exportFilter(PropertySearchRequest request) {
+        BoolQuery.Builder bool = new BoolQuery.Builder();
+        boolean available = request.getAvailable() == null || request.getAvailable();
+        bool.filter(f -> f.term(t -> t.field("available").value(available)));
+        addRange(bool, "price", toDouble(request.getMinPrice()), toDouble(request.getMaxPrice()));
+        addRange(bool, "numBedrooms", toDouble(request.getMinBedrooms()), toDouble(request.getMaxBedrooms()));
+        addRange(bool, "numBathrooms", toDouble(request.getMinBathrooms()), toDouble(request.getMaxBathrooms()));
+        return Query.of(q -> q.bool(bool.build()));
+    }
+
+    private void addRange(BoolQuery.Builder bool, String field, Double min, Double max) {
+        if (min == null && max == null) {
+            return;
+        }
+        bool.filter(f -> f.range(r -> r.number(n -> {
+            n.field(field);
+            if (min != null) {
+                n.gte(min);
+            }
+            if (max != null) {
+                n.lte(max);
+            }
+            return n;
+        })));
+    }
+
+    private static Double toDouble(BigDecimal value) {
+        return value != null ? value.doubleValue() : null;
+    }
+
+    private static Double toDouble(Integer value) {
+        return value != null ? value.doubleValue() : null;
+    }
+
+    /**
+     * Render the query as the JSON search body Elasticsearch receives.
+     */
+    public String toJson(NativeQuery query) {
+        StringBuilder json = new StringBuilder("{\"query\":");
+        json.append(query.getQuery() != null ? JsonpUtils.toJsonString(query.getQuery(), jsonpMapper) : "{}");
+
+        Pageable pageable = query.getPageable();
+        if (pageable != null && pageable.isPaged()) {
+            json.append(",\"from\":").append(pageable.getOffset())
+                    .append(",\"size\":").append(pageable.getPageSize());
+            if (pageable.getSort().isSorted()) {
+                json.append(",\"sort\":[");
+                boolean first = true;
+                for (Sort.Order order : pageable.getSort()) {
+                    if (!first) {
+                        json.append(',');
+                    }
+                    json.append("{\"").append(order.getProperty()).append("\":\"")
+                            .append(order.isAscending() ? "asc" : "desc").append("\"}");
+                    first = false;
+                }
+                json.append(']');
+            }
+        }
+        return json.append('}').toString();
+    }
+}
@@ -3,15 +3,22 @@ package com.team12.searchservice.service;
 import com.team12.searchservice.document.PropertyDocument;
 import com.team12.searchservice.dto.PropertySearchRequest;
 import com.team12.searchservice.dto.SearchResponse;
+import com.team12.searchservice.metrics.SearchMetrics;
+import com.team12.searchservice.metrics.SearchTimings;
+import com.team12.searchservice.metrics.SlowQueryLogger;
 import com.team12.searchservice.repository.PropertySearchRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
@@ -26,36 +33,53 @@ import java.util.stream.Collectors;
 public class PropertySearchService {
 
     private final PropertySearchRepository propertySearchRepository;
+    private final ElasticsearchOperations elasticsearchOperations;
+    private final PropertySearchQueryBuilder queryBuilder;
+    private final SearchMetrics searchMetrics;
+    private final SlowQueryLogger slowQueryLogger;
 
     /**
      * Comprehensive property search
      */
     public SearchResponse<PropertyDocument> searchProperties(PropertySearchRequest request) {
-        log.info("Executing property search with request: {}", request);
+        log.debug("Executing property search with request: {}", request);
+        SearchTimings timings = new SearchTimings(SearchMetrics.shapeOf(request));
 
         try {
             // Use the simpler searchPropertiesSimple method for now
             // This avoids the complex query building that has compatibility issues
-            SearchResponse<PropertyDocument> response = searchPropertiesSimple(request);
+            SearchResponse<PropertyDocument> response = searchPropertiesSimple(request, timings);
             
             // Add aggregations for first page
             if (request.getPage() == 0) {
+                long start = System.nanoTime();
                 addAggregations(response);
+                timings.stage(SearchMetrics.STAGE_AGGREGATION, System.nanoTime() - start);
             }
 
-            log.info("Search completed, found {} results", response.getTotalElements());
+            log.debug("Search completed, found {} results", response.getTotalElements());
             return response;
             
         } catch (Exception e) {
             log.error("Error occurred while searching properties", e);
             return createEmptyResponse(request);
+        } finally {
+            recordTimings(request, timings);
         }
     }
 
+    /**
+     * Publish stage timers and hand the request to the sampled slow-query log
+     */
+    private void recordTimings(PropertySearchRequest request, SearchTimings timings) {
+        searchMetrics.record(timings);
+        slowQueryLogger.maybeLog(request, timings, timings.getCompiledQuery());
+    }
+
     /**
      * Build sort criteria
      */
-    private Sort buildSort(PropertySearchRequest request) {
+    Sort buildSort(PropertySearchRequest request) {
         String sortBy = StringUtils.hasText(request.getSortBy()) ? request.getSortBy() : "postedAt";
         String sortOrder = StringUtils.hasText(request.getSortOrder()) ? request.getSortOrder() : "desc";
         
@@ -80,6 +104,7 @@ public class PropertySearchService {
      * Create empty response for error cases
      */
     private SearchResponse<PropertyDocument> createEmptyResponse(PropertySearchRequest request) {
+        searchMetrics.recordError(SearchMetrics.shapeOf(request));
         return SearchResponse.<PropertyDocument>builder()
             .content(Collections.emptyList())
             .page(request.getPage())
@@ -106,31 +131,32 @@ public class PropertySearchService {
     /**
      * Build flexible search that can combine multiple criteria
      */
-    private Page<PropertyDocument> buildFlexibleSearch(PropertySearchRequest request, Pageable pageable) {
+    private Page<PropertyDocument> buildFlexibleSearch(PropertySearchRequest request, Pageable pageable,
+                                                       SearchTimings timings) {
         try {
             // Start with all available properties
-            Page<PropertyDocument> page = propertySearchRepository.findByAvailable(true, pageable);
-            
-            // Apply filters sequentially
-            if (StringUtils.hasText(request.getKeyword())) {
-                page = applyKeywordFilter(page, request.getKeyword());
-            }
-            
-            if (StringUtils.hasText(request.getCity())) {
-                page = applyCityFilter(page, request.getCity());
-            }
-            
-            if (request.getMinPrice() != null || request.getMaxPrice() != null) {
-                page = applyPriceFilter(page, request.getMinPrice(), request.getMaxPrice());
-            }
-            
-            if (request.getMinBedrooms() != null || request.getMaxBedrooms() != null) {
-                page = applyBedroomFilter(page, request.getMinBedrooms(), request.getMaxBedrooms());
-            }
-            
-            if (request.getMinBathrooms() != null || request.getMaxBathrooms() != null) {
-                page = applyBathroomFilter(page, request.getMinBathrooms(), request.getMaxBathrooms());
+            long start = System.nanoTime();
+            NativeQuery query = queryBuilder.availablePage(pageable);
+            timings.stage(SearchMetrics.STAGE_QUERY_BUILD, System.nanoTime() - start);
+            timings.setCompiledQuery(() -> queryBuilder.toJson(query));
+
+            start = System.nanoTime();
+            SearchHits<PropertyDocument> hits = elasticsearchOperations.search(query, PropertyDocument.class);
+            timings.stage(SearchMetrics.STAGE_ES_ROUND_TRIP, System.nanoTime() - start);
+            if (hits.getExecutionDuration() != null) {
+                timings.stage(SearchMetrics.STAGE_ES_TOOK, hits.getExecutionDuration().toNanos());
             }
+
+            start = System.nanoTime();
+            Page<PropertyDocument> page = new PageImpl<>(
+                hits.getSearchHits().stream().map(SearchHit::getContent).collect(Collectors.toList()),
+                pageable, hits.getTotalHits());
+            timings.stage(SearchMetrics.STAGE_MAPPING, System.nanoTime() - start);
+
+            // Apply filters sequentially
+            start = System.nanoTime();
+            page = applyFilters(page, request);
+            timings.stage(SearchMetrics.STAGE_FILTER, System.nanoTime() - start);
             
             return page;
             
@@ -141,6 +167,33 @@ public class PropertySearchService {
         }
     }
 
+    /**
+     * In-memory filter chain applied to the candidate page
+     */
+    Page<PropertyDocument> applyFilters(Page<PropertyDocument> page, PropertySearchRequest request) {
+        if (StringUtils.hasText(request.getKeyword())) {
+            page = applyKeywordFilter(page, request.getKeyword());
+        }
+        
+        if (StringUtils.hasText(request.getCity())) {
+            page = applyCityFilter(page, request.getCity());
+        }
+        
+        if (request.getMinPrice() != null || request.getMaxPrice() != null) {
+            page = applyPriceFilter(page, request.getMinPrice(), request.getMaxPrice());
+        }
+        
+        if (request.getMinBedrooms() != null || request.getMaxBedrooms() != null) {
+            page = applyBedroomFilter(page, request.getMinBedrooms(), request.getMaxBedrooms());
+        }
+        
+        if (request.getMinBathrooms() != null || request.getMaxBathrooms() != null) {
+            page = applyBathroomFilter(page, request.getMinBathrooms(), request.getMaxBathrooms());
+        }
+        
+        return page;
+    }
+
     /**
      * Search properties by bedroom and bathroom range
      */
@@ -255,6 +308,20 @@ public class PropertySearchService {
      */
     @Cacheable(value = "priceRangeAggregations", key = "'price-ranges'")
     public Map<String, Long> getPriceRangeAggregations() {
+        // Get sample data - in practice, this would use Elasticsearch aggregations
+        try {
+            Page<PropertyDocument> properties = propertySearchRepository.findByAvailable(true, PageRequest.of(0, 1000));
+            return bucketPrices(properties.getContent());
+        } catch (Exception e) {
+            log.warn("Error calculating price range aggregations", e);
+            return bucketPrices(Collections.emptyList());
+        }
+    }
+
+    /**
+     * Count properties per price range bucket
+     */
+    static Map<String, Long> bucketPrices(Iterable<PropertyDocument> properties) {
         Map<String, Long> priceRanges = new HashMap<>();
         
         // Initialize ranges
@@ -264,28 +331,21 @@ public class PropertySearchService {
         priceRanges.put("3000-5000", 0L);
         priceRanges.put("5000+", 0L);
         
-        // Get sample data - in practice, this would use Elasticsearch aggregations
-        try {
-            Page<PropertyDocument> properties = propertySearchRepository.findByAvailable(true, PageRequest.of(0, 1000));
-            
-            for (PropertyDocument property : properties.getContent()) {
-                BigDecimal price = property.getPrice();
-                if (price != null) {
-                    if (price.compareTo(BigDecimal.valueOf(1000)) < 0) {
-                        priceRanges.merge("0-1000", 1L, Long::sum);
-                    } else if (price.compareTo(BigDecimal.valueOf(2000)) < 0) {
-                        priceRanges.merge("1000-2000", 1L, Long::sum);
-                    } else if (price.compareTo(BigDecimal.valueOf(3000)) < 0) {
-                        priceRanges.merge("2000-3000", 1L, Long::sum);
-                    } else if (price.compareTo(BigDecimal.valueOf(5000)) < 0) {
-                        priceRanges.merge("3000-5000", 1L, Long::sum);
-                    } else {
-                        priceRanges.merge("5000+", 1L, Long::sum);
-                    }
+        for (PropertyDocument property : properties) {
+            BigDecimal price = property.getPrice();
+            if (price != null) {
+                if (price.compareTo(BigDecimal.valueOf(1000)) < 0) {
+                    priceRanges.merge("0-1000", 1L, Long::sum);
+                } else if (price.compareTo(BigDecimal.valueOf(2000)) < 0) {
+                    priceRanges.merge("1000-2000", 1L, Long::sum);
+                } else if (price.compareTo(BigDecimal.valueOf(3000)) < 0) {
+                    priceRanges.merge("2000-3000", 1L, Long::sum);
+                } else if (price.compareTo(BigDecimal.valueOf(5000)) < 0) {
+                    priceRanges.merge("3000-5000", 1L, Long::sum);
+                } else {
+                    priceRanges.merge("5000+", 1L, Long::sum);
                 }
             }
-        } catch (Exception e) {
-            log.warn("Error calculating price range aggregations", e);
         }
         
         return priceRanges;
@@ -295,15 +355,26 @@ public class PropertySearchService {
      * Search properties using repository methods for complex queries
      */
     public SearchResponse<PropertyDocument> searchPropertiesSimple(PropertySearchRequest request) {
+        SearchTimings timings = new SearchTimings(SearchMetrics.shapeOf(request));
+        try {
+            return searchPropertiesSimple(request, timings);
+        } finally {
+            recordTimings(request, timings);
+        }
+    }
+
+    private SearchResponse<PropertyDocument> searchPropertiesSimple(PropertySearchRequest request,
+                                                                    SearchTimings timings) {
         try {
             Pageable pageable = PageRequest.of(request.getPage(), request.getSize(), buildSort(request));
             Page<PropertyDocument> page;
 
             // Build search criteria based on request parameters
             // Use a more flexible approach that can combine multiple criteria
-            page = buildFlexibleSearch(request, pageable);
+            page = buildFlexibleSearch(request, pageable, timings);
 
-            return SearchResponse.<PropertyDocument>builder()
+            long start = System.nanoTime();
+            SearchResponse<PropertyDocument> response = SearchResponse.<PropertyDocument>builder()
                 .content(page.getContent())
                 .page(page.getNumber())
                 .size(page.getSize())
@@ -316,6 +387,8 @@ public class PropertySearchService {
                 .hasPrevious(page.hasPrevious())
                 .searchId(UUID.randomUUID().toString())
                 .build();
+            timings.stage(SearchMetrics.STAGE_MAPPING, System.nanoTime() - start);
+            return response;
 
         } catch (Exception e) {
             log.error("Error in simple property search", e);
@@ -1,6 +1,7 @@
 package com.team12.searchservice.controller;
 
 import com.team12.searchservice.service.DataSyncService;
+import com.team12.searchservice.service.LocationBackfillService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -22,6 +23,9 @@ class AdminControllerTest {
     @Mock
     private DataSyncService dataSyncService;
 
+    @Mock
+    private LocationBackfillService locationBackfillService;
+
     @InjectMocks
     private AdminController adminController;
 
@@ -3,6 +3,8 @@ package com.team12.searchservice.controller;
 import com.team12.searchservice.document.PropertyDocument;
 import com.team12.searchservice.dto.PropertySearchRequest;
 import com.team12.searchservice.dto.SearchResponse;
+import com.team12.searchservice.metrics.SearchMetrics;
+import com.team12.searchservice.service.PropertyExportService;
 import com.team12.searchservice.service.PropertySearchService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -27,6 +29,12 @@ class PropertySearchControllerTest {
     @Mock
     private PropertySearchService propertySearchService;
 
+    @Mock
+    private SearchMetrics searchMetrics;
+
+    @Mock
+    private PropertyExportService propertyExportService;
+
     @InjectMocks
     private PropertySearchController propertySearchController;
 
@@ -356,4 +364,33 @@ class PropertySearchControllerTest {
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody().getSearchTime()).isGreaterThanOrEqualTo(0L);
     }
-} 
\ No newline at end of file
+
+    @Test
+    void exportProperties_ShouldRejectUnknownFormat() {
+        ResponseEntity<?> response = propertySearchController.exportProperties(null, "xlsx", null);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void exportProperties_ShouldGzipWhenAccepted() throws Exception {
+        when(propertyExportService.export(any(), any(), any())).thenAnswer(inv -> {
+            java.io.OutputStream out = inv.getArgument(2);
+            out.write("{\"id\":\"1\"}\n".getBytes());
+            out.close();
+            return 1L;
+        });
+
+        var response = propertySearchController.exportProperties(null, "ndjson", "gzip, deflate");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getFirst("Content-Encoding")).isEqualTo("gzip");
+        assertThat(response.getHeaders().getContentType().toString()).isEqualTo("application/x-ndjson");
+
+        java.io.ByteArrayOutputStream body = new java.io.ByteArrayOutputStream();
+        response.getBody().writeTo(body);
+        try (var in = new java.util.zip.GZIPInputStream(new java.io.ByteArrayInputStream(body.toByteArray()))) {
+            assertThat(new String(in.readAllBytes())).isEqualTo("{\"id\":\"1\"}\n");
+        }
+    }
+}
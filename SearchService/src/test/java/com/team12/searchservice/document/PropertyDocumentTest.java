@@ -23,7 +23,7 @@ class PropertyDocumentTest {
                 .description("Beautiful modern apartment in the heart of Singapore")
                 .price(new BigDecimal("3500.00"))
                 .address("123 Orchard Road, Singapore")
-                .img("apartment.jpg")
+                .thumbnail("apartment.jpg")
                 .location(location)
                 .numBedrooms(2)
                 .numBathrooms(2)
@@ -45,7 +45,7 @@ class PropertyDocumentTest {
         assertThat(property.getDescription()).isEqualTo("Beautiful modern apartment in the heart of Singapore");
         assertThat(property.getPrice()).isEqualTo(new BigDecimal("3500.00"));
         assertThat(property.getAddress()).isEqualTo("123 Orchard Road, Singapore");
-        assertThat(property.getImg()).isEqualTo("apartment.jpg");
+        assertThat(property.getThumbnail()).isEqualTo("apartment.jpg");
         assertThat(property.getLocation()).isEqualTo(location);
         assertThat(property.getNumBedrooms()).isEqualTo(2);
         assertThat(property.getNumBathrooms()).isEqualTo(2);
@@ -72,7 +72,7 @@ class PropertyDocumentTest {
         assertThat(property.getDescription()).isNull();
         assertThat(property.getPrice()).isNull();
         assertThat(property.getAddress()).isNull();
-        assertThat(property.getImg()).isNull();
+        assertThat(property.getThumbnail()).isNull();
         assertThat(property.getLocation()).isNull();
         assertThat(property.getNumBedrooms()).isNull();
         assertThat(property.getNumBathrooms()).isNull();
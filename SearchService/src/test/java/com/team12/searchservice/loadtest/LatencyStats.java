@@ -0,0 +1,57 @@
+package com.team12.searchservice.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exact latency percentiles computed from every recorded sample (nearest-rank).
+ */
+public class LatencyStats {
+
+    private long[] samples = new long[1024];
+    private int size;
+
+    public synchronized void add(long nanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = nanos;
+    }
+
+    public synchronized void addAll(LatencyStats other) {
+        for (int i = 0; i < other.size; i++) {
+            add(other.samples[i]);
+        }
+    }
+
+    public synchronized int count() {
+        return size;
+    }
+
+    public synchronized Map<String, Object> summary() {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", size);
+        summary.put("meanMs", size == 0 ? 0 : toMillis((long) Arrays.stream(sorted).average().orElse(0)));
+        summary.put("p50Ms", toMillis(percentile(sorted, 0.50)));
+        summary.put("p95Ms", toMillis(percentile(sorted, 0.95)));
+        summary.put("p99Ms", toMillis(percentile(sorted, 0.99)));
+        summary.put("maxMs", size == 0 ? 0 : toMillis(sorted[size - 1]));
+        return summary;
+    }
+
+    static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    private static double toMillis(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos) / 1000.0;
+    }
+}
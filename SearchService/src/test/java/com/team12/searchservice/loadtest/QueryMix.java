@@ -0,0 +1,89 @@
+package com.team12.searchservice.loadtest;
+
+import com.team12.searchservice.dto.PropertySearchRequest;
+
+import java.math.BigDecimal;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted mix of search request shapes replayed by the load test.
+ * Configured as {@code keyword:40,filters:30,city:15,geo:15}; weights are relative.
+ */
+public class QueryMix {
+
+    enum Kind { KEYWORD, FILTERS, CITY, GEO }
+
+    public static final String DEFAULT_MIX = "keyword:40,filters:30,city:15,geo:15";
+
+    private final Map<Kind, Integer> weights;
+    private final int totalWeight;
+    private final SyntheticCatalogGenerator catalog;
+
+    public QueryMix(String spec, SyntheticCatalogGenerator catalog) {
+        this.weights = parse(spec);
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        this.catalog = catalog;
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("Query mix must have a positive total weight: " + spec);
+        }
+    }
+
+    public Map<Kind, Integer> getWeights() {
+        return weights;
+    }
+
+    public Kind pick(Random random) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<Kind, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Kind.FILTERS;
+    }
+
+    public PropertySearchRequest next(Kind kind, Random random) {
+        PropertySearchRequest.PropertySearchRequestBuilder builder = PropertySearchRequest.builder()
+                .page(random.nextDouble() < 0.8 ? 0 : 1 + random.nextInt(4))
+                .size(20)
+                .available(true);
+
+        switch (kind) {
+            case KEYWORD -> builder.keyword(random.nextBoolean()
+                    ? SyntheticCatalogGenerator.ADJECTIVES.get(random.nextInt(SyntheticCatalogGenerator.ADJECTIVES.size()))
+                    : SyntheticCatalogGenerator.TYPES.get(random.nextInt(SyntheticCatalogGenerator.TYPES.size())));
+            case FILTERS -> {
+                int minBedrooms = 1 + random.nextInt(3);
+                double minPrice = 1000 + random.nextInt(20) * 100;
+                builder.minBedrooms(minBedrooms)
+                        .maxBedrooms(minBedrooms + random.nextInt(2))
+                        .minPrice(BigDecimal.valueOf(minPrice))
+                        .maxPrice(BigDecimal.valueOf(minPrice + 500 + random.nextInt(30) * 100))
+                        .sortBy(random.nextBoolean() ? "price" : "postedAt");
+            }
+            case CITY -> builder.city(catalog.pickCity(random));
+            case GEO -> {
+                double[] location = catalog.pickLocation(random);
+                builder.latitude(location[0])
+                        .longitude(location[1])
+                        .radiusKm(1 + random.nextInt(10) * 1.0);
+            }
+        }
+        return builder.build();
+    }
+
+    private static Map<Kind, Integer> parse(String spec) {
+        Map<Kind, Integer> parsed = new EnumMap<>(Kind.class);
+        for (String part : spec.split(",")) {
+            String[] kv = part.trim().split(":");
+            if (kv.length != 2) {
+                throw new IllegalArgumentException("Invalid query mix entry: " + part);
+            }
+            parsed.put(Kind.valueOf(kv[0].trim().toUpperCase()), Integer.parseInt(kv[1].trim()));
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,236 @@
+package com.team12.searchservice.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.team12.searchservice.document.PropertyDocument;
+import com.team12.searchservice.dto.PropertySearchRequest;
+import com.team12.searchservice.dto.SearchResponse;
+import com.team12.searchservice.metrics.SearchMetrics;
+import com.team12.searchservice.service.PropertySearchService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.IndexOperations;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.elasticsearch.ElasticsearchContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.File;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Replays a configurable query mix against {@link PropertySearchService} on a synthetic corpus
+ * and writes throughput and latency percentiles to {@code target/loadtest/search-loadtest.json}.
+ * <p>
+ * Skipped unless {@code -Dsearch.loadtest=true}; normally run through the {@code loadtest} profile:
+ * <pre>
+ * mvn -Ploadtest test -Dsearch.loadtest.docs=1000000 -Dsearch.loadtest.mix=keyword:50,filters:50
+ * </pre>
+ */
+@Testcontainers
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("loadtest")
+@EnabledIfSystemProperty(named = "search.loadtest", matches = "true")
+class SearchLoadTest {
+
+    private static final int INDEX_BATCH = 5_000;
+
+    @Container
+    static final ElasticsearchContainer ELASTICSEARCH =
+            new ElasticsearchContainer("docker.elastic.co/elasticsearch/elasticsearch:8.15.0")
+                    .withEnv("xpack.security.enabled", "false")
+                    .withEnv("ES_JAVA_OPTS", "-Xms2g -Xmx2g");
+
+    @DynamicPropertySource
+    static void elasticsearchProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.elasticsearch.uris", () -> "http://" + ELASTICSEARCH.getHttpHostAddress());
+    }
+
+    @Autowired
+    private PropertySearchService propertySearchService;
+
+    @Autowired
+    private ElasticsearchOperations elasticsearchOperations;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void replayQueryMix() throws Exception {
+        int docs = Integer.getInteger("search.loadtest.docs", 100_000);
+        long seed = Long.getLong("search.loadtest.seed", 42L);
+        int concurrency = Integer.getInteger("search.loadtest.concurrency", 8);
+        int warmupQueries = Integer.getInteger("search.loadtest.warmup", 2_000);
+        int queries = Integer.getInteger("search.loadtest.queries", 20_000);
+        String mixSpec = System.getProperty("search.loadtest.mix", QueryMix.DEFAULT_MIX);
+        File output = new File(System.getProperty("search.loadtest.output", "target/loadtest/search-loadtest.json"));
+
+        SyntheticCatalogGenerator catalog = new SyntheticCatalogGenerator(seed);
+        long indexNanos = indexCorpus(catalog, docs);
+        QueryMix mix = new QueryMix(mixSpec, catalog);
+
+        replay(mix, seed ^ 0x5DEECE66DL, concurrency, warmupQueries, new EnumMap<>(QueryMix.Kind.class),
+                new EnumMap<>(QueryMix.Kind.class), new AtomicLong());
+        Map<String, double[]> stagesAfterWarmup = stageTotals();
+        double searchErrorsAfterWarmup = searchErrors();
+
+        Map<QueryMix.Kind, LatencyStats> byKind = new EnumMap<>(QueryMix.Kind.class);
+        Map<QueryMix.Kind, AtomicLong> hitsByKind = new EnumMap<>(QueryMix.Kind.class);
+        AtomicLong errors = new AtomicLong();
+        long start = System.nanoTime();
+        replay(mix, seed, concurrency, queries, byKind, hitsByKind, errors);
+        long wallNanos = System.nanoTime() - start;
+        // the service answers a failed search with an empty page, so thrown exceptions alone miss most failures
+        errors.addAndGet(Math.round(searchErrors() - searchErrorsAfterWarmup));
+
+        LatencyStats overall = new LatencyStats();
+        byKind.values().forEach(overall::addAll);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("config", Map.of(
+                "docs", docs,
+                "seed", seed,
+                "concurrency", concurrency,
+                "warmupQueries", warmupQueries,
+                "queries", queries,
+                "mix", mixSpec));
+        report.put("indexing", Map.of(
+                "seconds", nanosToSeconds(indexNanos),
+                "docsPerSecond", docs / Math.max(nanosToSeconds(indexNanos), 1e-9)));
+        report.put("throughputQps", overall.count() / Math.max(nanosToSeconds(wallNanos), 1e-9));
+        report.put("errors", errors.get());
+        report.put("latency", overall.summary());
+        Map<String, Object> perKind = new LinkedHashMap<>();
+        byKind.forEach((kind, stats) -> perKind.put(kind.name().toLowerCase(), stats.summary()));
+        report.put("latencyByQueryKind", perKind);
+        Map<String, Object> hits = new LinkedHashMap<>();
+        hitsByKind.forEach((kind, total) -> hits.put(kind.name().toLowerCase(), total.get()));
+        report.put("hitsByQueryKind", hits);
+        report.put("stages", stageSummary(stagesAfterWarmup));
+
+        output.getParentFile().mkdirs();
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(output, report);
+
+        assertThat(overall.count()).isEqualTo(queries);
+        assertThat(errors.get()).as("failed searches").isZero();
+        byKind.forEach((kind, stats) -> {
+            if (stats.count() > 0) {
+                assertThat(hitsByKind.get(kind).get()).as("hits of %s queries", kind).isPositive();
+            }
+        });
+    }
+
+    private long indexCorpus(SyntheticCatalogGenerator catalog, int docs) {
+        IndexOperations indexOps = elasticsearchOperations.indexOps(PropertyDocument.class);
+        if (indexOps.exists()) {
+            indexOps.delete();
+        }
+        indexOps.createWithMapping();
+
+        long start = System.nanoTime();
+        for (int from = 0; from < docs; from += INDEX_BATCH) {
+            elasticsearchOperations.save(catalog.generate(from, Math.min(INDEX_BATCH, docs - from)));
+        }
+        indexOps.refresh();
+        return System.nanoTime() - start;
+    }
+
+    private void replay(QueryMix mix, long seed, int concurrency, int queries,
+                        Map<QueryMix.Kind, LatencyStats> byKind, Map<QueryMix.Kind, AtomicLong> hitsByKind,
+                        AtomicLong errors) throws Exception {
+        for (QueryMix.Kind kind : QueryMix.Kind.values()) {
+            byKind.putIfAbsent(kind, new LatencyStats());
+            hitsByKind.putIfAbsent(kind, new AtomicLong());
+        }
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int w = 0; w < concurrency; w++) {
+                Random random = new Random(seed + w);
+                int share = queries / concurrency + (w < queries % concurrency ? 1 : 0);
+                workers.add(pool.submit(() -> {
+                    for (int i = 0; i < share; i++) {
+                        QueryMix.Kind kind = mix.pick(random);
+                        PropertySearchRequest request = mix.next(kind, random);
+                        long start = System.nanoTime();
+                        try {
+                            SearchResponse<PropertyDocument> response = propertySearchService.searchProperties(request);
+                            hitsByKind.get(kind).addAndGet(response.getTotalElements());
+                        } catch (RuntimeException e) {
+                            errors.incrementAndGet();
+                        }
+                        byKind.get(kind).add(System.nanoTime() - start);
+                    }
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+
+    private double searchErrors() {
+        return meterRegistry.find(SearchMetrics.ERROR_COUNTER).counters().stream()
+                .mapToDouble(Counter::count)
+                .sum();
+    }
+
+    /**
+     * Per-stage count and total time (ms), keyed by {@code stage/shape}.
+     */
+    private Map<String, double[]> stageTotals() {
+        Map<String, double[]> totals = new LinkedHashMap<>();
+        for (Timer timer : meterRegistry.find(SearchMetrics.STAGE_TIMER).timers()) {
+            String key = timer.getId().getTag("stage") + "/" + timer.getId().getTag("shape");
+            totals.put(key, new double[]{timer.count(), timer.totalTime(TimeUnit.MILLISECONDS)});
+        }
+        return totals;
+    }
+
+    /**
+     * Mean time per instrumented stage over the measured run only (warm-up subtracted),
+     * so a regression can be attributed to a stage without re-running.
+     */
+    private Map<String, Object> stageSummary(Map<String, double[]> baseline) {
+        Map<String, Object> stages = new LinkedHashMap<>();
+        stageTotals().forEach((key, totals) -> {
+            double[] before = baseline.getOrDefault(key, new double[2]);
+            double count = totals[0] - before[0];
+            if (count > 0) {
+                stages.put(key, Map.of(
+                        "count", (long) count,
+                        "meanMs", (totals[1] - before[1]) / count));
+            }
+        });
+        return stages;
+    }
+
+    private static double nanosToSeconds(long nanos) {
+        return nanos / 1_000_000_000.0;
+    }
+}
@@ -0,0 +1,146 @@
+package com.team12.searchservice.loadtest;
+
+import com.team12.searchservice.document.PropertyDocument;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic generator for a realistic-looking property corpus.
+ * <ul>
+ *     <li>cities follow a Zipf distribution, so a couple of cities hold most listings</li>
+ *     <li>prices are log-normal around a per-city median</li>
+ *     <li>locations are Gaussian clusters around a handful of neighbourhoods per city</li>
+ * </ul>
+ * The same seed always produces the same corpus, which keeps runs comparable.
+ */
+public class SyntheticCatalogGenerator {
+
+    record City(String name, double latitude, double longitude, double medianPrice) {
+    }
+
+    static final List<City> CITIES = List.of(
+            new City("Singapore", 1.3521, 103.8198, 3200),
+            new City("Toronto", 43.6532, -79.3832, 2600),
+            new City("Vancouver", 49.2827, -123.1207, 2900),
+            new City("Montreal", 45.5019, -73.5674, 1800),
+            new City("Calgary", 51.0447, -114.0719, 1700),
+            new City("Ottawa", 45.4215, -75.6972, 1900),
+            new City("Edmonton", 53.5461, -113.4938, 1500),
+            new City("Winnipeg", 49.8951, -97.1384, 1400),
+            new City("Halifax", 44.6488, -63.5752, 1600),
+            new City("Victoria", 48.4284, -123.3656, 2200)
+    );
+
+    static final List<String> ADJECTIVES = List.of(
+            "Cozy", "Spacious", "Modern", "Luxury", "Quiet", "Bright", "Renovated", "Furnished", "Charming", "Downtown");
+    static final List<String> TYPES = List.of("Apartment", "Condo", "House", "Studio", "Townhouse", "Loft");
+    static final List<String> FEATURES = List.of(
+            "parking", "pool", "gym", "balcony", "near transport", "shopping nearby", "city view", "garden");
+
+    private static final int NEIGHBOURHOODS_PER_CITY = 6;
+    private static final double ZIPF_EXPONENT = 1.1;
+    private static final double PRICE_SIGMA = 0.45;
+
+    private final Random random;
+    private final double[] cityCdf;
+    private final double[][][] neighbourhoods;
+
+    public SyntheticCatalogGenerator(long seed) {
+        this.random = new Random(seed);
+        this.cityCdf = zipfCdf(CITIES.size(), ZIPF_EXPONENT);
+        this.neighbourhoods = new double[CITIES.size()][NEIGHBOURHOODS_PER_CITY][];
+        for (int c = 0; c < CITIES.size(); c++) {
+            City city = CITIES.get(c);
+            for (int n = 0; n < NEIGHBOURHOODS_PER_CITY; n++) {
+                neighbourhoods[c][n] = new double[]{
+                        city.latitude() + random.nextGaussian() * 0.05,
+                        city.longitude() + random.nextGaussian() * 0.05
+                };
+            }
+        }
+    }
+
+    /**
+     * Generate documents {@code [from, from + count)}; ids are stable across runs for the same seed.
+     */
+    public List<PropertyDocument> generate(int from, int count) {
+        List<PropertyDocument> docs = new ArrayList<>(count);
+        for (int i = from; i < from + count; i++) {
+            docs.add(next(i));
+        }
+        return docs;
+    }
+
+    public String pickCity(Random r) {
+        return CITIES.get(sampleCityIndex(r)).name();
+    }
+
+    public double[] pickLocation(Random r) {
+        int c = sampleCityIndex(r);
+        double[] centre = neighbourhoods[c][r.nextInt(NEIGHBOURHOODS_PER_CITY)];
+        return new double[]{centre[0] + r.nextGaussian() * 0.01, centre[1] + r.nextGaussian() * 0.01};
+    }
+
+    private PropertyDocument next(int index) {
+        int c = sampleCityIndex(random);
+        City city = CITIES.get(c);
+        double[] centre = neighbourhoods[c][random.nextInt(NEIGHBOURHOODS_PER_CITY)];
+        String adjective = ADJECTIVES.get(random.nextInt(ADJECTIVES.size()));
+        String type = TYPES.get(random.nextInt(TYPES.size()));
+        String feature = FEATURES.get(random.nextInt(FEATURES.size()));
+
+        int bedrooms = "Studio".equals(type) ? 1 : 1 + Math.min(4, (int) Math.abs(random.nextGaussian() * 1.5));
+        int bathrooms = Math.max(1, bedrooms - random.nextInt(2));
+        double price = city.medianPrice() * (0.6 + 0.25 * bedrooms)
+                * Math.exp(random.nextGaussian() * PRICE_SIGMA);
+
+        return PropertyDocument.builder()
+                .id("synthetic-" + index)
+                .title(adjective + " " + type + " in " + city.name())
+                .description(adjective + " " + type.toLowerCase() + " with " + feature)
+                .address((1 + random.nextInt(999)) + " " + feature + " street, " + city.name())
+                .city(city.name())
+                .price(BigDecimal.valueOf(price).setScale(2, RoundingMode.HALF_UP))
+                .numBedrooms(bedrooms)
+                .numBathrooms(bathrooms)
+                .propertyType(type)
+                .available(random.nextDouble() < 0.85)
+                .location(new GeoPoint(
+                        centre[0] + random.nextGaussian() * 0.01,
+                        centre[1] + random.nextGaussian() * 0.01))
+                .postedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(random.nextInt(60 * 24 * 365)))
+                .agentId(String.valueOf(1 + random.nextInt(500)))
+                .viewCount((int) (Math.exp(random.nextGaussian() * 1.2) * 20))
+                .build();
+    }
+
+    private int sampleCityIndex(Random r) {
+        double u = r.nextDouble();
+        for (int i = 0; i < cityCdf.length; i++) {
+            if (u <= cityCdf[i]) {
+                return i;
+            }
+        }
+        return cityCdf.length - 1;
+    }
+
+    private static double[] zipfCdf(int n, double exponent) {
+        double[] cdf = new double[n];
+        double norm = 0;
+        for (int k = 1; k <= n; k++) {
+            norm += 1 / Math.pow(k, exponent);
+        }
+        double cumulative = 0;
+        for (int k = 1; k <= n; k++) {
+            cumulative += (1 / Math.pow(k, exponent)) / norm;
+            cdf[k - 1] = cumulative;
+        }
+        return cdf;
+    }
+}
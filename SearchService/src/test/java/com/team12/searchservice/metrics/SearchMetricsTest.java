@@ -0,0 +1,71 @@
+package com.team12.searchservice.metrics;
+
+import com.team12.searchservice.dto.PropertySearchRequest;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private SearchMetrics searchMetrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        searchMetrics = new SearchMetrics(registry);
+    }
+
+    @Test
+    void shapeOf_shouldClassifyGeoKeywordAndFilters() {
+        assertThat(SearchMetrics.shapeOf(PropertySearchRequest.builder()
+                .latitude(1.3).longitude(103.8).keyword("condo").build()))
+                .isEqualTo(SearchMetrics.SHAPE_GEO);
+        assertThat(SearchMetrics.shapeOf(PropertySearchRequest.builder().keyword("condo").build()))
+                .isEqualTo(SearchMetrics.SHAPE_KEYWORD);
+        assertThat(SearchMetrics.shapeOf(PropertySearchRequest.builder().keyword(" ").minPrice(null).build()))
+                .isEqualTo(SearchMetrics.SHAPE_FILTERS_ONLY);
+        assertThat(SearchMetrics.shapeOf(null)).isEqualTo(SearchMetrics.SHAPE_FILTERS_ONLY);
+    }
+
+    @Test
+    void record_shouldTagTimersByStageAndShape() {
+        SearchTimings timings = new SearchTimings(SearchMetrics.SHAPE_KEYWORD);
+        timings.stage(SearchMetrics.STAGE_QUERY_BUILD, TimeUnit.MILLISECONDS.toNanos(2));
+        timings.stage(SearchMetrics.STAGE_ES_ROUND_TRIP, TimeUnit.MILLISECONDS.toNanos(20));
+
+        searchMetrics.record(timings);
+        searchMetrics.record(SearchMetrics.STAGE_QUERY_BUILD, SearchMetrics.SHAPE_KEYWORD, TimeUnit.MILLISECONDS.toNanos(4));
+
+        Timer build = registry.find(SearchMetrics.STAGE_TIMER)
+                .tag("stage", SearchMetrics.STAGE_QUERY_BUILD)
+                .tag("shape", SearchMetrics.SHAPE_KEYWORD)
+                .timer();
+        assertThat(build).isNotNull();
+        assertThat(build.count()).isEqualTo(2);
+        assertThat(build.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(6.0);
+        assertThat(registry.find(SearchMetrics.REQUEST_TIMER).tag("shape", SearchMetrics.SHAPE_KEYWORD).timer())
+                .isNotNull();
+    }
+
+    @Test
+    void recordError_shouldCountFailuresByShape() {
+        searchMetrics.recordError(SearchMetrics.SHAPE_GEO);
+        searchMetrics.recordError(SearchMetrics.SHAPE_GEO);
+
+        assertThat(registry.find(SearchMetrics.ERROR_COUNTER).tag("shape", SearchMetrics.SHAPE_GEO).counter().count())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    void record_shouldIgnoreNegativeDurations() {
+        searchMetrics.record(SearchMetrics.STAGE_PARSE, SearchMetrics.SHAPE_GEO, -1);
+
+        assertThat(registry.find(SearchMetrics.STAGE_TIMER).timer()).isNull();
+    }
+}
@@ -14,13 +14,19 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.RefreshPolicy;
+import org.springframework.data.elasticsearch.core.query.UpdateQuery;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -39,6 +45,12 @@ class DataSyncServiceTest {
     @Mock
     private ObjectMapper objectMapper;
 
+    @Mock
+    private IngestGovernor ingestGovernor;
+
+    @Mock
+    private ElasticsearchOperations elasticsearchOperations;
+
     @InjectMocks
     private DataSyncService dataSyncService;
 
@@ -63,7 +75,7 @@ class DataSyncServiceTest {
         samplePropertyData.put("propertyType", "Apartment");
         samplePropertyData.put("available", true);
         samplePropertyData.put("agentId", "agent1");
-        samplePropertyData.put("img", "image.jpg");
+        samplePropertyData.put("thumbnail", "image.jpg");
 
         // Sample user data
         sampleUserData = new HashMap<>();
@@ -108,6 +120,33 @@ class DataSyncServiceTest {
         verify(propertySearchRepository).save(any(PropertyDocument.class));
     }
 
+    @Test
+    void handlePropertySync_ShouldWaitForRefreshWhenRequested() {
+        // Given
+        propertyMessage.put("action", "update");
+        propertyMessage.put("refresh", "wait_for");
+
+        // When
+        dataSyncService.handlePropertySync(propertyMessage);
+
+        // Then
+        verify(propertySearchRepository).save(any(PropertyDocument.class), eq(RefreshPolicy.WAIT_UNTIL));
+        verify(ingestGovernor).recordWrites(1);
+    }
+
+    @Test
+    void handlePropertySync_ShouldForceRefreshForWaitForDuringBurst() {
+        // Given
+        propertyMessage.put("refresh", "wait_for");
+        when(ingestGovernor.isBursting()).thenReturn(true);
+
+        // When
+        dataSyncService.handlePropertySync(propertyMessage);
+
+        // Then
+        verify(propertySearchRepository).save(any(PropertyDocument.class), eq(RefreshPolicy.IMMEDIATE));
+    }
+
     @Test
     void handlePropertySync_ShouldProcessDeleteAction() {
         // Given
@@ -121,6 +160,111 @@ class DataSyncServiceTest {
         verify(propertySearchRepository).deleteById("1");
     }
 
+    @Test
+    void handlePropertySync_ShouldProcessBulkActionWithOneSaveAll() {
+        // Given
+        Map<String, Object> second = new HashMap<>(samplePropertyData);
+        second.put("id", "2");
+        propertyMessage.put("action", "bulk");
+        propertyMessage.put("data", List.of(samplePropertyData, second));
+
+        // When
+        dataSyncService.handlePropertySync(propertyMessage);
+
+        // Then
+        verify(propertySearchRepository).saveAll(argThat((Iterable<PropertyDocument> docs) -> {
+            List<String> ids = new ArrayList<>();
+            docs.forEach(d -> ids.add(d.getId()));
+            return ids.equals(List.of("1", "2"));
+        }));
+        verify(propertySearchRepository, never()).save(any(PropertyDocument.class));
+        verify(ingestGovernor).recordWrites(2);
+    }
+
+    @Test
+    void handlePropertySync_ShouldIndexLocation() {
+        // Given
+        samplePropertyData.put("location", Map.of("latitude", 1.3, "longitude", 103.8));
+
+        // When
+        dataSyncService.handlePropertySync(propertyMessage);
+
+        // Then
+        verify(propertySearchRepository).save(argThat((PropertyDocument doc) ->
+                doc.getLocation() != null && doc.getLocation().getLat() == 1.3 && doc.getLocation().getLon() == 103.8));
+    }
+
+    @Test
+    void handlePropertySync_ShouldFillMissingLocationsWithOneBulkUpdate() {
+        // Given
+        propertyMessage.put("action", "location");
+        propertyMessage.put("data", List.of(
+                Map.of("id", "1", "location", Map.of("latitude", 1.3, "longitude", 103.8)),
+                Map.of("id", "2", "location", Map.of("latitude", 1.35, "longitude", 103.9))));
+
+        // When
+        dataSyncService.handlePropertySync(propertyMessage);
+
+        // Then
+        verify(elasticsearchOperations).bulkUpdate(argThat((List<UpdateQuery> updates) ->
+                updates.size() == 2
+                        && updates.get(0).getId().equals("1")
+                        && updates.get(0).getScript().contains("ctx._source.location == null")
+                        && updates.get(1).getParams().get("location").equals(Map.of("lat", 1.35, "lon", 103.9))),
+                eq(PropertyDocument.class));
+        verify(propertySearchRepository, never()).save(any(PropertyDocument.class));
+        verify(ingestGovernor).recordWrites(2);
+    }
+
+    @Test
+    void handlePropertySync_ShouldApplyPatchAsPartialUpdate() {
+        // Given
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("id", "1");
+        changes.put("price", 4200);
+        changes.put("address", "9 Bay Rd, Marina, Singapore");
+        propertyMessage.put("action", "patch");
+        propertyMessage.put("data", changes);
+
+        // When
+        dataSyncService.handlePropertySync(propertyMessage);
+
+        // Then
+        verify(elasticsearchOperations).update(argThat((UpdateQuery update) -> {
+            Map<String, Object> doc = update.getDocument();
+            return update.getId().equals("1")
+                    && new BigDecimal("4200").equals(doc.get("price"))
+                    && "Singapore".equals(doc.get("city"))
+                    && "Marina".equals(doc.get("district"))
+                    && doc.containsKey("lastUpdated")
+                    && !doc.containsKey("title")
+                    && !doc.containsKey("id");
+        }), any());
+        verify(propertySearchRepository, never()).save(any(PropertyDocument.class));
+        verify(ingestGovernor).recordWrites(1);
+    }
+
+    @Test
+    void handlePropertySync_ShouldIndexFullDocumentWhenPatchTargetIsMissing() {
+        // Given
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("id", "1");
+        changes.put("price", 4200);
+        propertyMessage.put("action", "patch");
+        propertyMessage.put("data", changes);
+        propertyMessage.put("document", samplePropertyData);
+        when(elasticsearchOperations.update(any(UpdateQuery.class), any()))
+                .thenThrow(new RuntimeException("document_missing_exception"));
+
+        // When
+        dataSyncService.handlePropertySync(propertyMessage);
+
+        // Then
+        verify(propertySearchRepository).save(argThat((PropertyDocument doc) ->
+                doc.getId().equals("1") && "Modern Apartment".equals(doc.getTitle())));
+        verify(ingestGovernor).recordWrites(1);
+    }
+
     @Test
     void handlePropertySync_ShouldHandleStringMessage() throws JsonProcessingException {
         // Given
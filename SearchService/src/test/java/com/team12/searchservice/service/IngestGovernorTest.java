@@ -0,0 +1,152 @@
+package com.team12.searchservice.service;
+
+import co.elastic.clients.elasticsearch.ElasticsearchClient;
+import co.elastic.clients.elasticsearch.indices.ElasticsearchIndicesClient;
+import co.elastic.clients.elasticsearch.indices.PutIndicesSettingsRequest;
+import com.team12.searchservice.config.RabbitMQConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class IngestGovernorTest {
+
+    private AmqpAdmin amqpAdmin;
+    private ElasticsearchIndicesClient indices;
+    private StringRedisTemplate redisTemplate;
+    private ValueOperations<String, String> redisValues;
+    private IngestGovernor governor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        amqpAdmin = mock(AmqpAdmin.class);
+        ElasticsearchClient client = mock(ElasticsearchClient.class);
+        indices = mock(ElasticsearchIndicesClient.class);
+        when(client.indices()).thenReturn(indices);
+        redisTemplate = mock(StringRedisTemplate.class);
+        redisValues = mock(ValueOperations.class);
+        when(redisTemplate.opsForValue()).thenReturn(redisValues);
+        leaseHeld(true);
+
+        governor = new IngestGovernor(amqpAdmin, client, redisTemplate, new SimpleMeterRegistry(), 30_000,
+                "1s", "30s", 500, 20, 200, 20, 2);
+    }
+
+    @Test
+    void evaluate_shouldWidenDuringBurstAndRestoreAfterQuietChecks() throws Exception {
+        queueDepth(0);
+        governor.evaluate();
+        assertThat(governor.isBursting()).isFalse();
+
+        queueDepth(5_000);
+        governor.evaluate();
+        assertThat(governor.isBursting()).isTrue();
+
+        queueDepth(0);
+        governor.evaluate();
+        assertThat(governor.isBursting()).isTrue();
+        governor.evaluate();
+        assertThat(governor.isBursting()).isFalse();
+
+        assertThat(appliedIntervals()).containsExactly("1s", "30s", "1s");
+    }
+
+    @Test
+    void evaluate_shouldKeepStateWhenSettingsUpdateFails() throws Exception {
+        queueDepth(5_000);
+        when(indices.putSettings(any(PutIndicesSettingsRequest.class))).thenThrow(new RuntimeException("es down"));
+
+        governor.evaluate();
+
+        assertThat(governor.isBursting()).isFalse();
+    }
+
+    @Test
+    void restore_shouldResetIntervalOnShutdownDuringBurst() throws Exception {
+        queueDepth(5_000);
+        governor.evaluate();
+
+        governor.restore();
+
+        assertThat(governor.isBursting()).isFalse();
+        assertThat(appliedIntervals()).containsExactly("30s", "1s");
+    }
+
+    @Test
+    void evaluate_shouldLeaveTheIndexToTheLeaseHolderAndMirrorItsState() throws Exception {
+        leaseHeld(false);
+        when(redisValues.get(IngestGovernor.STATE_KEY)).thenReturn("1");
+        queueDepth(0);
+        governor.recordWrites(7);
+
+        governor.evaluate();
+
+        assertThat(governor.isLeading()).isFalse();
+        assertThat(governor.isBursting()).isTrue();
+        verify(redisValues).increment(IngestGovernor.WRITES_KEY, 7L);
+        verifyNoInteractions(indices);
+        verify(amqpAdmin, never()).getQueueInfo(anyString());
+    }
+
+    @Test
+    void evaluate_shouldMeasureTheRateOfTheWholeCluster() throws Exception {
+        queueDepth(0);
+        governor.evaluate();
+        // other replicas wrote a burst since the last check
+        when(redisValues.getAndDelete(IngestGovernor.WRITES_KEY)).thenReturn("1000000");
+
+        governor.evaluate();
+
+        assertThat(governor.isBursting()).isTrue();
+        verify(redisValues).set(IngestGovernor.STATE_KEY, "1", Duration.ofMillis(30_000));
+    }
+
+    @Test
+    void evaluate_shouldRestoreTheIntervalWhenTheLeaseCannotBeHeld() throws Exception {
+        queueDepth(5_000);
+        governor.evaluate();
+        when(redisValues.setIfAbsent(eq(IngestGovernor.LEASE_KEY), anyString(), any(Duration.class)))
+                .thenThrow(new RuntimeException("redis down"));
+
+        governor.evaluate();
+
+        assertThat(governor.isLeading()).isFalse();
+        assertThat(governor.isBursting()).isFalse();
+        assertThat(appliedIntervals()).containsExactly("30s", "1s");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void leaseHeld(boolean held) {
+        when(redisValues.setIfAbsent(eq(IngestGovernor.LEASE_KEY), anyString(), any(Duration.class))).thenReturn(held);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(Object[].class))).thenReturn(0L);
+    }
+
+    private void queueDepth(int depth) {
+        when(amqpAdmin.getQueueInfo(RabbitMQConfig.PROPERTY_SYNC_QUEUE))
+                .thenReturn(new QueueInformation(RabbitMQConfig.PROPERTY_SYNC_QUEUE, depth, 1));
+    }
+
+    private List<String> appliedIntervals() throws Exception {
+        ArgumentCaptor<PutIndicesSettingsRequest> captor = ArgumentCaptor.forClass(PutIndicesSettingsRequest.class);
+        verify(indices, atLeastOnce()).putSettings(captor.capture());
+        return captor.getAllValues().stream()
+                .map(request -> request.settings().refreshInterval().time())
+                .toList();
+    }
+}
@@ -0,0 +1,81 @@
+package com.team12.searchservice.service;
+
+import com.team12.clients.listing.ListingClient;
+import com.team12.searchservice.document.PropertyDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class LocationBackfillServiceTest {
+
+    private ElasticsearchOperations operations;
+    private ListingClient listingClient;
+    private LocationBackfillService backfillService;
+
+    @BeforeEach
+    void setUp() {
+        operations = mock(ElasticsearchOperations.class);
+        listingClient = mock(ListingClient.class);
+        backfillService = new LocationBackfillService(operations, new PropertySearchQueryBuilder(), listingClient);
+
+        when(operations.getIndexCoordinatesFor(PropertyDocument.class)).thenReturn(IndexCoordinates.of("properties"));
+        when(operations.openPointInTime(any(IndexCoordinates.class), any(), any())).thenReturn("pit-1");
+    }
+
+    @Test
+    void backfill_shouldRequestOnlyTheMissingIdsPageByPage() {
+        SearchHits<PropertyDocument> fullPage = hits(0, LocationBackfillService.PAGE_SIZE);
+        SearchHits<PropertyDocument> lastPage = hits(LocationBackfillService.PAGE_SIZE, 2);
+        when(operations.search(any(Query.class), eq(PropertyDocument.class))).thenReturn(fullPage, lastPage);
+        when(listingClient.backfillSearchLocations(anyList()))
+                .thenReturn(Map.of("publishedProperties", 400), Map.of("publishedProperties", 2));
+
+        Map<String, Object> result = backfillService.backfill();
+
+        verify(listingClient).backfillSearchLocations(List.of(500L, 501L));
+        assertThat(result.get("missingDocuments")).isEqualTo(LocationBackfillService.PAGE_SIZE + 2L);
+        assertThat(result.get("publishedProperties")).isEqualTo(402L);
+        assertThat(result.get("batches")).isEqualTo(2);
+        verify(operations).closePointInTime("pit-1");
+    }
+
+    @Test
+    void backfill_shouldNotCallListingWhenNothingIsMissing() {
+        SearchHits<PropertyDocument> empty = hits(0, 0);
+        when(operations.search(any(Query.class), eq(PropertyDocument.class))).thenReturn(empty);
+
+        Map<String, Object> result = backfillService.backfill();
+
+        verifyNoInteractions(listingClient);
+        assertThat(result.get("missingDocuments")).isEqualTo(0L);
+        verify(operations).closePointInTime("pit-1");
+    }
+
+    @SuppressWarnings("unchecked")
+    private SearchHits<PropertyDocument> hits(int from, int count) {
+        List<SearchHit<PropertyDocument>> list = new ArrayList<>();
+        for (int i = from; i < from + count; i++) {
+            SearchHit<PropertyDocument> hit = mock(SearchHit.class);
+            when(hit.getContent()).thenReturn(PropertyDocument.builder().id(String.valueOf(i)).build());
+            when(hit.getSortValues()).thenReturn(List.of(i));
+            list.add(hit);
+        }
+        SearchHits<PropertyDocument> hits = mock(SearchHits.class);
+        when(hits.getSearchHits()).thenReturn(list);
+        return hits;
+    }
+}
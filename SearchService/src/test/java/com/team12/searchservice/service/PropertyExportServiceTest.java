@@ -0,0 +1,103 @@
+package com.team12.searchservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.team12.searchservice.document.PropertyDocument;
+import com.team12.searchservice.dto.PropertySearchRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.mapping.IndexCoordinates;
+import org.springframework.data.elasticsearch.core.query.Query;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class PropertyExportServiceTest {
+
+    private ElasticsearchOperations operations;
+    private PropertyExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        operations = mock(ElasticsearchOperations.class);
+        PropertySearchQueryBuilder queryBuilder = new PropertySearchQueryBuilder();
+        PropertySearchService searchService = new PropertySearchService(null, operations, queryBuilder, null, null);
+        exportService = new PropertyExportService(operations, queryBuilder, searchService,
+                new ObjectMapper().registerModule(new JavaTimeModule()));
+
+        when(operations.getIndexCoordinatesFor(PropertyDocument.class)).thenReturn(IndexCoordinates.of("properties"));
+        when(operations.openPointInTime(any(IndexCoordinates.class), any(), any())).thenReturn("pit-1");
+    }
+
+    @Test
+    void export_shouldPageWithSearchAfterUntilExhaustedAndClosePit() throws Exception {
+        SearchHits<PropertyDocument> fullPage = hits(PropertyExportService.PAGE_SIZE, "pit-2");
+        SearchHits<PropertyDocument> lastPage = hits(3, "pit-2");
+        when(operations.search(any(Query.class), eq(PropertyDocument.class))).thenReturn(fullPage, lastPage);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(PropertySearchRequest.builder().build(), PropertyExportService.Format.NDJSON, out);
+
+        assertThat(rows).isEqualTo(PropertyExportService.PAGE_SIZE + 3L);
+        assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).hasSize(PropertyExportService.PAGE_SIZE + 3);
+        verify(operations, times(2)).search(any(Query.class), eq(PropertyDocument.class));
+        verify(operations).closePointInTime("pit-2");
+    }
+
+    @Test
+    void export_shouldWriteCsvWithHeaderAndApplyKeywordFilter() throws Exception {
+        SearchHits<PropertyDocument> page = hits(2, null);
+        page.getSearchHits().get(1).getContent().setTitle("Loft, \"river\" view");
+        when(operations.search(any(Query.class), eq(PropertyDocument.class))).thenReturn(page);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(PropertySearchRequest.builder().keyword("river").build(),
+                PropertyExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(rows).isEqualTo(1);
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("id,title,price");
+        assertThat(lines[1]).startsWith("1,\"Loft, \"\"river\"\" view\",2500");
+        verify(operations).closePointInTime("pit-1");
+    }
+
+    @Test
+    void escape_shouldNeutraliseFormulaCells() {
+        assertThat(PropertyExportService.escape("=HYPERLINK(\"x\")")).isEqualTo("\"'=HYPERLINK(\"\"x\"\")\"");
+        assertThat(PropertyExportService.escape(-5)).isEqualTo("-5");
+        assertThat(PropertyExportService.escape(null)).isEmpty();
+    }
+
+    @SuppressWarnings("unchecked")
+    private SearchHits<PropertyDocument> hits(int count, String pitId) {
+        List<SearchHit<PropertyDocument>> list = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            PropertyDocument doc = PropertyDocument.builder()
+                    .id(String.valueOf(i))
+                    .title("Apartment " + i)
+                    .price(BigDecimal.valueOf(2500))
+                    .available(true)
+                    .build();
+            SearchHit<PropertyDocument> hit = mock(SearchHit.class);
+            when(hit.getContent()).thenReturn(doc);
+            when(hit.getSortValues()).thenReturn(List.of(i));
+            list.add(hit);
+        }
+        SearchHits<PropertyDocument> hits = mock(SearchHits.class);
+        when(hits.getSearchHits()).thenReturn(list);
+        when(hits.getPointInTimeId()).thenReturn(pitId);
+        return hits;
+    }
+}
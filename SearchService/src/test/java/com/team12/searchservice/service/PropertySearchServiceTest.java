@@ -3,18 +3,28 @@ package com.team12.searchservice.service;
 import com.team12.searchservice.document.PropertyDocument;
 import com.team12.searchservice.dto.PropertySearchRequest;
 import com.team12.searchservice.dto.SearchResponse;
+import com.team12.searchservice.metrics.SearchMetrics;
+import com.team12.searchservice.metrics.SearchTimings;
+import com.team12.searchservice.metrics.SlowQueryLogger;
 import com.team12.searchservice.repository.PropertySearchRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.elasticsearch.core.ElasticsearchOperations;
+import org.springframework.data.elasticsearch.core.SearchHit;
+import org.springframework.data.elasticsearch.core.SearchHits;
+import org.springframework.data.elasticsearch.core.query.Query;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -22,6 +32,9 @@ import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.ArgumentMatchers.eq;
 
@@ -31,6 +44,18 @@ class PropertySearchServiceTest {
     @Mock
     private PropertySearchRepository repository;
 
+    @Mock
+    private ElasticsearchOperations operations;
+
+    @Spy
+    private PropertySearchQueryBuilder queryBuilder = new PropertySearchQueryBuilder();
+
+    @Mock
+    private SearchMetrics searchMetrics;
+
+    @Mock
+    private SlowQueryLogger slowQueryLogger;
+
     @InjectMocks
     private PropertySearchService service;
 
@@ -82,11 +107,26 @@ class PropertySearchServiceTest {
         seed.add(a); seed.add(b); seed.add(c);
     }
 
+    @SuppressWarnings("unchecked")
+    private void stubSearch(Page<PropertyDocument> page) {
+        SearchHits<PropertyDocument> hits = mock(SearchHits.class);
+        List<SearchHit<PropertyDocument>> hitList = new ArrayList<>();
+        for (PropertyDocument doc : page.getContent()) {
+            SearchHit<PropertyDocument> hit = mock(SearchHit.class);
+            lenient().when(hit.getContent()).thenReturn(doc);
+            hitList.add(hit);
+        }
+        lenient().when(hits.getSearchHits()).thenReturn(hitList);
+        lenient().when(hits.getTotalHits()).thenReturn(page.getTotalElements());
+        lenient().when(hits.getExecutionDuration()).thenReturn(Duration.ofMillis(3));
+        when(operations.search(any(Query.class), eq(PropertyDocument.class))).thenReturn(hits);
+    }
+
     @Test
     void searchPropertiesSimple_shouldFilterByKeywordAndPriceAndRooms() {
         // Setup: Only property with "Orchard" in title/address should match
         Page<PropertyDocument> page = new PageImpl<>(seed, PageRequest.of(0, 20), seed.size());
-        when(repository.findByAvailable(eq(true), any())).thenReturn(page);
+        stubSearch(page);
 
         PropertySearchRequest req = PropertySearchRequest.builder()
                 .keyword("Orchard")
@@ -109,7 +149,7 @@ class PropertySearchServiceTest {
     @Test
     void searchPropertiesSimple_shouldHandleEmptyKeyword() {
         Page<PropertyDocument> page = new PageImpl<>(seed, PageRequest.of(0, 20), seed.size());
-        when(repository.findByAvailable(eq(true), any())).thenReturn(page);
+        stubSearch(page);
 
         PropertySearchRequest req = PropertySearchRequest.builder()
                 .keyword("") // Empty keyword
@@ -127,7 +167,7 @@ class PropertySearchServiceTest {
     @Test
     void searchPropertiesSimple_shouldHandleNullFilters() {
         Page<PropertyDocument> page = new PageImpl<>(seed, PageRequest.of(0, 20), seed.size());
-        when(repository.findByAvailable(eq(true), any())).thenReturn(page);
+        stubSearch(page);
 
         PropertySearchRequest req = PropertySearchRequest.builder()
                 .page(0)
@@ -144,7 +184,7 @@ class PropertySearchServiceTest {
     @Test
     void searchPropertiesSimple_shouldHandlePriceOnlyFilter() {
         Page<PropertyDocument> page = new PageImpl<>(seed, PageRequest.of(0, 20), seed.size());
-        when(repository.findByAvailable(eq(true), any())).thenReturn(page);
+        stubSearch(page);
 
         PropertySearchRequest req = PropertySearchRequest.builder()
                 .minPrice(BigDecimal.valueOf(2000))
@@ -162,7 +202,7 @@ class PropertySearchServiceTest {
     @Test
     void searchPropertiesSimple_shouldHandleBedroomFilter() {
         Page<PropertyDocument> page = new PageImpl<>(seed, PageRequest.of(0, 20), seed.size());
-        when(repository.findByAvailable(eq(true), any())).thenReturn(page);
+        stubSearch(page);
 
         PropertySearchRequest req = PropertySearchRequest.builder()
                 .minBedrooms(3)
@@ -180,7 +220,7 @@ class PropertySearchServiceTest {
     @Test
     void searchPropertiesSimple_shouldHandleBathroomFilter() {
         Page<PropertyDocument> page = new PageImpl<>(seed, PageRequest.of(0, 20), seed.size());
-        when(repository.findByAvailable(eq(true), any())).thenReturn(page);
+        stubSearch(page);
 
         PropertySearchRequest req = PropertySearchRequest.builder()
                 .minBathrooms(2)
@@ -198,7 +238,7 @@ class PropertySearchServiceTest {
     @Test
     void searchPropertiesSimple_shouldHandleCityFilter() {
         Page<PropertyDocument> page = new PageImpl<>(seed, PageRequest.of(0, 20), seed.size());
-        when(repository.findByAvailable(eq(true), any())).thenReturn(page);
+        stubSearch(page);
 
         PropertySearchRequest req = PropertySearchRequest.builder()
                 .city("Singapore") // All properties have city="Singapore"
@@ -215,6 +255,7 @@ class PropertySearchServiceTest {
     @Test
     void searchProperties_shouldReturnResponseWithAggregations() {
         Page<PropertyDocument> page = new PageImpl<>(seed, PageRequest.of(0, 20), seed.size());
+        stubSearch(page);
         when(repository.findByAvailable(eq(true), any())).thenReturn(page);
         when(repository.countByCityAndAvailable(any(), eq(true))).thenReturn(1L);
 
@@ -233,7 +274,7 @@ class PropertySearchServiceTest {
     @Test
     void searchProperties_shouldNotIncludeAggregationsForNonFirstPage() {
         Page<PropertyDocument> page = new PageImpl<>(seed, PageRequest.of(1, 20), seed.size());
-        when(repository.findByAvailable(eq(true), any())).thenReturn(page);
+        stubSearch(page);
 
         PropertySearchRequest req = PropertySearchRequest.builder()
                 .page(1) // Non-first page
@@ -248,6 +289,29 @@ class PropertySearchServiceTest {
         assertThat(resp.getPriceRangeAggregations()).isNull();
     }
 
+    @Test
+    void searchProperties_shouldRecordStageTimingsAndOfferSlowQueryLog() {
+        Page<PropertyDocument> page = new PageImpl<>(seed, PageRequest.of(1, 20), seed.size());
+        stubSearch(page);
+
+        PropertySearchRequest req = PropertySearchRequest.builder()
+                .keyword("Orchard")
+                .page(1)
+                .size(20)
+                .build();
+
+        service.searchProperties(req);
+
+        verify(searchMetrics).record(ArgumentMatchers.<SearchTimings>argThat(t ->
+                t.getShape().equals(SearchMetrics.SHAPE_KEYWORD)
+                        && t.getStages().containsKey(SearchMetrics.STAGE_QUERY_BUILD)
+                        && t.getStages().containsKey(SearchMetrics.STAGE_ES_ROUND_TRIP)
+                        && t.getStages().get(SearchMetrics.STAGE_ES_TOOK) == Duration.ofMillis(3).toNanos()
+                        && t.getStages().containsKey(SearchMetrics.STAGE_FILTER)
+                        && t.getCompiledQuery().get().contains("\"available\"")));
+        verify(slowQueryLogger).maybeLog(eq(req), any(), any());
+    }
+
     @Test
     void getSearchStats_shouldReturnTotalsAndOccupancy() {
         when(repository.count()).thenReturn(100L);
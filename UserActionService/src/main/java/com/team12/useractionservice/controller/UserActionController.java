@@ -1,15 +1,19 @@
 package com.team12.useractionservice.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team12.clients.NdjsonReader;
 import com.team12.clients.listing.ListingClient;
 import com.team12.clients.listing.dto.PropertyDto;
 import com.team12.clients.listing.dto.Property;
 import com.team12.useractionservice.dto.UserActionDto;
+import com.team12.useractionservice.dto.UserIdPage;
 import com.team12.useractionservice.model.UserAction;
 import com.team12.useractionservice.service.UserActionService;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -20,10 +24,12 @@ public class UserActionController {
 
     private final UserActionService service;
     private final ListingClient listingClient;
+    private final ObjectMapper objectMapper;
 
-    public UserActionController(UserActionService service, ListingClient listingClient) {
+    public UserActionController(UserActionService service, ListingClient listingClient, ObjectMapper objectMapper) {
         this.service = service;
         this.listingClient = listingClient;
+        this.objectMapper = objectMapper;
     }
 
     // 收藏/取消收藏
@@ -56,7 +62,7 @@ public class UserActionController {
     @GetMapping("/recommendations/{userId}")
     public ResponseEntity<List<Property>> getRecommendations(
             @PathVariable Long userId,
-            @RequestParam(defaultValue = "15") int limit) {
+            @RequestParam(defaultValue = "15") int limit) throws IOException {
 
         // 1. 获取用户已收藏的房源ID（用于过滤）
         Set<Long> favoriteIds = service.getUserFavorites(userId)
@@ -64,16 +70,25 @@ public class UserActionController {
                 .map(UserAction::getListingId)
                 .collect(Collectors.toSet());
 
-        // 2. 从listing-service获取所有可用房源
-        List<PropertyDto> allListings = listingClient.getAllProperties();
-
-        // 3. 过滤+随机推荐
-        List<Property> recommendations = allListings.stream()
-                .map(PropertyDto::getProperty)
-                .filter(p -> !favoriteIds.contains(p.getId())) // 排除已收藏
-                .sorted(Comparator.comparingDouble(p -> Math.random())) // 随机排序
-                .limit(limit) // 限制数量
-                .toList();
+        // 2. 流式读取可用房源快照（NDJSON），蓄水池抽样随机推荐，排除已收藏
+        List<Property> recommendations = new ArrayList<>(limit);
+        Random random = new Random();
+        int[] seen = {0};
+        NdjsonReader.forEach(listingClient.getSnapshot(null, true), objectMapper, Property.class, p -> {
+            if (favoriteIds.contains(p.getId())) {
+                return;
+            }
+            seen[0]++;
+            if (recommendations.size() < limit) {
+                recommendations.add(p);
+            } else {
+                int slot = random.nextInt(seen[0]);
+                if (slot < limit) {
+                    recommendations.set(slot, p);
+                }
+            }
+        });
+        Collections.shuffle(recommendations, random);
 
         return ResponseEntity.ok(recommendations);
     }
@@ -111,6 +126,16 @@ public class UserActionController {
         return ResponseEntity.ok(userIds);
     }
 
+    // 分页获取开启降价提醒的用户（按userId游标）
+    @GetMapping("/{propertyId}/price-alert-users/page")
+    public ResponseEntity<UserIdPage> getPriceAlertUserPage(
+            @PathVariable("propertyId") Long propertyId,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "500") int limit
+    ) {
+        return ResponseEntity.ok(service.getUsersWithPriceAlert(propertyId, after, limit));
+    }
+
     @GetMapping("/{propertyId}/price-alert/{userId}")
     public ResponseEntity<Boolean> isPriceAlertEnabled(
             @PathVariable("propertyId") Long propertyId,
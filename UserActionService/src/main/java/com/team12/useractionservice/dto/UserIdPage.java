@@ -0,0 +1,15 @@
+package com.team12.useractionservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserIdPage {
+    private List<Long> items;
+    private Long nextCursor; // 下一页游标（最后一个userId），最后一页为null
+}
@@ -11,6 +11,7 @@ import java.time.LocalDateTime;
 
 @Data
 @Entity
+@Table(indexes = @Index(name = "idx_user_action_listing_action_user", columnList = "listingId, actionValue, userId"))
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
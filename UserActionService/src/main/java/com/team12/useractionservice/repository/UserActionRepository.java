@@ -1,6 +1,7 @@
 package com.team12.useractionservice.repository;
 
 import com.team12.useractionservice.model.UserAction;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -39,6 +40,14 @@ public interface UserActionRepository extends JpaRepository<UserAction, Long> {
             " WHERE ua.listingId = :listingId AND ua.actionValue = 2")
     List<Long> findUserIdsByListingIdAndPriceAlert(@Param("listingId") Long listingId);
 
+    // 按userId游标分页查询开启降价提醒的用户
+    @Query("SELECT DISTINCT ua.userId FROM UserAction ua " +
+            " WHERE ua.listingId = :listingId AND ua.actionValue = 2 AND ua.userId > :after" +
+            " ORDER BY ua.userId")
+    List<Long> findPriceAlertUserIdsAfter(@Param("listingId") Long listingId,
+                                          @Param("after") Long after,
+                                          Limit limit);
+
     boolean existsByUserIdAndListingIdAndActionValue(
             Long userId,
             Long listingId,
@@ -1,12 +1,14 @@
 package com.team12.useractionservice.service;
 
 import com.team12.useractionservice.dto.UserActionDto;
+import com.team12.useractionservice.dto.UserIdPage;
 import com.team12.useractionservice.model.UserAction;
 import com.team12.useractionservice.model.UserActionType;
 import com.team12.useractionservice.repository.UserActionRepository;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -17,6 +19,8 @@ import java.util.List;
 @Slf4j
 public class UserActionService {
 
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final UserActionRepository repository;
 
     public UserAction trackAction(UserActionDto dto) {
@@ -119,6 +123,17 @@ public class UserActionService {
         return repository.findUserIdsByListingIdAndPriceAlert(listingId);
     }
 
+    public UserIdPage getUsersWithPriceAlert(Long listingId, Long after, int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // 多取一条用于判断是否还有下一页
+        List<Long> rows = repository.findPriceAlertUserIdsAfter(listingId, after == null ? 0L : after, Limit.of(size + 1));
+        if (rows.size() <= size) {
+            return new UserIdPage(rows, null);
+        }
+        List<Long> page = rows.subList(0, size);
+        return new UserIdPage(page, page.get(size - 1));
+    }
+
     public boolean isPriceAlertEnabled(Long userId, Long listingId) {
         int priceAlertValue = UserActionType.PRICE_ALERT.getValue();
         return repository.existsByUserIdAndListingIdAndActionValue(
@@ -1,6 +1,7 @@
 package com.team12.useractionservice.service;
 
 import com.team12.useractionservice.dto.UserActionDto;
+import com.team12.useractionservice.dto.UserIdPage;
 import com.team12.useractionservice.model.UserAction;
 import com.team12.useractionservice.model.UserActionType;
 import com.team12.useractionservice.repository.UserActionRepository;
@@ -9,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -182,6 +184,32 @@ class UserActionServiceTest {
         verify(repository).findUserIdsByListingIdAndPriceAlert(listingId);
     }
 
+    @Test
+    void getUsersWithPriceAlertPage_shouldReturnCursorWhenMoreRows() {
+        // Given
+        when(repository.findPriceAlertUserIdsAfter(101L, 0L, Limit.of(3))).thenReturn(Arrays.asList(4L, 7L, 9L));
+
+        // When
+        UserIdPage result = service.getUsersWithPriceAlert(101L, null, 2);
+
+        // Then
+        assertEquals(List.of(4L, 7L), result.getItems());
+        assertEquals(7L, result.getNextCursor());
+    }
+
+    @Test
+    void getUsersWithPriceAlertPage_shouldEndOnLastPage() {
+        // Given
+        when(repository.findPriceAlertUserIdsAfter(101L, 7L, Limit.of(3))).thenReturn(List.of(9L));
+
+        // When
+        UserIdPage result = service.getUsersWithPriceAlert(101L, 7L, 2);
+
+        // Then
+        assertEquals(List.of(9L), result.getItems());
+        assertNull(result.getNextCursor());
+    }
+
     @Test
     void isPriceAlertEnabled_shouldReturnTrueWhenEnabled() {
         // Given
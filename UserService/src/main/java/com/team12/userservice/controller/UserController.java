@@ -17,6 +17,7 @@ import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 
 import static com.team12.userservice.util.UserServiceUtil.getOidcSubFromJwt;
@@ -135,6 +136,16 @@ public class UserController {
         return ResponseEntity.ok(agentInfo);
     }
 
+    /**
+     * Get agent info for a batch of ids; unknown ids are left out of the result
+     * @param ids Agent IDs
+     * @return Map of ID to List<String>
+     */
+    @PostMapping("/agents/info")
+    public ResponseEntity<Map<Long, List<String>>> getAgentInfoByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(agentService.getAgentsByIds(ids));
+    }
+
     /**
      * Get device id by userID
      * @param id ID
@@ -149,6 +160,16 @@ public class UserController {
         return ResponseEntity.ok(deviceID);
     }
 
+    /**
+     * Get device ids for a batch of users; users without a device are left out of the result
+     * @param ids User IDs
+     * @return Map of ID to device id
+     */
+    @PostMapping("/devices")
+    public ResponseEntity<Map<Long, String>> getDeviceIDsByIds(@RequestBody List<Long> ids) {
+        return ResponseEntity.ok(userService.getDeviceIDsByIds(ids));
+    }
+
     /**
      * Get all users
      * @return Arraylist of all users
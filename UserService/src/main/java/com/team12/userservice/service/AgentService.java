@@ -7,7 +7,10 @@ import com.team12.userservice.model.Tenant;
 import com.team12.userservice.repository.AgentRepository;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class AgentService {
@@ -34,6 +37,20 @@ public class AgentService {
                 .orElse(null);
     }
 
+    public Map<Long, List<String>> getAgentsByIds(Collection<Long> ids) {
+        Map<Long, List<String>> agentInfo = new LinkedHashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return agentInfo;
+        }
+        for (Agent agent : agentRepository.findAllById(ids)) {
+            agentInfo.put(agent.getId(), List.of(
+                    agent.getUsername(),
+                    agent.getPhoneNumber() == null ? "" : agent.getPhoneNumber()
+            ));
+        }
+        return agentInfo;
+    }
+
     public Agent getAgentByOidcSub(String oidcSub) {
         return agentRepository.findByOidcSub(oidcSub);
     }
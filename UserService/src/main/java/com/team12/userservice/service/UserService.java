@@ -6,7 +6,10 @@ import com.team12.userservice.repository.*;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
@@ -168,4 +171,17 @@ public class UserService {
                 .map(BaseUser::getDeviceId)
                 .orElse(null);
     }
+
+    public Map<Long, String> getDeviceIDsByIds(Collection<Long> ids) {
+        Map<Long, String> deviceIds = new HashMap<>();
+        if (ids == null || ids.isEmpty()) {
+            return deviceIds;
+        }
+        for (BaseUser user : baseUserRepository.findAllById(ids)) {
+            if (user.getDeviceId() != null) {
+                deviceIds.put(user.getId(), user.getDeviceId());
+            }
+        }
+        return deviceIds;
+    }
 }
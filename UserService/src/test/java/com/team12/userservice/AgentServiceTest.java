@@ -12,6 +12,7 @@ import org.mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -117,6 +118,26 @@ class AgentServiceTest {
         assertThat(result.get(1)).isEqualTo("123-456-789");
     }
 
+    @Test
+    void getAgentsByIds_ShouldReturnInfoKeyedById() {
+        agent.setId(1L);
+        agent.setPhoneNumber(null);
+        when(agentRepository.findAllById(List.of(1L, 2L))).thenReturn(List.of(agent));
+
+        Map<Long, List<String>> result = agentService.getAgentsByIds(List.of(1L, 2L));
+
+        assertThat(result).containsOnlyKeys(1L);
+        assertThat(result.get(1L)).containsExactly(agent.getUsername(), "");
+    }
+
+    @Test
+    void getAgentsByIds_ShouldSkipRepository_WhenIdsEmpty() {
+        Map<Long, List<String>> result = agentService.getAgentsByIds(List.of());
+
+        assertThat(result).isEmpty();
+        verify(agentRepository, never()).findAllById(any());
+    }
+
     @Test
     void getAgentByOidcSub_ShouldReturnAgent_WhenFound() {
         when(agentRepository.findByOidcSub("agent123")).thenReturn(agent);
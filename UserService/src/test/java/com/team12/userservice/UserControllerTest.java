@@ -15,6 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.jwt.Jwt;
 
 import java.util.List;
+import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -115,6 +116,14 @@ class UserControllerTest {
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
     }
 
+    @Test
+    void getAgentInfoByIds_ShouldReturnBatch() {
+        when(agentService.getAgentsByIds(List.of(1L, 2L))).thenReturn(Map.of(1L, List.of("agent", "123")));
+        ResponseEntity<Map<Long, List<String>>> response = userController.getAgentInfoByIds(List.of(1L, 2L));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).containsOnlyKeys(1L);
+    }
+
     @Test
     void updateUserStatus_ShouldReturnError_WhenExceptionThrown() throws Exception {
         UserStatusUpdateDto dto = new UserStatusUpdateDto();
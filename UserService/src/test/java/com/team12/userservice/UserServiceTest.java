@@ -10,6 +10,7 @@ import org.mockito.*;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -250,4 +251,17 @@ class UserServiceTest {
 
         assertThat(deviceId).isNull();
     }
+
+    @Test
+    void getDeviceIDsByIds_ShouldSkipUsersWithoutDevice() {
+        agent.setId(1L);
+        agent.setDeviceId("device123");
+        tenant.setId(2L);
+        tenant.setDeviceId(null);
+        when(baseUserRepository.findAllById(List.of(1L, 2L, 3L))).thenReturn(List.of(agent, tenant));
+
+        Map<Long, String> deviceIds = userService.getDeviceIDsByIds(List.of(1L, 2L, 3L));
+
+        assertThat(deviceIds).containsExactly(Map.entry(1L, "device123"));
+    }
 }
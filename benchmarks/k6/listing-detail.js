@@ -0,0 +1,42 @@
+// p99 of GET /listing/{id} at a constant 500 requests/s.
+//
+//   k6 run -e BASE_URL=http://localhost:8082 -e TOKEN=<jwt> -e MAX_ID=1000 benchmarks/k6/listing-detail.js
+//
+// Before/after the Hibernate second-level cache: run ListingService once with
+//   SPRING_JPA_PROPERTIES_HIBERNATE_CACHE_USE_SECOND_LEVEL_CACHE=false
+//   SPRING_JPA_PROPERTIES_HIBERNATE_CACHE_USE_QUERY_CACHE=false
+// and once without them. LISTING_DETAILCACHE_MAXSIZE=0 takes the assembled-detail cache out of the
+// picture so each request reaches the repository. Compare the http_req_duration p(99) lines.
+import http from 'k6/http';
+import { check } from 'k6';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const MAX_ID = parseInt(__ENV.MAX_ID || '1000', 10);
+const params = __ENV.TOKEN ? { headers: { Authorization: `Bearer ${__ENV.TOKEN}` } } : {};
+
+export const options = {
+    scenarios: {
+        detail: {
+            executor: 'constant-arrival-rate',
+            rate: 500,
+            timeUnit: '1s',
+            duration: __ENV.DURATION || '2m',
+            preAllocatedVUs: 100,
+            maxVUs: 400,
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        http_req_failed: ['rate<0.01'],
+        dropped_iterations: ['count==0'],
+    },
+};
+
+export default function () {
+    // skewed towards a hot set, like real listing traffic
+    const id = Math.random() < 0.8
+        ? 1 + Math.floor(Math.random() * Math.max(1, MAX_ID / 10))
+        : 1 + Math.floor(Math.random() * MAX_ID);
+    const res = http.get(`${BASE_URL}/listing/${id}`, Object.assign({ tags: { name: 'GET /listing/{id}' } }, params));
+    check(res, { 'status is 200 or 404': (r) => r.status === 200 || r.status === 404 });
+}
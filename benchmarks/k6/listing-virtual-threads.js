@@ -0,0 +1,80 @@
+// Throughput and memory of ListingService at 2000 concurrent requests, platform vs virtual threads.
+//
+//   k6 run -e BASE_URL=http://localhost:8082 -e TOKEN=<jwt> -e MAX_ID=1000 benchmarks/k6/listing-virtual-threads.js
+//
+// Run ListingService once with SMR_VIRTUAL_THREADS=false and once with SMR_VIRTUAL_THREADS=true, with the
+// same heap settings. LISTING_AGENTINFO_CACHETTL=0s and LISTING_DETAILCACHE_MAXSIZE=0 make every request
+// wait on MySQL and on the UserService agent lookup, which is the blocking these runs are about.
+// Compare http_reqs (requests/s), http_req_duration and the jvm_* lines printed at the end; the JVM
+// figures are read from the actuator while the load is still running; metrics need TOKEN like the listing API.
+import http from 'k6/http';
+import { check } from 'k6';
+import { Trend } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const MAX_ID = parseInt(__ENV.MAX_ID || '1000', 10);
+const VUS = parseInt(__ENV.VUS || '2000', 10);
+const DURATION = __ENV.DURATION || '3m';
+const params = __ENV.TOKEN ? { headers: { Authorization: `Bearer ${__ENV.TOKEN}` } } : {};
+
+export const options = {
+    scenarios: {
+        // closed model: VUS requests are in flight at all times
+        load: {
+            executor: 'constant-vus',
+            vus: VUS,
+            duration: DURATION,
+            exec: 'load',
+        },
+        // samples JVM metrics once the load has ramped up
+        jvm: {
+            executor: 'constant-arrival-rate',
+            rate: 1,
+            timeUnit: '5s',
+            startTime: '30s',
+            duration: '2m',
+            preAllocatedVUs: 1,
+            exec: 'sampleJvm',
+        },
+    },
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    thresholds: {
+        'http_req_failed{scenario:load}': ['rate<0.01'],
+    },
+};
+
+const threadsLive = new Trend('jvm_threads_live');
+const heapUsed = new Trend('jvm_heap_used_mb');
+const nonHeapUsed = new Trend('jvm_nonheap_used_mb');
+
+export function load() {
+    // half detail pages, half full-view list pages; both reach MySQL and the agent lookup
+    let res;
+    if (Math.random() < 0.5) {
+        const id = 1 + Math.floor(Math.random() * MAX_ID);
+        res = http.get(`${BASE_URL}/listing/${id}`, Object.assign({ tags: { name: 'GET /listing/{id}' } }, params));
+    } else {
+        const after = Math.floor(Math.random() * MAX_ID);
+        res = http.get(`${BASE_URL}/listing?limit=20&after=${after}`,
+            Object.assign({ tags: { name: 'GET /listing?limit' } }, params));
+    }
+    check(res, { 'status is 200 or 404': (r) => r.status === 200 || r.status === 404 });
+}
+
+function metric(name, tag) {
+    const url = `${BASE_URL}/actuator/metrics/${name}` + (tag ? `?tag=${tag}` : '');
+    const res = http.get(url, Object.assign({ tags: { name: 'actuator' } }, params));
+    if (res.status !== 200) {
+        return null;
+    }
+    return res.json('measurements.0.value');
+}
+
+export function sampleJvm() {
+    const threads = metric('jvm.threads.live');
+    const heap = metric('jvm.memory.used', 'area:heap');
+    const nonHeap = metric('jvm.memory.used', 'area:nonheap');
+    if (threads !== null) threadsLive.add(threads);
+    if (heap !== null) heapUsed.add(heap / 1024 / 1024);
+    if (nonHeap !== null) nonHeapUsed.add(nonHeap / 1024 / 1024);
+}
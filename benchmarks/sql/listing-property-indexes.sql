@@ -0,0 +1,95 @@
+-- Query plans and latency of ListingService's Property access paths on a 1M-row table,
+-- before and after the indexes of ListingService V2__property_access_path_indexes.sql.
+--
+-- Run against a scratch schema (MySQL 8.0.18+ for EXPLAIN ANALYZE):
+--   mysql -u root -p --table < benchmarks/sql/listing-property-indexes.sql > property-indexes.out
+--
+-- Each query is run twice: once forced onto the V1 (pre-V2) indexes with IGNORE INDEX, once with the
+-- optimizer free to choose. EXPLAIN ANALYZE reports the chosen plan, rows examined and actual time.
+
+DROP DATABASE IF EXISTS smr_bench;
+CREATE DATABASE smr_bench;
+USE smr_bench;
+
+-- V1 baseline schema
+CREATE TABLE property (
+    id            BIGINT         NOT NULL AUTO_INCREMENT,
+    title         VARCHAR(100)   NOT NULL,
+    description   TEXT           NOT NULL,
+    price         DECIMAL(10, 2) NOT NULL,
+    address       VARCHAR(255)   NOT NULL,
+    img           VARCHAR(2550),
+    latitude      DOUBLE,
+    longitude     DOUBLE,
+    num_bedrooms  INT            NOT NULL,
+    num_bathrooms INT            NOT NULL,
+    available     BIT(1)         NOT NULL,
+    posted_at     DATETIME(6)    NOT NULL,
+    agent_id      VARCHAR(64)    NOT NULL,
+    PRIMARY KEY (id),
+    INDEX idx_property_available_id (available, id),
+    INDEX idx_property_agent_id (agent_id, id)
+) ENGINE = InnoDB;
+
+-- 1M rows: 2000 agents, ~70% available, prices 800-12800, 1-5 bedrooms, Singapore coordinates
+SET SESSION cte_max_recursion_depth = 1000000;
+INSERT INTO property (title, description, price, address, img, latitude, longitude,
+                      num_bedrooms, num_bathrooms, available, posted_at, agent_id)
+WITH RECURSIVE seq (n) AS (SELECT 1 UNION ALL SELECT n + 1 FROM seq WHERE n < 1000000)
+SELECT CONCAT('Listing ', n),
+       REPEAT('Spacious unit close to MRT. ', 8),
+       800 + (n * 7919) % 12000,
+       CONCAT(n, ' Orchard Road, Singapore'),
+       CONCAT('https://img.example.com/', n, '.jpg'),
+       1.22 + (n % 2000) / 10000,
+       103.6 + (n % 3000) / 10000,
+       1 + n % 5,
+       1 + n % 3,
+       (n * 31) % 10 < 7,
+       TIMESTAMP('2024-01-01') + INTERVAL (n * 37) % 31536000 SECOND,
+       CONCAT('auth0|agent', LPAD(n % 2000, 4, '0'))
+FROM seq;
+
+-- V2 indexes (dropping idx_property_available_id is left out so the "before" runs can still use it)
+ALTER TABLE property
+    ADD INDEX idx_property_available_posted (available, posted_at),
+    ADD INDEX idx_property_agent_available (agent_id, available),
+    ADD INDEX idx_property_available_price (available, price),
+    ADD INDEX idx_property_available_bedrooms_price (available, num_bedrooms, price),
+    ADD INDEX idx_property_list_cover (available, id, price, num_bedrooms, num_bathrooms, posted_at);
+ANALYZE TABLE property;
+
+-- countByAvailableTrue
+EXPLAIN ANALYZE SELECT COUNT(*) FROM property IGNORE INDEX (idx_property_available_posted, idx_property_available_price,
+    idx_property_available_bedrooms_price, idx_property_list_cover, idx_property_available_id) WHERE available = 1;
+EXPLAIN ANALYZE SELECT COUNT(*) FROM property WHERE available = 1;
+
+-- findByAgentId + availability
+EXPLAIN ANALYZE SELECT * FROM property IGNORE INDEX (idx_property_agent_available, idx_property_agent_id)
+    WHERE agent_id = 'auth0|agent0042' AND available = 1;
+EXPLAIN ANALYZE SELECT * FROM property WHERE agent_id = 'auth0|agent0042' AND available = 1;
+
+-- newest available listings
+EXPLAIN ANALYZE SELECT id, title, price, posted_at FROM property IGNORE INDEX (idx_property_available_posted)
+    WHERE available = 1 ORDER BY posted_at DESC LIMIT 50;
+EXPLAIN ANALYZE SELECT id, title, price, posted_at FROM property
+    WHERE available = 1 ORDER BY posted_at DESC LIMIT 50;
+
+-- price range + bedroom filter
+EXPLAIN ANALYZE SELECT id, title, price FROM property IGNORE INDEX (idx_property_available_price,
+    idx_property_available_bedrooms_price, idx_property_list_cover)
+    WHERE available = 1 AND num_bedrooms = 3 AND price BETWEEN 2000 AND 3000 LIMIT 50;
+EXPLAIN ANALYZE SELECT id, title, price FROM property
+    WHERE available = 1 AND num_bedrooms = 3 AND price BETWEEN 2000 AND 3000 LIMIT 50;
+
+-- count of a filtered list page (index-only with the cover index)
+EXPLAIN ANALYZE SELECT COUNT(*) FROM property IGNORE INDEX (idx_property_list_cover, idx_property_available_bedrooms_price)
+    WHERE available = 1 AND num_bedrooms >= 2 AND num_bathrooms >= 2;
+EXPLAIN ANALYZE SELECT COUNT(*) FROM property WHERE available = 1 AND num_bedrooms >= 2 AND num_bathrooms >= 2;
+
+-- keyset summary page (PropertyRepository.findSummaryPageAfter)
+EXPLAIN ANALYZE SELECT id, title, price, address, img, latitude, longitude, num_bedrooms, num_bathrooms,
+                       available, posted_at, agent_id
+    FROM property WHERE id > 500000 AND available = 1 ORDER BY id LIMIT 501;
+
+DROP DATABASE smr_bench;
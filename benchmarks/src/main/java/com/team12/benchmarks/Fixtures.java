@@ -0,0 +1,77 @@
+package com.team12.benchmarks;
+
+import com.team12.searchservice.document.PropertyDocument;
+import org.springframework.data.elasticsearch.core.geo.GeoPoint;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Seeded inputs shared by the benchmarks so results are comparable between runs.
+ */
+public final class Fixtures {
+
+    private static final String[] CITIES = {"Singapore", "Toronto", "Vancouver", "Montreal", "Calgary"};
+    private static final String[] WORDS = {"Cozy", "Spacious", "Modern", "Luxury", "Quiet", "Downtown"};
+
+    private Fixtures() {
+    }
+
+    public static List<PropertyDocument> documents(int count, long seed) {
+        Random random = new Random(seed);
+        List<PropertyDocument> docs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String city = CITIES[random.nextInt(CITIES.length)];
+            String word = WORDS[random.nextInt(WORDS.length)];
+            docs.add(PropertyDocument.builder()
+                    .id(String.valueOf(i))
+                    .title(word + " apartment in " + city)
+                    .description(word + " apartment close to transport, shops and parks")
+                    .address((1 + random.nextInt(999)) + " Main Street, District " + random.nextInt(20) + ", " + city)
+                    .city(city)
+                    .price(BigDecimal.valueOf(500 + random.nextDouble() * 7000).setScale(2, RoundingMode.HALF_UP))
+                    .numBedrooms(1 + random.nextInt(5))
+                    .numBathrooms(1 + random.nextInt(3))
+                    .available(true)
+                    .location(new GeoPoint(1.2 + random.nextDouble() * 0.3, 103.6 + random.nextDouble() * 0.4))
+                    .postedAt(LocalDateTime.of(2025, 1, 1, 0, 0).plusMinutes(random.nextInt(500_000)))
+                    .agentId(String.valueOf(random.nextInt(500)))
+                    .propertyType("apartment")
+                    .viewCount(random.nextInt(1000))
+                    .favoriteCount(random.nextInt(100))
+                    .rating(random.nextDouble() * 5)
+                    .build());
+        }
+        return docs;
+    }
+
+    /**
+     * A property sync payload shaped like the map ListingService publishes.
+     */
+    public static Map<String, Object> syncPayload(long id) {
+        Map<String, Object> location = new HashMap<>();
+        location.put("latitude", 1.3521);
+        location.put("longitude", 103.8198);
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("id", id);
+        data.put("title", "Modern Apartment in Orchard");
+        data.put("description", "Beautiful modern apartment in the heart of Orchard");
+        data.put("price", 3500.0);
+        data.put("address", "123 Orchard Road, Orchard, Singapore");
+        data.put("thumbnail", "https://example.com/img/" + id + ".jpg");
+        data.put("numBedrooms", 2);
+        data.put("numBathrooms", 2);
+        data.put("available", true);
+        data.put("postedAt", "2025-06-01T10:15:30");
+        data.put("agentId", "42");
+        data.put("location", location);
+        return data;
+    }
+}
@@ -0,0 +1,63 @@
+package com.team12.searchservice.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.team12.benchmarks.Fixtures;
+import com.team12.searchservice.document.PropertyDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON serialization of a full 100-hit search response, using the same ObjectMapper
+ * defaults Spring MVC applies to controller responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private SearchResponse<PropertyDocument> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<PropertyDocument> hits = Fixtures.documents(100, 11L);
+        response = SearchResponse.<PropertyDocument>builder()
+                .content(hits)
+                .page(0)
+                .size(100)
+                .totalElements(12_345L)
+                .totalPages(124)
+                .isFirst(true)
+                .isLast(false)
+                .isEmpty(false)
+                .hasNext(true)
+                .hasPrevious(false)
+                .searchTime(12L)
+                .searchId("benchmark")
+                .cityAggregations(Map.of("Singapore", 4000L, "Toronto", 3000L, "Vancouver", 2000L))
+                .priceRangeAggregations(Map.of("0-1000", 10L, "1000-2000", 20L, "2000-3000", 30L))
+                .build();
+    }
+
+    @Benchmark
+    public byte[] serialize() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,44 @@
+package com.team12.searchservice.service;
+
+import com.team12.benchmarks.Fixtures;
+import com.team12.searchservice.document.PropertyDocument;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of turning one property sync message into a {@link PropertyDocument}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataSyncServiceBenchmark {
+
+    private DataSyncService dataSyncService;
+    private Map<String, Object> payload;
+
+    @Setup
+    public void setUp() {
+        // Conversion touches none of the collaborators
+        dataSyncService = new DataSyncService(null, null, null, null, null, null);
+        payload = Fixtures.syncPayload(12345L);
+    }
+
+    @Benchmark
+    public PropertyDocument convertToPropertyDocument() {
+        return dataSyncService.convertToPropertyDocument(payload);
+    }
+}
@@ -0,0 +1,95 @@
+package com.team12.searchservice.service;
+
+import com.team12.benchmarks.Fixtures;
+import com.team12.searchservice.document.PropertyDocument;
+import com.team12.searchservice.dto.PropertySearchRequest;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.elasticsearch.client.elc.NativeQuery;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CPU-side search work that does not involve Elasticsearch: query compilation,
+ * the in-memory filter chain and price bucketing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PropertySearchServiceBenchmark {
+
+    @Param({"20", "1000"})
+    public int pageSize;
+
+    private PropertySearchService searchService;
+    private PropertySearchQueryBuilder queryBuilder;
+    private PropertySearchRequest filterRequest;
+    private Page<PropertyDocument> candidatePage;
+    private List<PropertyDocument> documents;
+
+    @Setup
+    public void setUp() {
+        queryBuilder = new PropertySearchQueryBuilder();
+        // The benchmarked paths only use the query builder; the rest stays unset
+        searchService = new PropertySearchService(null, null, queryBuilder, null, null);
+
+        filterRequest = PropertySearchRequest.builder()
+                .keyword("modern")
+                .city("Singapore")
+                .minPrice(BigDecimal.valueOf(1000))
+                .maxPrice(BigDecimal.valueOf(5000))
+                .minBedrooms(1)
+                .maxBedrooms(3)
+                .minBathrooms(1)
+                .maxBathrooms(2)
+                .sortBy("price")
+                .sortOrder("asc")
+                .page(0)
+                .size(pageSize)
+                .build();
+
+        documents = Fixtures.documents(pageSize, 7L);
+        candidatePage = new PageImpl<>(documents, PageRequest.of(0, pageSize), 100_000);
+    }
+
+    @Benchmark
+    public NativeQuery compileQuery() {
+        Pageable pageable = PageRequest.of(filterRequest.getPage(), filterRequest.getSize(),
+                searchService.buildSort(filterRequest));
+        return queryBuilder.availablePage(pageable);
+    }
+
+    @Benchmark
+    public String compileQueryToJson() {
+        return queryBuilder.toJson(compileQuery());
+    }
+
+    @Benchmark
+    public Page<PropertyDocument> filterChain() {
+        return searchService.applyFilters(candidatePage, filterRequest);
+    }
+
+    @Benchmark
+    public Map<String, Long> priceBuckets() {
+        return PropertySearchService.bucketPrices(documents);
+    }
+}